@@ -1,16 +1,39 @@
 package edu.uca.registration;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
 import edu.uca.registration.app.CliApplication;
+import edu.uca.registration.cluster.ClusterNode;
+import edu.uca.registration.replication.Replica;
+import edu.uca.registration.replication.ReplicationPrimary;
 import edu.uca.registration.repository.CourseRepository;
 import edu.uca.registration.repository.EnrollmentRepository;
 import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.repository.impl.BinaryEnrollmentRepository;
+import edu.uca.registration.repository.impl.BinaryStudentRepository;
+import edu.uca.registration.repository.impl.CompactEnrollmentRepository;
 import edu.uca.registration.repository.impl.CsvCourseRepository;
 import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
 import edu.uca.registration.repository.impl.CsvStudentRepository;
+import edu.uca.registration.repository.impl.OffHeapEnrollmentRepository;
+import edu.uca.registration.repository.impl.PagedCourseRepository;
+import edu.uca.registration.repository.impl.PagedEnrollmentRepository;
+import edu.uca.registration.repository.impl.PagedStudentRepository;
+import edu.uca.registration.repository.impl.SnapshotConverter;
+import edu.uca.registration.service.BulkImporter;
 import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.ImportReport;
 import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.service.RegistrationService.SeatMode;
+import edu.uca.registration.storage.StorageEngine;
 import edu.uca.registration.util.Config;
+import edu.uca.registration.util.FlushPolicy;
 import edu.uca.registration.util.Logger;
+import edu.uca.registration.util.StorageFormat;
 
 /**
  * Main entry point for the UCA Course Registration System.
@@ -26,30 +49,105 @@ public class Main {
         // Check for demo mode
         boolean demoMode = args.length > 0 && "--demo".equalsIgnoreCase(args[0]);
         
+        // One-off snapshot conversion, e.g. --convert binary
+        if (args.length > 1 && "--convert".equalsIgnoreCase(args[0])) {
+            convertSnapshots(config, args[1], logger);
+            return;
+        }
+        
+        // Read-only replica of a primary, served like a cluster node, e.g. --replica 7201 7101
+        if (args.length > 2 && "--replica".equalsIgnoreCase(args[0])) {
+            serveReplica(Integer.parseInt(args[1]), Integer.parseInt(args[2]), config, logger);
+            return;
+        }
+        
         // Initialize repositories
-        StudentRepository studentRepo = new CsvStudentRepository(
-            config.getStudentsFile(), 
-            new Logger("StudentRepo", config.getLogLevel())
-        );
+        FlushPolicy flushPolicy = config.getFlushPolicy();
+        logger.debug("Flush policy: " + flushPolicy);
         
-        CourseRepository courseRepo = new CsvCourseRepository(
-            config.getCoursesFile(),
-            new Logger("CourseRepo", config.getLogLevel())
-        );
+        StudentRepository studentRepo;
+        CourseRepository courseRepo;
+        EnrollmentRepository enrollmentRepo;
         
-        EnrollmentRepository enrollmentRepo = new CsvEnrollmentRepository(
-            config.getEnrollmentsFile(),
-            new Logger("EnrollmentRepo", config.getLogLevel())
-        );
+        if (config.getStorageFormat() == StorageFormat.PAGED) {
+            // One database file holds all three repositories
+            StorageEngine engine;
+            try {
+                engine = StorageEngine.open(config.getPagedFile(), config.getPageCacheSize(), flushPolicy);
+            } catch (IOException e) {
+                logger.error("Failed to open " + config.getPagedFile() + ": " + e.getMessage());
+                return;
+            }
+            studentRepo = new PagedStudentRepository(engine, new Logger("StudentRepo", config.getLogLevel()));
+            courseRepo = new PagedCourseRepository(engine, new Logger("CourseRepo", config.getLogLevel()));
+            enrollmentRepo = new PagedEnrollmentRepository(engine,
+                new Logger("EnrollmentRepo", config.getLogLevel()));
+        } else {
+            // The three files are independent, so load them concurrently
+            CompletableFuture<StudentRepository> studentLoad = CompletableFuture.supplyAsync(() ->
+                createStudentRepository(config, flushPolicy));
+            
+            CompletableFuture<CourseRepository> courseLoad = CompletableFuture.supplyAsync(() ->
+                new CsvCourseRepository(
+                    config.getCoursesFile(),
+                    new Logger("CourseRepo", config.getLogLevel()),
+                    flushPolicy
+                ));
+            
+            CompletableFuture<EnrollmentRepository> enrollmentLoad = CompletableFuture.supplyAsync(() ->
+                createEnrollmentRepository(config, flushPolicy));
+            
+            studentRepo = studentLoad.join();
+            courseRepo = courseLoad.join();
+            enrollmentRepo = enrollmentLoad.join();
+        }
+        
+        // Make sure deferred writes reach disk however the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                studentRepo.flush();
+                courseRepo.flush();
+                enrollmentRepo.flush();
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush repositories on exit: " + e.getMessage());
+            }
+        }, "repository-shutdown-flush"));
+        
+        // Bulk import mode, e.g. --import data/fall-term
+        if (args.length > 1 && "--import".equalsIgnoreCase(args[0])) {
+            runImport(args[1], studentRepo, courseRepo, enrollmentRepo, config, logger);
+            return;
+        }
         
-        // Initialize service
+        // Initialize service; only a replication primary keeps snapshots, which replicas load from
+        boolean primaryMode = args.length > 1 && "--primary".equalsIgnoreCase(args[0]);
         RegistrationService service = new RegistrationService(
             studentRepo,
             courseRepo,
             enrollmentRepo,
-            new Logger("RegistrationService", config.getLogLevel())
+            new Logger("RegistrationService", config.getLogLevel()),
+            config.isAtomicSeatReservation() ? SeatMode.ATOMIC : SeatMode.LOCKED,
+            primaryMode
         );
         
+        // Cluster node mode, e.g. --serve 7101 (0 picks a free port)
+        if (args.length > 1 && "--serve".equalsIgnoreCase(args[0])) {
+            serveClusterNode(service, Integer.parseInt(args[1]), config, logger);
+            return;
+        }
+        
+        // Replication primary mode, e.g. --primary 7201: the CLI runs as usual while replicas pull changes
+        if (primaryMode) {
+            try {
+                ReplicationPrimary primary = new ReplicationPrimary(service, Integer.parseInt(args[1]), config,
+                    new Logger("ReplicationPrimary", config.getLogLevel()));
+                System.out.println("Replicating on " + primary.getPort());
+            } catch (IOException e) {
+                logger.error("Failed to start replication on port " + args[1] + ": " + e.getMessage());
+                return;
+            }
+        }
+        
         // Seed demo data if requested
         if (demoMode) {
             seedDemoData(service, logger);
@@ -60,6 +158,100 @@ public class Main {
         app.run();
     }
     
+    private static StudentRepository createStudentRepository(Config config, FlushPolicy flushPolicy) {
+        Logger repoLogger = new Logger("StudentRepo", config.getLogLevel());
+        if (config.getStorageFormat() == StorageFormat.BINARY) {
+            return new BinaryStudentRepository(config.getStudentsBinaryFile(), repoLogger, flushPolicy);
+        }
+        return new CsvStudentRepository(config.getStudentsFile(), repoLogger, flushPolicy);
+    }
+    
+    private static EnrollmentRepository createEnrollmentRepository(Config config, FlushPolicy flushPolicy) {
+        Logger repoLogger = new Logger("EnrollmentRepo", config.getLogLevel());
+        if (config.getStorageFormat() == StorageFormat.BINARY) {
+            return new BinaryEnrollmentRepository(config.getEnrollmentsBinaryFile(), repoLogger,
+                config.isEnrollmentJournalEnabled(), flushPolicy);
+        }
+        if (config.isOffHeapEnrollmentStore()) {
+            return new OffHeapEnrollmentRepository(config.getEnrollmentsFile(), repoLogger, flushPolicy);
+        }
+        if (config.isCompactEnrollmentStore()) {
+            return new CompactEnrollmentRepository(config.getEnrollmentsFile(), repoLogger, flushPolicy);
+        }
+        return new CsvEnrollmentRepository(config.getEnrollmentsFile(), repoLogger,
+            config.isEnrollmentJournalEnabled(), flushPolicy);
+    }
+    
+    private static void convertSnapshots(Config config, String targetFormat, Logger logger) {
+        StorageFormat target;
+        try {
+            target = StorageFormat.valueOf(targetFormat.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            target = null;
+        }
+        if (target == null || target == StorageFormat.PAGED) {
+            logger.error("Unsupported conversion target: " + targetFormat + " (expected csv or binary)");
+            return;
+        }
+        
+        boolean toBinary = target == StorageFormat.BINARY;
+        StorageFormat source = toBinary ? StorageFormat.CSV : StorageFormat.BINARY;
+        String studentsCsv = config.getStudentsFile();
+        String studentsBin = config.getStudentsBinaryFile();
+        String enrollmentsCsv = config.getEnrollmentsFile();
+        String enrollmentsBin = config.getEnrollmentsBinaryFile();
+        
+        SnapshotConverter.convertStudents(
+            toBinary ? studentsCsv : studentsBin, source,
+            toBinary ? studentsBin : studentsCsv, target, logger);
+        SnapshotConverter.convertEnrollments(
+            toBinary ? enrollmentsCsv : enrollmentsBin, source,
+            toBinary ? enrollmentsBin : enrollmentsCsv, target, logger);
+    }
+    
+    private static void runImport(String directory, StudentRepository studentRepo, CourseRepository courseRepo,
+                                  EnrollmentRepository enrollmentRepo, Config config, Logger logger) {
+        BulkImporter importer = new BulkImporter(studentRepo, courseRepo, enrollmentRepo,
+            new Logger("BulkImporter", config.getLogLevel()));
+        try {
+            ImportReport report = importer.importFrom(Path.of(directory));
+            for (ImportReport.Rejection rejection : report.getRejections()) {
+                System.out.println("REJECTED " + rejection);
+            }
+            System.out.println(report.getSummary());
+        } catch (IOException e) {
+            logger.error("Import from " + directory + " failed: " + e.getMessage());
+        }
+    }
+    
+    private static void serveClusterNode(RegistrationService service, int port, Config config, Logger logger) {
+        try (ClusterNode node = new ClusterNode(service, port, new Logger("ClusterNode", config.getLogLevel()))) {
+            // Launch scripts and tests read the bound port from this line
+            System.out.println("Listening on " + node.getPort());
+            System.out.flush();
+            node.awaitClose();
+        } catch (IOException e) {
+            logger.error("Failed to start cluster node on port " + port + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void serveReplica(int primaryPort, int port, Config config, Logger logger) {
+        InetSocketAddress primary = new InetSocketAddress(InetAddress.getLoopbackAddress(), primaryPort);
+        try (Replica replica = new Replica(primary, new Logger("Replica", config.getLogLevel()));
+             ClusterNode node = new ClusterNode(replica.getService(), port,
+                 new Logger("ClusterNode", config.getLogLevel()))) {
+            System.out.println("Listening on " + node.getPort());
+            System.out.flush();
+            node.awaitClose();
+        } catch (IOException e) {
+            logger.error("Failed to start replica on port " + port + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
     private static void seedDemoData(RegistrationService service, Logger logger) {
         try {
             logger.info("Seeding demo data...");
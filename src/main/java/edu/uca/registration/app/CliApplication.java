@@ -1,10 +1,11 @@
 package edu.uca.registration.app;
 
-import java.util.Collection;
+import java.util.List;
 import java.util.Scanner;
 
 import edu.uca.registration.model.Course;
 import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.CursorPage;
 import edu.uca.registration.service.EnrollmentException;
 import edu.uca.registration.service.RegistrationService;
 import edu.uca.registration.service.RegistrationService.CourseEnrollmentInfo;
@@ -16,6 +17,9 @@ import edu.uca.registration.service.RegistrationService.EnrollmentResult;
  * Handles user input/output and delegates business logic to RegistrationService.
  */
 public class CliApplication {
+    private static final int SEARCH_LIMIT = 20;
+    private static final int PAGE_SIZE = 20;
+
     private final RegistrationService service;
     private final Scanner scanner;
 
@@ -63,6 +67,7 @@ public class CliApplication {
         println("4) Drop student from course");
         println("5) List students");
         println("6) List courses");
+        println("7) Search students");
         println("0) Exit");
     }
 
@@ -86,6 +91,9 @@ public class CliApplication {
             case "6":
                 listCourses();
                 return true;
+            case "7":
+                searchStudentsUI();
+                return true;
             case "0":
                 return false;
             default:
@@ -148,34 +156,60 @@ public class CliApplication {
     }
 
     private void listStudents() {
-        Collection<Student> students = service.getAllStudents();
         println("\nStudents:");
-        if (students.isEmpty()) {
+        String cursor = null;
+        do {
+            CursorPage<Student> page = service.getStudentPage(cursor, PAGE_SIZE);
+            if (cursor == null && page.getItems().isEmpty()) {
+                println("  (none)");
+            }
+            for (Student s : page.getItems()) {
+                println("  - " + s);
+            }
+            cursor = page.getNextCursor().orElse(null);
+        } while (cursor != null && wantsNextPage());
+    }
+
+    private void searchStudentsUI() {
+        String prefix = readInput("Name or email starts with: ").trim();
+        List<Student> matches = service.searchStudents(prefix, SEARCH_LIMIT);
+        println("\nMatches:");
+        if (matches.isEmpty()) {
             println("  (none)");
         } else {
-            for (Student s : students) {
+            for (Student s : matches) {
                 println("  - " + s);
             }
+            if (matches.size() == SEARCH_LIMIT) {
+                println("  (showing first " + SEARCH_LIMIT + "; refine the search for more)");
+            }
         }
     }
 
     private void listCourses() {
         try {
-            Collection<Course> courses = service.getAllCourses();
             println("\nCourses:");
-            if (courses.isEmpty()) {
-                println("  (none)");
-            } else {
-                for (Course c : courses) {
+            String cursor = null;
+            do {
+                CursorPage<Course> page = service.getCoursePage(cursor, PAGE_SIZE);
+                if (cursor == null && page.getItems().isEmpty()) {
+                    println("  (none)");
+                }
+                for (Course c : page.getItems()) {
                     CourseEnrollmentInfo info = service.getCourseEnrollmentInfo(c.getCode());
                     println("  - " + info.getDisplayString());
                 }
-            }
+                cursor = page.getNextCursor().orElse(null);
+            } while (cursor != null && wantsNextPage());
         } catch (EnrollmentException e) {
             println("Error: " + e.getMessage());
         }
     }
 
+    private boolean wantsNextPage() {
+        return !readInput("-- Enter for more, q to stop: ").trim().equalsIgnoreCase("q");
+    }
+
     private String readInput(String prompt) {
         System.out.print(prompt);
         return scanner.nextLine();
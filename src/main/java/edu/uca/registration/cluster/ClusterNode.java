@@ -0,0 +1,203 @@
+package edu.uca.registration.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.service.RegistrationService.CourseEnrollmentInfo;
+import edu.uca.registration.service.RegistrationService.DropResult;
+import edu.uca.registration.service.RegistrationService.EnrollmentResult;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Serves one process's {@link RegistrationService} to {@link ClusterRouter}s
+ * over loopback TCP.
+ *
+ * The node holds the courses the ring assigns to it, their enrollments,
+ * and a copy of every student. It does not know the ring itself: it answers
+ * whatever the router sends. Each connection gets its own thread, so
+ * requests for different courses run in parallel under the service's usual
+ * course locks.
+ */
+public class ClusterNode implements AutoCloseable {
+    private final RegistrationService service;
+    private final ServerSocket server;
+    private final Logger logger;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    /**
+     * Binds to the loopback interface; port 0 picks a free port.
+     */
+    public ClusterNode(RegistrationService service, int port, Logger logger) throws IOException {
+        this.service = service;
+        this.logger = logger;
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptLoop, "cluster-node-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Cluster node listening on " + server.getLocalSocketAddress());
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Blocks until the node is closed.
+     */
+    public void awaitClose() throws InterruptedException {
+        acceptor.join();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close cluster node socket: " + e.getMessage());
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread handler = new Thread(() -> serve(socket),
+                    "cluster-node-conn-" + connectionCount.incrementAndGet());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.error("Cluster node accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                handle(op, in, out);
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // Closed by the router or by close()
+        } catch (IOException e) {
+            logger.warn("Cluster connection failed: " + e.getMessage());
+        } finally {
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    // Reads the arguments for op, runs it and writes the reply
+    private void handle(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        try {
+            switch (op) {
+                case ClusterProtocol.ENROLL: {
+                    EnrollmentResult result = service.enrollStudent(in.readUTF(), in.readUTF());
+                    out.writeByte(ClusterProtocol.OK);
+                    out.writeBoolean(result.isWaitlisted());
+                    break;
+                }
+                case ClusterProtocol.DROP: {
+                    DropResult result = service.dropStudent(in.readUTF(), in.readUTF());
+                    out.writeByte(ClusterProtocol.OK);
+                    out.writeBoolean(result.isRemovedFromWaitlist());
+                    ClusterProtocol.writeOptional(out, result.getPromotedStudentId().orElse(null));
+                    break;
+                }
+                case ClusterProtocol.COURSE_INFO: {
+                    CourseEnrollmentInfo info = service.getCourseEnrollmentInfo(in.readUTF());
+                    out.writeByte(ClusterProtocol.OK);
+                    ClusterProtocol.writeCourse(out, info.getCourse());
+                    out.writeInt(info.getEnrolledCount());
+                    out.writeInt(info.getWaitlistCount());
+                    break;
+                }
+                case ClusterProtocol.ADD_COURSE: {
+                    service.addCourse(in.readUTF(), in.readUTF(), in.readInt());
+                    out.writeByte(ClusterProtocol.OK);
+                    break;
+                }
+                case ClusterProtocol.ADD_STUDENT: {
+                    service.addStudent(in.readUTF(), in.readUTF(), in.readUTF());
+                    out.writeByte(ClusterProtocol.OK);
+                    break;
+                }
+                case ClusterProtocol.PUT_STUDENT: {
+                    service.putStudent(ClusterProtocol.readStudent(in));
+                    out.writeByte(ClusterProtocol.OK);
+                    break;
+                }
+                case ClusterProtocol.FIND_STUDENT: {
+                    Optional<Student> student = service.findStudent(in.readUTF());
+                    out.writeByte(ClusterProtocol.OK);
+                    out.writeBoolean(student.isPresent());
+                    if (student.isPresent()) {
+                        ClusterProtocol.writeStudent(out, student.get());
+                    }
+                    break;
+                }
+                case ClusterProtocol.LIST_STUDENTS: {
+                    Collection<Student> students = service.getAllStudents();
+                    out.writeByte(ClusterProtocol.OK);
+                    out.writeInt(students.size());
+                    for (Student student : students) {
+                        ClusterProtocol.writeStudent(out, student);
+                    }
+                    break;
+                }
+                default:
+                    // The stream is out of step; drop the connection
+                    throw new IOException("Unknown cluster op " + op);
+            }
+        } catch (EnrollmentException e) {
+            out.writeByte(ClusterProtocol.REJECTED);
+            out.writeUTF(e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Cluster request " + op + " failed: " + e);
+            out.writeByte(ClusterProtocol.FAILED);
+            out.writeUTF(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+}
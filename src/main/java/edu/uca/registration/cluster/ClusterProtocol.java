@@ -0,0 +1,67 @@
+package edu.uca.registration.cluster;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+
+/**
+ * Wire format between {@link ClusterRouter} and {@link ClusterNode}.
+ *
+ * A request is an op byte followed by its string arguments; the reply is a
+ * status byte, then either the op's result or an error message. Strings use
+ * {@link DataOutputStream#writeUTF}, so IDs and titles need no escaping.
+ * Requests on one connection are answered one at a time, in order.
+ */
+final class ClusterProtocol {
+    static final byte ENROLL = 1;
+    static final byte DROP = 2;
+    static final byte COURSE_INFO = 3;
+    static final byte ADD_COURSE = 4;
+    static final byte ADD_STUDENT = 5;
+    static final byte PUT_STUDENT = 6;
+    static final byte FIND_STUDENT = 7;
+    static final byte LIST_STUDENTS = 8;
+
+    static final byte OK = 0;
+    // The service rejected the request; the message is the EnrollmentException's
+    static final byte REJECTED = 1;
+    static final byte FAILED = 2;
+
+    private ClusterProtocol() {
+    }
+
+    static void writeStudent(DataOutputStream out, Student student) throws IOException {
+        out.writeUTF(student.getId());
+        out.writeUTF(student.getName());
+        out.writeUTF(student.getEmail());
+    }
+
+    static Student readStudent(DataInputStream in) throws IOException {
+        return new Student(in.readUTF(), in.readUTF(), in.readUTF());
+    }
+
+    static void writeCourse(DataOutputStream out, Course course) throws IOException {
+        out.writeUTF(course.getCode());
+        out.writeUTF(course.getTitle());
+        out.writeInt(course.getCapacity());
+    }
+
+    static Course readCourse(DataInputStream in) throws IOException {
+        return new Course(in.readUTF(), in.readUTF(), in.readInt());
+    }
+
+    // writeUTF cannot encode null
+    static void writeOptional(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,313 @@
+package edu.uca.registration.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.RegistrationService.CourseEnrollmentInfo;
+import edu.uca.registration.service.RegistrationService.DropResult;
+import edu.uca.registration.service.RegistrationService.EnrollmentResult;
+import edu.uca.registration.util.Config;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Client-side router for cluster mode.
+ *
+ * Courses are partitioned across {@link ClusterNode} processes by a
+ * {@link HashRing} on course code; enroll, drop and enrollment-info calls
+ * go to the owning node and return what its RegistrationService returned,
+ * with its EnrollmentExceptions rethrown here. Every node keeps a copy of
+ * every student so it can validate enrollments locally: a new student is
+ * added on the node that owns the student ID, which enforces uniqueness,
+ * and then copied to the others. Copies are idempotent puts, so a failed
+ * copy is repaired by repeating the add, and {@link #resyncStudents()}
+ * brings a newly added node up to date.
+ *
+ * Safe for concurrent use; idle connections are pooled per node. A node that
+ * cannot be reached surfaces as an {@link UncheckedIOException}.
+ *
+ * The router is a library entry point: {@code Main --serve} only starts
+ * nodes, and applications embed a router built from {@code cluster.nodes}.
+ */
+public class ClusterRouter implements AutoCloseable {
+    private final HashRing<InetSocketAddress> ring;
+    private final Map<InetSocketAddress, ConcurrentLinkedQueue<Connection>> idle = new LinkedHashMap<>();
+    private final Logger logger;
+    private volatile boolean closed;
+
+    public ClusterRouter(Config config, Logger logger) {
+        this(config.getClusterNodes(), logger);
+    }
+
+    public ClusterRouter(List<InetSocketAddress> nodes, Logger logger) {
+        this.ring = new HashRing<>(nodes, ClusterRouter::nodeName, HashRing.DEFAULT_VIRTUAL_NODES);
+        this.logger = logger;
+        for (InetSocketAddress node : nodes) {
+            idle.put(node, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public InetSocketAddress ownerOf(String courseCode) {
+        return ring.ownerOf(courseCode);
+    }
+
+    public EnrollmentResult enrollStudent(String studentId, String courseCode) throws EnrollmentException {
+        return resultOf(call(ownerOf(courseCode), ClusterProtocol.ENROLL, out -> {
+            out.writeUTF(studentId);
+            out.writeUTF(courseCode);
+        }, reply -> reply.readBoolean() ? EnrollmentResult.waitlisted() : EnrollmentResult.enrolled()));
+    }
+
+    public DropResult dropStudent(String studentId, String courseCode) throws EnrollmentException {
+        return resultOf(call(ownerOf(courseCode), ClusterProtocol.DROP, out -> {
+            out.writeUTF(studentId);
+            out.writeUTF(courseCode);
+        }, reply -> {
+            boolean removedFromWaitlist = reply.readBoolean();
+            String promotedId = ClusterProtocol.readOptional(reply);
+            if (promotedId != null) {
+                return DropResult.droppedWithPromotion(promotedId);
+            }
+            return removedFromWaitlist ? DropResult.removedFromWaitlist() : DropResult.dropped();
+        }));
+    }
+
+    public CourseEnrollmentInfo getCourseEnrollmentInfo(String courseCode) throws EnrollmentException {
+        return resultOf(call(ownerOf(courseCode), ClusterProtocol.COURSE_INFO, out -> out.writeUTF(courseCode),
+            reply -> new CourseEnrollmentInfo(ClusterProtocol.readCourse(reply), reply.readInt(), reply.readInt())));
+    }
+
+    public void addCourse(String code, String title, int capacity) throws EnrollmentException {
+        resultOf(call(ownerOf(code), ClusterProtocol.ADD_COURSE, out -> {
+            out.writeUTF(code);
+            out.writeUTF(title);
+            out.writeInt(capacity);
+        }, reply -> null));
+    }
+
+    /**
+     * Adds the student on its home node, then copies the record to every other node.
+     *
+     * Every node is tried even if one fails; the first failure is then
+     * thrown. Calling again with the same details is safe: the home node
+     * reports the student as existing, the record matches, and the copy is
+     * pushed again. A different record under an existing ID is rejected,
+     * after re-pushing the home node's copy.
+     */
+    public void addStudent(String id, String name, String email) throws EnrollmentException {
+        InetSocketAddress home = ownerOf(id);
+        Outcome<Void> added = call(home, ClusterProtocol.ADD_STUDENT, out -> {
+            out.writeUTF(id);
+            out.writeUTF(name);
+            out.writeUTF(email);
+        }, reply -> null);
+        if (added.rejection == null) {
+            copyStudent(new Student(id, name, email), home);
+            return;
+        }
+        // Either invalid data, or the student exists, possibly from an add whose copy failed
+        Optional<Student> existing = findOn(home, id);
+        if (existing.isEmpty()) {
+            throw new EnrollmentException(added.rejection);
+        }
+        copyStudent(existing.get(), home);
+        if (!sameRecord(existing.get(), new Student(id, name, email))) {
+            throw new EnrollmentException(added.rejection);
+        }
+    }
+
+    /**
+     * Copies every student to each node that lacks it or holds a different
+     * record, preferring the copy on the student's home node. Run after
+     * adding a node to the ring, or to repair copies after node failures.
+     * @return the number of copies written
+     */
+    public int resyncStudents() throws EnrollmentException {
+        Map<InetSocketAddress, Map<String, Student>> held = new LinkedHashMap<>();
+        for (InetSocketAddress node : ring.getNodes()) {
+            held.put(node, resultOf(call(node, ClusterProtocol.LIST_STUDENTS, out -> { }, reply -> {
+                Map<String, Student> students = new HashMap<>();
+                for (int i = reply.readInt(); i > 0; i--) {
+                    Student student = ClusterProtocol.readStudent(reply);
+                    students.put(student.getId(), student);
+                }
+                return students;
+            })));
+        }
+        Map<String, Student> latest = new HashMap<>();
+        held.forEach((node, students) -> students.forEach((id, student) -> {
+            if (node.equals(ownerOf(id)) || !latest.containsKey(id)) {
+                latest.put(id, student);
+            }
+        }));
+        int copies = 0;
+        for (Map.Entry<InetSocketAddress, Map<String, Student>> node : held.entrySet()) {
+            for (Student student : latest.values()) {
+                Student copy = node.getValue().get(student.getId());
+                if (copy == null || !sameRecord(copy, student)) {
+                    resultOf(call(node.getKey(), ClusterProtocol.PUT_STUDENT,
+                        out -> ClusterProtocol.writeStudent(out, student), reply -> null));
+                    copies++;
+                }
+            }
+        }
+        if (copies > 0) {
+            logger.info("Resynced " + copies + " student copies");
+        }
+        return copies;
+    }
+
+    /**
+     * Looks the student up on its home node.
+     */
+    public Optional<Student> findStudent(String id) {
+        return findOn(ownerOf(id), id);
+    }
+
+    public List<InetSocketAddress> getNodes() {
+        return ring.getNodes();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (ConcurrentLinkedQueue<Connection> connections : idle.values()) {
+            Connection connection;
+            while ((connection = connections.poll()) != null) {
+                connection.close();
+            }
+        }
+    }
+
+    private interface Request {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private interface Reply<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    // A reply that is either a value or the node's EnrollmentException message
+    private static final class Outcome<T> {
+        final T value;
+        final String rejection;
+
+        Outcome(T value, String rejection) {
+            this.value = value;
+            this.rejection = rejection;
+        }
+    }
+
+    private Optional<Student> findOn(InetSocketAddress node, String id) {
+        try {
+            return resultOf(call(node, ClusterProtocol.FIND_STUDENT, out -> out.writeUTF(id),
+                reply -> reply.readBoolean() ? Optional.of(ClusterProtocol.readStudent(reply)) : Optional.empty()));
+        } catch (EnrollmentException e) {
+            throw new IllegalStateException("Student lookup cannot be rejected", e);
+        }
+    }
+
+    // Tries every node but home, then throws the first failure
+    private void copyStudent(Student student, InetSocketAddress home) throws EnrollmentException {
+        UncheckedIOException failure = null;
+        for (InetSocketAddress node : ring.getNodes()) {
+            if (node.equals(home)) {
+                continue;
+            }
+            try {
+                resultOf(call(node, ClusterProtocol.PUT_STUDENT,
+                    out -> ClusterProtocol.writeStudent(out, student), reply -> null));
+            } catch (UncheckedIOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Student.equals compares IDs only
+    private static boolean sameRecord(Student a, Student b) {
+        return a.getId().equals(b.getId()) && a.getName().equals(b.getName()) && a.getEmail().equals(b.getEmail());
+    }
+
+    private static <T> T resultOf(Outcome<T> outcome) throws EnrollmentException {
+        if (outcome.rejection != null) {
+            throw new EnrollmentException(outcome.rejection);
+        }
+        return outcome.value;
+    }
+
+    private <T> Outcome<T> call(InetSocketAddress node, byte op, Request request, Reply<T> reply) {
+        if (closed) {
+            throw new IllegalStateException("Cluster router is closed");
+        }
+        Connection connection = idle.get(node).poll();
+        try {
+            if (connection == null) {
+                connection = new Connection(node);
+            }
+            connection.out.writeByte(op);
+            request.write(connection.out);
+            connection.out.flush();
+            byte status = connection.in.readByte();
+            T value = status == ClusterProtocol.OK ? reply.read(connection.in) : null;
+            String message = status == ClusterProtocol.OK ? null : connection.in.readUTF();
+            // The reply was read in full, so the connection can be reused
+            idle.get(node).offer(connection);
+            if (status == ClusterProtocol.FAILED) {
+                throw new IllegalStateException("Cluster node " + nodeName(node) + " failed: " + message);
+            }
+            return new Outcome<>(value, message);
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            logger.error("Cluster node " + nodeName(node) + " unreachable: " + e.getMessage());
+            throw new UncheckedIOException("Cluster node " + nodeName(node) + " unreachable", e);
+        }
+    }
+
+    private static String nodeName(InetSocketAddress node) {
+        return node.getHostString() + ":" + node.getPort();
+    }
+
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+
+        Connection(InetSocketAddress node) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(node, 5_000);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+}
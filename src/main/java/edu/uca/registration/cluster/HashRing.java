@@ -0,0 +1,65 @@
+package edu.uca.registration.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Consistent hash ring that maps keys (course codes) to nodes.
+ *
+ * Each node is placed at many points on a 64-bit ring and a key belongs to
+ * the first point at or after its hash, so load spreads evenly and adding or
+ * removing a node only moves the keys on the arcs it gains or loses. The
+ * hash depends only on the bytes of the key and the node name, so every
+ * process that builds a ring from the same node list routes identically.
+ */
+public final class HashRing<T> {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final TreeMap<Long, T> points = new TreeMap<>();
+    private final List<T> nodes;
+
+    /**
+     * @param name stable name of a node, e.g. its host:port
+     */
+    public HashRing(Collection<T> nodes, Function<T, String> name, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A ring needs at least one node and one point per node");
+        }
+        this.nodes = List.copyOf(nodes);
+        for (T node : this.nodes) {
+            String nodeName = name.apply(node);
+            for (int i = 0; i < virtualNodes; i++) {
+                points.putIfAbsent(hash(nodeName + "#" + i), node);
+            }
+        }
+    }
+
+    public T ownerOf(String key) {
+        Map.Entry<Long, T> point = points.ceilingEntry(hash(key));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    public List<T> getNodes() {
+        return new ArrayList<>(nodes);
+    }
+
+    // FNV-1a over the UTF-8 bytes, then a finalizer so nearby keys land far apart
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
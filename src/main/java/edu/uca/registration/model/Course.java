@@ -48,7 +48,7 @@ public class Course {
 
     @Override
     public int hashCode() {
-        return Objects.hash(code);
+        return code.hashCode();
     }
 
     @Override
@@ -62,7 +62,7 @@ public class Enrollment {
 
     @Override
     public int hashCode() {
-        return Objects.hash(studentId, courseCode);
+        return 31 * studentId.hashCode() + courseCode.hashCode();
     }
 
     @Override
@@ -17,7 +17,7 @@ public class Student {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Student name cannot be empty");
         }
-        if (email == null || !email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
+        if (!isValidEmail(email)) {
             throw new IllegalArgumentException("Invalid email format");
         }
         
@@ -26,6 +26,35 @@ public class Student {
         this.email = email.trim();
     }
 
+    /**
+     * Same rule as the pattern {@code [A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+}, checked
+     * by hand so bulk loads do not compile a regex for every student.
+     */
+    public static boolean isValidEmail(String email) {
+        if (email == null) {
+            return false;
+        }
+        int at = email.indexOf('@');
+        if (at <= 0 || at == email.length() - 1) {
+            return false;
+        }
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (i == at || isAlphanumeric(c) || c == '.' || c == '-') {
+                continue;
+            }
+            // '+' and '_' are only allowed before the '@'; a second '@' never is
+            if (i > at || (c != '+' && c != '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
     public String getId() {
         return id;
     }
@@ -48,7 +77,7 @@ public class Student {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
 
     @Override
@@ -0,0 +1,147 @@
+package edu.uca.registration.replication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import edu.uca.registration.service.ChangeSet;
+
+/**
+ * The most recent changes a primary has published, by version.
+ *
+ * A fixed ring holds the last capacity entries; versions are consecutive,
+ * so the entry for a version lives at a known slot. Writers take their
+ * versions from the service's snapshot CAS and may arrive here out of
+ * order: each stores its entry and then moves the head over every
+ * consecutive entry present, so readers only ever see a gap-free prefix.
+ * No writer takes a lock; waiting readers are parked and unparked. A
+ * reader asking for changes that have already been overwritten gets null
+ * and must reload from a snapshot.
+ */
+final class ChangeLog {
+    private final AtomicReferenceArray<Entry> ring;
+    private final int capacity;
+    // Latest version readers may see; only valid once started
+    private final AtomicLong head = new AtomicLong();
+    private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+    // Version before the first entry the log holds
+    private volatile long baseVersion;
+    private volatile boolean started;
+
+    ChangeLog(int capacity) {
+        this.capacity = capacity;
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Sets the version the log follows on from; changes at or before it are
+     * ignored, and any later ones that already arrived become visible.
+     */
+    void start(long version) {
+        baseVersion = version;
+        head.set(version);
+        started = true;
+        advance();
+    }
+
+    void append(long version, ChangeSet change) {
+        if (started && version <= baseVersion) {
+            return;
+        }
+        // Only a writer stalled for a whole ring of changes can find its slot still unread
+        while (started && version - head.get() > capacity) {
+            Thread.yield();
+        }
+        ring.set(slot(version), new Entry(version, System.currentTimeMillis(), change));
+        advance();
+    }
+
+    long headVersion() {
+        return head.get();
+    }
+
+    /**
+     * Up to max entries after afterVersion, waiting up to waitMillis for the
+     * first one; empty if none arrived, null if they are no longer held.
+     */
+    List<Entry> read(long afterVersion, int max, long waitMillis) throws InterruptedException {
+        if (head.get() <= afterVersion) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            Thread reader = Thread.currentThread();
+            // Registered before checking the head, so an append in between still unparks us
+            waiters.add(reader);
+            try {
+                while (head.get() <= afterVersion) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return List.of();
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            } finally {
+                waiters.remove(reader);
+            }
+        }
+        long last = Math.min(head.get(), afterVersion + max);
+        if (afterVersion < Math.max(baseVersion, last - capacity)) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>((int) (last - afterVersion));
+        for (long version = afterVersion + 1; version <= last; version++) {
+            Entry entry = ring.get(slot(version));
+            if (entry == null || entry.version != version) {
+                // Overwritten while we read
+                return null;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // Moves the head over consecutive entries; any writer may finish another's hand-off
+    private void advance() {
+        if (!started) {
+            return;
+        }
+        boolean moved = false;
+        while (true) {
+            long current = head.get();
+            Entry next = ring.get(slot(current + 1));
+            if (next == null || next.version != current + 1) {
+                break;
+            }
+            if (head.compareAndSet(current, current + 1)) {
+                moved = true;
+            }
+        }
+        if (moved) {
+            for (Thread waiter : waiters) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    private int slot(long version) {
+        return (int) Math.floorMod(version, (long) capacity);
+    }
+
+    static final class Entry {
+        final long version;
+        final long publishedAtMillis;
+        final ChangeSet change;
+
+        Entry(long version, long publishedAtMillis, ChangeSet change) {
+            this.version = version;
+            this.publishedAtMillis = publishedAtMillis;
+            this.change = change;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package edu.uca.registration.replication;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.util.Logger;
+
+/**
+ * A replica's service: every query works, but the write methods reject the
+ * call, since only changes shipped from the primary may reach the replica's
+ * repositories. Those arrive through {@link #applyReplicated}.
+ */
+class ReadOnlyRegistrationService extends RegistrationService {
+    private static final String READ_ONLY = "This replica is read-only; send changes to the primary";
+
+    ReadOnlyRegistrationService(StudentRepository studentRepo, CourseRepository courseRepo,
+                                EnrollmentRepository enrollmentRepo, Logger logger) {
+        // A replica answers from snapshots and compares them with the primary's versions
+        super(studentRepo, courseRepo, enrollmentRepo, logger, SeatMode.LOCKED, true);
+    }
+
+    @Override
+    public void addStudent(String id, String name, String email) throws EnrollmentException {
+        throw new EnrollmentException(READ_ONLY);
+    }
+
+    @Override
+    public void putStudent(Student student) throws EnrollmentException {
+        throw new EnrollmentException(READ_ONLY);
+    }
+
+    @Override
+    public void addCourse(String code, String title, int capacity) throws EnrollmentException {
+        throw new EnrollmentException(READ_ONLY);
+    }
+
+    @Override
+    public EnrollmentResult enrollStudent(String studentId, String courseCode) throws EnrollmentException {
+        throw new EnrollmentException(READ_ONLY);
+    }
+
+    @Override
+    public DropResult dropStudent(String studentId, String courseCode) throws EnrollmentException {
+        throw new EnrollmentException(READ_ONLY);
+    }
+}
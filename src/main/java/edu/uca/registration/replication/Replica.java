@@ -0,0 +1,234 @@
+package edu.uca.registration.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.repository.impl.ConcurrentCourseRepository;
+import edu.uca.registration.repository.impl.ConcurrentEnrollmentRepository;
+import edu.uca.registration.repository.impl.ConcurrentStudentRepository;
+import edu.uca.registration.service.ChangeSet;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.EnrollmentSnapshot;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.util.Logger;
+
+/**
+ * A read-only copy of a {@link ReplicationPrimary}'s data.
+ *
+ * One thread fetches the primary's change log in order and applies each
+ * change to the replica's own repositories through
+ * {@link RegistrationService#applyReplicated}, so the replica's service
+ * answers every query, including {@link RegistrationService#snapshot()},
+ * from local memory. Its write methods are rejected. When the replica falls
+ * further behind than the primary's log reaches, the primary sends a
+ * snapshot and the replica replaces its enrollments with it in one step.
+ * A lost connection is retried until the replica is closed, resuming from
+ * the last applied version; a restarted primary has a new epoch and sends
+ * a snapshot instead.
+ */
+public class Replica implements AutoCloseable {
+    static final int BATCH_SIZE = 512;
+    private static final long RETRY_MILLIS = 1000;
+
+    private final InetSocketAddress primary;
+    private final RegistrationService service;
+    private final Logger logger;
+    private final Object progress = new Object();
+    private final Thread fetcher;
+    // Only the fetcher writes these
+    private volatile long primaryEpoch = ReplicationProtocol.NO_EPOCH;
+    private volatile long appliedVersion = -1;
+    private volatile long primaryVersion = -1;
+    private volatile long appliedPublishedAtMillis;
+    private volatile int snapshotsLoaded;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile Socket socket;
+
+    /**
+     * A replica held in {@link ConcurrentStudentRepository} and friends.
+     */
+    public Replica(InetSocketAddress primary, Logger logger) {
+        this(primary, new ConcurrentStudentRepository(), new ConcurrentCourseRepository(),
+            new ConcurrentEnrollmentRepository(), logger);
+    }
+
+    /**
+     * A replica held in the given repositories, which must be thread-safe
+     * and are written only by this replica.
+     */
+    public Replica(InetSocketAddress primary, StudentRepository studentRepo, CourseRepository courseRepo,
+                   EnrollmentRepository enrollmentRepo, Logger logger) {
+        this.primary = primary;
+        this.logger = logger;
+        this.service = new ReadOnlyRegistrationService(studentRepo, courseRepo, enrollmentRepo, logger);
+        this.fetcher = new Thread(this::fetchLoop, "replica-fetch");
+        fetcher.setDaemon(true);
+        fetcher.start();
+    }
+
+    /**
+     * Answers queries from this replica's data; writes throw.
+     */
+    public RegistrationService getService() {
+        return service;
+    }
+
+    public ReplicationStats getStats() {
+        long applied = appliedVersion;
+        long head = primaryVersion;
+        long lagMillis = head > applied ? Math.max(0, System.currentTimeMillis() - appliedPublishedAtMillis) : 0;
+        return new ReplicationStats(applied, head, lagMillis, snapshotsLoaded, connected);
+    }
+
+    /**
+     * Waits until the replica has applied the given primary version, e.g. to
+     * read a write just made on the primary.
+     * @return false if the timeout passed first
+     */
+    public boolean awaitVersion(long version, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (progress) {
+            while (appliedVersion < version) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                progress.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        fetcher.interrupt();
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+
+    private void fetchLoop() {
+        while (!closed) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.setTcpNoDelay(true);
+                connection.connect(primary, 5_000);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                connected = true;
+                logger.info("Replicating from " + primary + " after version " + appliedVersion);
+                while (!closed) {
+                    out.writeByte(ReplicationProtocol.FETCH);
+                    out.writeLong(primaryEpoch);
+                    out.writeLong(appliedVersion);
+                    out.writeInt(BATCH_SIZE);
+                    out.flush();
+                    byte reply = in.readByte();
+                    if (reply == ReplicationProtocol.ENTRIES) {
+                        applyEntries(in);
+                    } else if (reply == ReplicationProtocol.SNAPSHOT) {
+                        loadSnapshot(in);
+                    } else {
+                        throw new IOException("Unknown replication reply " + reply);
+                    }
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.warn("Replication from " + primary + " failed: " + e.getMessage() + "; retrying");
+                }
+            } finally {
+                connected = false;
+            }
+            if (!closed) {
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void applyEntries(DataInputStream in) throws IOException {
+        primaryVersion = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long version = in.readLong();
+            long publishedAt = in.readLong();
+            ChangeSet change = ReplicationProtocol.readChangeSet(in);
+            if (version != appliedVersion + 1) {
+                throw new IOException("Change " + version + " does not follow " + appliedVersion);
+            }
+            service.applyReplicated(change);
+            advance(version, publishedAt);
+        }
+    }
+
+    // Replaces the replica's enrollments with the primary's in one published change
+    private void loadSnapshot(DataInputStream in) throws IOException {
+        long epoch = in.readLong();
+        long version = in.readLong();
+        long sentAt = in.readLong();
+        ChangeSet.Builder change = ChangeSet.builder();
+        EnrollmentSnapshot current = service.snapshot();
+        try {
+            for (Course course : current.getAllCourses()) {
+                for (String id : current.getEnrolledStudents(course.getCode())) {
+                    change.removed(id, course.getCode());
+                }
+                for (String id : current.getWaitlist(course.getCode())) {
+                    change.removed(id, course.getCode());
+                }
+            }
+        } catch (EnrollmentException e) {
+            throw new IllegalStateException("Replica snapshot lost a course", e);
+        }
+        int students = in.readInt();
+        for (int i = 0; i < students; i++) {
+            change.putStudent(ReplicationProtocol.readStudent(in));
+        }
+        int courses = in.readInt();
+        for (int i = 0; i < courses; i++) {
+            Course course = ReplicationProtocol.readCourse(in);
+            change.putCourse(course);
+            int enrolled = in.readInt();
+            for (int j = 0; j < enrolled; j++) {
+                change.enrolled(in.readUTF(), course.getCode());
+            }
+            int waitlisted = in.readInt();
+            for (int j = 0; j < waitlisted; j++) {
+                change.waitlisted(in.readUTF(), course.getCode());
+            }
+        }
+        service.applyReplicated(change.build());
+        primaryVersion = epoch == primaryEpoch ? Math.max(primaryVersion, version) : version;
+        primaryEpoch = epoch;
+        snapshotsLoaded++;
+        logger.info("Loaded snapshot at version " + version + " from " + primary);
+        advance(version, sentAt);
+    }
+
+    private void advance(long version, long publishedAt) {
+        synchronized (progress) {
+            appliedPublishedAtMillis = publishedAt;
+            appliedVersion = version;
+            progress.notifyAll();
+        }
+    }
+}
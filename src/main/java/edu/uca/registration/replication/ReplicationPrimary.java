@@ -0,0 +1,248 @@
+package edu.uca.registration.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.EnrollmentSnapshot;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.util.Config;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Ships a {@link RegistrationService}'s changes to {@link Replica}s over
+ * loopback TCP.
+ *
+ * The primary registers as the service's change listener and keeps the
+ * latest changes in a {@link ChangeLog}, one entry per published snapshot
+ * version. Replicas pull: each fetch names the last version the replica
+ * applied, and the answer is the changes after it, waiting briefly for new
+ * ones when there are none. A replica that asks for changes the log no
+ * longer holds is sent the service's current {@link EnrollmentSnapshot}
+ * instead, and continues from its version. Versions restart with the
+ * service, so each primary also has a random epoch that replicas echo
+ * back; a replica that followed another primary gets a snapshot too.
+ * Writers only pay for a
+ * lock-free hand-off into the log; the network work runs on one thread per
+ * replica.
+ */
+public class ReplicationPrimary implements AutoCloseable {
+    // How long a fetch waits for a change before answering with none
+    static final long POLL_MILLIS = 500;
+
+    private final RegistrationService service;
+    // Tells this primary's versions apart from those of earlier runs
+    private final long epoch = newEpoch();
+    private final ChangeLog log;
+    private final ServerSocket server;
+    private final Logger logger;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    // Replica name -> last version it reported applying
+    private final Map<String, Long> replicaVersions = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    public ReplicationPrimary(RegistrationService service, int port, Config config, Logger logger)
+            throws IOException {
+        this(service, port, config.getReplicationLogSize(), logger);
+    }
+
+    /**
+     * Binds to the loopback interface; port 0 picks a free port. The service
+     * must publish snapshots, which is what replicas catch up from.
+     */
+    public ReplicationPrimary(RegistrationService service, int port, int logSize, Logger logger)
+            throws IOException {
+        if (!service.isPublishingSnapshots()) {
+            throw new IllegalArgumentException("A replication primary needs a service built with snapshots");
+        }
+        this.service = service;
+        this.logger = logger;
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.log = new ChangeLog(logSize);
+        log.start(service.setChangeListener(log::append));
+        this.acceptor = new Thread(this::acceptLoop, "replication-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Replication primary listening on " + server.getLocalSocketAddress());
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * The version of the latest change in the log.
+     */
+    public long getHeadVersion() {
+        return log.headVersion();
+    }
+
+    /**
+     * How many versions each connected replica is behind, as of its last fetch.
+     */
+    public Map<String, Long> getReplicaLag() {
+        long head = log.headVersion();
+        Map<String, Long> lag = new TreeMap<>();
+        for (Map.Entry<String, Long> replica : replicaVersions.entrySet()) {
+            lag.put(replica.getKey(), Math.max(0, head - replica.getValue()));
+        }
+        return lag;
+    }
+
+    /**
+     * Blocks until the primary is closed.
+     */
+    public void awaitClose() throws InterruptedException {
+        acceptor.join();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        service.setChangeListener(null);
+        try {
+            server.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close replication socket: " + e.getMessage());
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                String name = "replica-" + connectionCount.incrementAndGet();
+                Thread handler = new Thread(() -> serve(socket, name), "replication-" + name);
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.error("Replication accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket, String name) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (op != ReplicationProtocol.FETCH) {
+                    throw new IOException("Unknown replication op " + op);
+                }
+                long replicaEpoch = in.readLong();
+                long afterVersion = in.readLong();
+                int max = Math.max(1, in.readInt());
+                replicaVersions.put(name, afterVersion);
+
+                // A replica from another epoch followed an earlier run of this primary
+                List<ChangeLog.Entry> entries = replicaEpoch != epoch
+                    ? null
+                    : log.read(afterVersion, max, POLL_MILLIS);
+                if (entries == null) {
+                    logger.info(name + " is behind the change log at version " + afterVersion
+                        + "; sending a snapshot");
+                    writeSnapshot(out, epoch, service.snapshot());
+                } else {
+                    out.writeByte(ReplicationProtocol.ENTRIES);
+                    out.writeLong(log.headVersion());
+                    out.writeInt(entries.size());
+                    for (ChangeLog.Entry entry : entries) {
+                        out.writeLong(entry.version);
+                        out.writeLong(entry.publishedAtMillis);
+                        ReplicationProtocol.writeChangeSet(out, entry.change);
+                    }
+                }
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // Closed by the replica or by close()
+        } catch (IOException e) {
+            logger.warn("Replication connection " + name + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            replicaVersions.remove(name);
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private static void writeSnapshot(DataOutputStream out, long epoch, EnrollmentSnapshot snapshot)
+            throws IOException {
+        out.writeByte(ReplicationProtocol.SNAPSHOT);
+        out.writeLong(epoch);
+        out.writeLong(snapshot.getVersion());
+        out.writeLong(System.currentTimeMillis());
+        Collection<Student> students = snapshot.getAllStudents();
+        out.writeInt(students.size());
+        for (Student student : students) {
+            ReplicationProtocol.writeStudent(out, student);
+        }
+        List<Course> courses = snapshot.getAllCourses();
+        out.writeInt(courses.size());
+        for (Course course : courses) {
+            ReplicationProtocol.writeCourse(out, course);
+            try {
+                writeIds(out, snapshot.getEnrolledStudents(course.getCode()));
+                writeIds(out, snapshot.getWaitlist(course.getCode()));
+            } catch (EnrollmentException e) {
+                throw new IllegalStateException("Snapshot lost course " + course.getCode(), e);
+            }
+        }
+    }
+
+    private static long newEpoch() {
+        long epoch;
+        do {
+            epoch = ThreadLocalRandom.current().nextLong();
+        } while (epoch == ReplicationProtocol.NO_EPOCH);
+        return epoch;
+    }
+
+    private static void writeIds(DataOutputStream out, List<String> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (String id : ids) {
+            out.writeUTF(id);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package edu.uca.registration.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.service.ChangeSet;
+
+/**
+ * Wire format between {@link Replica} and {@link ReplicationPrimary}.
+ *
+ * The replica sends FETCH with the epoch of the primary it follows, the last
+ * version it applied and how many changes it wants. The primary answers
+ * ENTRIES, its head version and the changes that follow, or, when the
+ * replica is too far behind for the log or followed another run of the
+ * primary, SNAPSHOT with the primary's epoch and the whole state at one
+ * version. Strings use {@link DataOutputStream#writeUTF}.
+ */
+final class ReplicationProtocol {
+    static final byte FETCH = 1;
+
+    static final byte ENTRIES = 1;
+    static final byte SNAPSHOT = 2;
+
+    // The epoch a replica that has not loaded a snapshot yet sends
+    static final long NO_EPOCH = 0;
+
+    private ReplicationProtocol() {
+    }
+
+    static void writeChangeSet(DataOutputStream out, ChangeSet change) throws IOException {
+        out.writeInt(change.getOps().size());
+        for (ChangeSet.Op op : change.getOps()) {
+            out.writeByte(op.getKind().ordinal());
+            switch (op.getKind()) {
+                case PUT_STUDENT:
+                    writeStudent(out, op.getStudent());
+                    break;
+                case PUT_COURSE:
+                    writeCourse(out, op.getCourse());
+                    break;
+                default:
+                    out.writeUTF(op.getStudentId());
+                    out.writeUTF(op.getCourseCode());
+                    break;
+            }
+        }
+    }
+
+    static ChangeSet readChangeSet(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        ChangeSet.Builder change = ChangeSet.builder();
+        for (int i = 0; i < count; i++) {
+            int kind = in.readByte();
+            if (kind < 0 || kind >= ChangeSet.Kind.values().length) {
+                throw new IOException("Unknown change kind " + kind);
+            }
+            switch (ChangeSet.Kind.values()[kind]) {
+                case PUT_STUDENT:
+                    change.putStudent(readStudent(in));
+                    break;
+                case PUT_COURSE:
+                    change.putCourse(readCourse(in));
+                    break;
+                case ENROLL:
+                    change.enrolled(in.readUTF(), in.readUTF());
+                    break;
+                case WAITLIST:
+                    change.waitlisted(in.readUTF(), in.readUTF());
+                    break;
+                default:
+                    change.removed(in.readUTF(), in.readUTF());
+                    break;
+            }
+        }
+        return change.build();
+    }
+
+    static void writeStudent(DataOutputStream out, Student student) throws IOException {
+        out.writeUTF(student.getId());
+        out.writeUTF(student.getName());
+        out.writeUTF(student.getEmail());
+    }
+
+    static Student readStudent(DataInputStream in) throws IOException {
+        return new Student(in.readUTF(), in.readUTF(), in.readUTF());
+    }
+
+    static void writeCourse(DataOutputStream out, Course course) throws IOException {
+        out.writeUTF(course.getCode());
+        out.writeUTF(course.getTitle());
+        out.writeInt(course.getCapacity());
+    }
+
+    static Course readCourse(DataInputStream in) throws IOException {
+        return new Course(in.readUTF(), in.readUTF(), in.readInt());
+    }
+}
@@ -0,0 +1,65 @@
+package edu.uca.registration.replication;
+
+/**
+ * How far a {@link Replica} trails its primary, at one moment.
+ */
+public final class ReplicationStats {
+    private final long appliedVersion;
+    private final long primaryVersion;
+    private final long lagMillis;
+    private final int snapshotsLoaded;
+    private final boolean connected;
+
+    ReplicationStats(long appliedVersion, long primaryVersion, long lagMillis, int snapshotsLoaded,
+                     boolean connected) {
+        this.appliedVersion = appliedVersion;
+        this.primaryVersion = primaryVersion;
+        this.lagMillis = lagMillis;
+        this.snapshotsLoaded = snapshotsLoaded;
+        this.connected = connected;
+    }
+
+    /**
+     * The primary version the replica's state matches; -1 before the first snapshot.
+     */
+    public long getAppliedVersion() {
+        return appliedVersion;
+    }
+
+    /**
+     * The primary's latest version, as of the last fetch.
+     */
+    public long getPrimaryVersion() {
+        return primaryVersion;
+    }
+
+    public long getVersionsBehind() {
+        return Math.max(0, primaryVersion - appliedVersion);
+    }
+
+    /**
+     * Time since the primary published the last change applied here, or 0
+     * when the replica has caught up.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Full reloads so far, including the first one.
+     */
+    public int getSnapshotsLoaded() {
+        return snapshotsLoaded;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public String toString() {
+        return "applied " + appliedVersion + " of " + primaryVersion + " (" + getVersionsBehind()
+            + " behind, " + lagMillis + " ms), " + snapshotsLoaded + " snapshots"
+            + (connected ? "" : ", disconnected");
+    }
+}
@@ -1,6 +1,9 @@
 package edu.uca.registration.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
 import edu.uca.registration.model.Course;
@@ -15,6 +18,16 @@ public interface CourseRepository {
      */
     void save(Course course);
     
+    /**
+     * Save several courses with a single write to storage.
+     * @param courses the courses to save
+     */
+    default void saveAll(Collection<Course> courses) {
+        for (Course course : courses) {
+            save(course);
+        }
+    }
+    
     /**
      * Find a course by code.
      * @param code the course code
@@ -35,6 +48,32 @@ public interface CourseRepository {
      */
     Collection<Course> findAll();
     
+    /**
+     * Find courses whose code starts with prefix, e.g. "CSCI".
+     * @param prefix the code prefix
+     * @return matching courses ordered by code
+     */
+    default List<Course> findByCodePrefix(String prefix) {
+        List<Course> matches = new ArrayList<>();
+        for (Course course : findAll()) {
+            if (course.getCode().startsWith(prefix)) {
+                matches.add(course);
+            }
+        }
+        matches.sort(Comparator.comparing(Course::getCode));
+        return matches;
+    }
+    
+    /**
+     * Get one page of courses ordered by code.
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @param limit maximum number of courses on the page
+     * @return the page and the cursor for the next one
+     */
+    default CursorPage<Course> findPage(String cursor, int limit) {
+        return CursorPage.fromUnsorted(findAll(), Course::getCode, cursor, limit);
+    }
+    
     /**
      * Delete a course by code.
      * @param code the course code
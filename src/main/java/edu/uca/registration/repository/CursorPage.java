@@ -0,0 +1,88 @@
+package edu.uca.registration.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by key, plus the cursor for the next page.
+ *
+ * The cursor is the key of the last item returned; passing it back resumes
+ * strictly after that key, so pages stay consistent while records are added
+ * or removed elsewhere in the listing.
+ */
+public final class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Reads at most limit values with keys after the cursor (from the start
+     * if cursor is null), without copying the rest of the map.
+     */
+    public static <T> CursorPage<T> from(NavigableMap<String, T> map, String cursor, int limit) {
+        checkLimit(limit);
+        Map<String, T> tail = cursor == null ? map : map.tailMap(cursor, false);
+        List<T> items = new ArrayList<>(Math.min(limit, 64));
+        String last = null;
+        for (Map.Entry<String, T> entry : tail.entrySet()) {
+            if (items.size() == limit) {
+                return new CursorPage<>(items, last);
+            }
+            items.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new CursorPage<>(items, null);
+    }
+
+    /**
+     * Pages an unordered collection by sorting it first; for repositories
+     * without an ordered index.
+     */
+    public static <T> CursorPage<T> fromUnsorted(Iterable<T> values, Function<T, String> key,
+                                                 String cursor, int limit) {
+        checkLimit(limit);
+        List<T> sorted = new ArrayList<>();
+        for (T value : values) {
+            if (cursor == null || key.apply(value).compareTo(cursor) > 0) {
+                sorted.add(value);
+            }
+        }
+        sorted.sort(Comparator.comparing(key));
+        if (sorted.size() <= limit) {
+            return new CursorPage<>(sorted, null);
+        }
+        List<T> items = new ArrayList<>(sorted.subList(0, limit));
+        return new CursorPage<>(items, key.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Cursor for the following page, empty on the last page.
+     */
+    public Optional<String> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package edu.uca.registration.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 import edu.uca.registration.model.Enrollment;
 import edu.uca.registration.model.Enrollment.EnrollmentStatus;
@@ -15,6 +18,16 @@ public interface EnrollmentRepository {
      */
     void save(Enrollment enrollment);
     
+    /**
+     * Save several enrollments, in order, with a single write to storage.
+     * @param enrollments the enrollments to save
+     */
+    default void saveAll(Collection<Enrollment> enrollments) {
+        for (Enrollment enrollment : enrollments) {
+            save(enrollment);
+        }
+    }
+    
     /**
      * Find all enrollments for a course.
      * @param courseCode the course code
@@ -61,6 +74,45 @@ public interface EnrollmentRepository {
      */
     int countByCourseAndStatus(String courseCode, EnrollmentStatus status);
     
+    /**
+     * Remove and return the student at the head of a course's waitlist.
+     * @param courseCode the course code
+     * @return the removed waitlist entry, or empty if nobody is waiting
+     */
+    default Optional<Enrollment> pollWaitlistHead(String courseCode) {
+        List<Enrollment> waitlist = findByCourseAndStatus(courseCode, EnrollmentStatus.WAITLISTED);
+        if (waitlist.isEmpty()) {
+            return Optional.empty();
+        }
+        Enrollment head = waitlist.get(0);
+        delete(head.getStudentId(), courseCode);
+        return Optional.of(head);
+    }
+    
+    /**
+     * Get a student's place on a course's waitlist.
+     * @param studentId the student ID
+     * @param courseCode the course code
+     * @return 1-based position, or empty if the student is not waitlisted
+     */
+    default OptionalInt waitlistPosition(String studentId, String courseCode) {
+        List<Enrollment> waitlist = findByCourseAndStatus(courseCode, EnrollmentStatus.WAITLISTED);
+        for (int i = 0; i < waitlist.size(); i++) {
+            if (waitlist.get(i).getStudentId().equals(studentId)) {
+                return OptionalInt.of(i + 1);
+            }
+        }
+        return OptionalInt.empty();
+    }
+    
+    /**
+     * Per-course bitmaps of enrolled students, for repositories that maintain them.
+     * @return the live index, or empty if this repository does not keep one
+     */
+    default Optional<RosterIndex> getRosterIndex() {
+        return Optional.empty();
+    }
+    
     //Persist all changes to storage.
     
     void flush();
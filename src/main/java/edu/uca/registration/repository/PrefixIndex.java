@@ -0,0 +1,96 @@
+package edu.uca.registration.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Sorted index of normalized search terms for prefix lookups by name or email.
+ *
+ * Each record contributes its full name, every word of its name and its
+ * email, lower-cased with runs of whitespace collapsed. Terms are stored as
+ * {@code term + '\0' + id} in a sorted set, so a prefix search is one
+ * logarithmic seek followed by an in-order walk that stops after limit
+ * distinct IDs.
+ *
+ * Thread-safe.
+ */
+public final class PrefixIndex {
+    private static final char SEPARATOR = '\0';
+
+    private final NavigableSet<String> entries = new TreeSet<>();
+
+    /**
+     * Indexes id under the given name and email.
+     */
+    public synchronized void add(String id, String name, String email) {
+        for (String term : terms(name, email)) {
+            entries.add(term + SEPARATOR + id);
+        }
+    }
+
+    /**
+     * Removes what {@link #add} indexed for the same id, name and email.
+     */
+    public synchronized void remove(String id, String name, String email) {
+        for (String term : terms(name, email)) {
+            entries.remove(term + SEPARATOR + id);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * IDs with a term starting with prefix, in term order, without duplicates.
+     * A blank prefix matches nothing.
+     */
+    public synchronized List<String> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        for (String entry : entries.tailSet(normalized, true)) {
+            if (!entry.startsWith(normalized)) {
+                break;
+            }
+            ids.add(entry.substring(entry.lastIndexOf(SEPARATOR) + 1));
+            if (ids.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Lower-cases and collapses whitespace, the form every term is stored in.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> terms(String name, String email) {
+        Set<String> terms = new LinkedHashSet<>();
+        String fullName = normalize(name);
+        if (!fullName.isEmpty()) {
+            terms.add(fullName);
+            for (String word : fullName.split(" ")) {
+                terms.add(word);
+            }
+        }
+        String normalizedEmail = normalize(email);
+        if (!normalizedEmail.isEmpty()) {
+            terms.add(normalizedEmail);
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,210 @@
+package edu.uca.registration.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntBiFunction;
+
+import edu.uca.registration.util.RoaringBitmap;
+
+/**
+ * Per-course bitmaps of ENROLLED students, for set queries across courses
+ * ("in both", "in any", "in one but not the other").
+ *
+ * Student IDs are mapped to dense ordinals and each course keeps a
+ * {@link RoaringBitmap} of the ordinals enrolled in it. Enrollment
+ * repositories keep the index in step with their saves and deletes; only
+ * ENROLLED entries are indexed, waitlisted students are not.
+ *
+ * Queries combine bitmaps and return either counts, which never build a
+ * list, or student IDs sorted by ID, the same order as the snapshot
+ * queries in {@code EnrollmentSnapshot}. Thread-safe: each course's bitmap
+ * is locked on its own, so writes to different courses never contend, and
+ * only a student's first appearance takes a shared lock. A query across
+ * courses reads each course's bitmap at its own moment.
+ */
+public final class RosterIndex {
+    private final ConcurrentMap<String, RoaringBitmap> rosters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Integer> ordinals = new ConcurrentHashMap<>();
+    // Guards assigning ordinals; names only grows, so readers need no lock
+    private final Object naming = new Object();
+    private volatile String[] names = new String[16];
+    private int nameCount;
+
+    public void add(String studentId, String courseCode) {
+        int ordinal = intern(studentId);
+        rosters.compute(courseCode, (code, roster) -> {
+            RoaringBitmap updated = roster == null ? new RoaringBitmap() : roster;
+            synchronized (updated) {
+                updated.add(ordinal);
+            }
+            return updated;
+        });
+    }
+
+    public void remove(String studentId, String courseCode) {
+        Integer ordinal = ordinals.get(studentId);
+        if (ordinal == null) {
+            return;
+        }
+        rosters.computeIfPresent(courseCode, (code, roster) -> {
+            synchronized (roster) {
+                roster.remove(ordinal);
+                return roster.isEmpty() ? null : roster;
+            }
+        });
+    }
+
+    /**
+     * Indexes or unindexes the pair depending on whether it is enrolled.
+     */
+    public void update(String studentId, String courseCode, boolean enrolled) {
+        if (enrolled) {
+            add(studentId, courseCode);
+        } else {
+            remove(studentId, courseCode);
+        }
+    }
+
+    public void clear() {
+        rosters.clear();
+    }
+
+    public int countEnrolled(String courseCode) {
+        RoaringBitmap roster = rosters.get(courseCode);
+        if (roster == null) {
+            return 0;
+        }
+        synchronized (roster) {
+            return roster.cardinality();
+        }
+    }
+
+    /**
+     * Students enrolled in every one of the courses.
+     */
+    public List<String> inAll(Collection<String> courseCodes) {
+        return toStudentIds(intersection(courseCodes));
+    }
+
+    public int countInAll(Collection<String> courseCodes) {
+        if (courseCodes.size() == 2) {
+            Iterator<String> it = courseCodes.iterator();
+            return countBoth(it.next(), it.next(), RoaringBitmap::andCardinality);
+        }
+        return intersection(courseCodes).cardinality();
+    }
+
+    /**
+     * Students enrolled in at least one of the courses.
+     */
+    public List<String> inAny(Collection<String> courseCodes) {
+        return toStudentIds(union(courseCodes));
+    }
+
+    public int countInAny(Collection<String> courseCodes) {
+        if (courseCodes.size() == 2) {
+            Iterator<String> it = courseCodes.iterator();
+            return countBoth(it.next(), it.next(), RoaringBitmap::orCardinality);
+        }
+        return union(courseCodes).cardinality();
+    }
+
+    /**
+     * Students enrolled in courseCode but in none of the excluded courses.
+     */
+    public List<String> inFirstOnly(String courseCode, Collection<String> excluded) {
+        RoaringBitmap others = union(excluded);
+        RoaringBitmap roster = roster(courseCode);
+        synchronized (roster) {
+            return toStudentIds(RoaringBitmap.andNot(roster, others));
+        }
+    }
+
+    public int countInFirstOnly(String courseCode, Collection<String> excluded) {
+        RoaringBitmap others = union(excluded);
+        RoaringBitmap roster = roster(courseCode);
+        synchronized (roster) {
+            return RoaringBitmap.andNotCardinality(roster, others);
+        }
+    }
+
+    private int intern(String studentId) {
+        Integer ordinal = ordinals.get(studentId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (naming) {
+            ordinal = ordinals.get(studentId);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            String[] current = names;
+            if (nameCount == current.length) {
+                current = Arrays.copyOf(current, nameCount * 2);
+            }
+            current[nameCount] = studentId;
+            names = current;
+            ordinals.put(studentId, nameCount);
+            return nameCount++;
+        }
+    }
+
+    private RoaringBitmap roster(String courseCode) {
+        RoaringBitmap roster = rosters.get(courseCode);
+        return roster == null ? new RoaringBitmap() : roster;
+    }
+
+    // Locks both rosters in code order, so two queries cannot wait on each other
+    private int countBoth(String first, String second, ToIntBiFunction<RoaringBitmap, RoaringBitmap> count) {
+        RoaringBitmap a = roster(first);
+        RoaringBitmap b = roster(second);
+        Object outer = first.compareTo(second) <= 0 ? a : b;
+        Object inner = outer == a ? b : a;
+        synchronized (outer) {
+            synchronized (inner) {
+                return count.applyAsInt(a, b);
+            }
+        }
+    }
+
+    private RoaringBitmap intersection(Collection<String> courseCodes) {
+        RoaringBitmap result = null;
+        for (String courseCode : courseCodes) {
+            RoaringBitmap roster = roster(courseCode);
+            synchronized (roster) {
+                result = result == null ? roster.copy() : RoaringBitmap.and(result, roster);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? new RoaringBitmap() : result;
+    }
+
+    private RoaringBitmap union(Collection<String> courseCodes) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (String courseCode : courseCodes) {
+            RoaringBitmap roster = rosters.get(courseCode);
+            if (roster != null) {
+                synchronized (roster) {
+                    result.orWith(roster);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Ordinals follow first-seen order, so sort to answer independently of load history
+    private List<String> toStudentIds(RoaringBitmap bitmap) {
+        String[] known = names;
+        List<String> ids = new ArrayList<>(bitmap.cardinality());
+        bitmap.forEach(ordinal -> ids.add(known[ordinal]));
+        ids.sort(null);
+        return ids;
+    }
+}
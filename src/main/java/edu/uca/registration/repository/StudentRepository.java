@@ -1,6 +1,8 @@
 package edu.uca.registration.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import edu.uca.registration.model.Student;
@@ -16,6 +18,16 @@ public interface StudentRepository {
      */
     void save(Student student);
     
+    /**
+     * Save several students with a single write to storage.
+     * @param students the students to save
+     */
+    default void saveAll(Collection<Student> students) {
+        for (Student student : students) {
+            save(student);
+        }
+    }
+    
     /**
      * Find a student by ID.
      * @param id the student ID
@@ -36,6 +48,42 @@ public interface StudentRepository {
      */
     Collection<Student> findAll();
     
+    /**
+     * Get one page of students ordered by ID.
+     * @param cursor the cursor of the previous page, or null for the first page
+     * @param limit maximum number of students on the page
+     * @return the page and the cursor for the next one
+     */
+    default CursorPage<Student> findPage(String cursor, int limit) {
+        return CursorPage.fromUnsorted(findAll(), Student::getId, cursor, limit);
+    }
+    
+    /**
+     * Find students whose name, a word of their name, or email starts with
+     * prefix, ignoring case. This default scans every student.
+     * @param prefix the text to match
+     * @param limit maximum number of students returned
+     * @return matching students
+     */
+    default List<Student> searchByPrefix(String prefix, int limit) {
+        String normalized = PrefixIndex.normalize(prefix);
+        List<Student> matches = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return matches;
+        }
+        for (Student student : findAll()) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            String name = PrefixIndex.normalize(student.getName());
+            if (name.startsWith(normalized) || name.contains(" " + normalized)
+                    || PrefixIndex.normalize(student.getEmail()).startsWith(normalized)) {
+                matches.add(student);
+            }
+        }
+        return matches;
+    }
+    
     /**
      * Delete a student by ID.
      * @param id the student ID
@@ -0,0 +1,108 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Binary snapshot implementation of EnrollmentRepository.
+ *
+ * Student IDs and course codes are stored once in a string dictionary; each
+ * enrollment is then a fixed 17 byte record (int student ordinal, int course
+ * ordinal, status byte, long sequence). Layout: magic "UCAE", version,
+ * student dictionary, course dictionary, record count, records, CRC32.
+ * Version 1 files (9 byte records without a sequence) are still readable.
+ */
+public class BinaryEnrollmentRepository extends FileEnrollmentRepository {
+    static final int MAGIC = 0x55434145;
+    static final int VERSION = 2;
+
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+
+    public BinaryEnrollmentRepository(String filePath, Logger logger) {
+        this(filePath, logger, false, FlushPolicy.sync());
+    }
+
+    public BinaryEnrollmentRepository(String filePath, Logger logger, boolean journaled,
+                                      FlushPolicy flushPolicy) {
+        super(filePath, logger, journaled, flushPolicy);
+    }
+
+    @Override
+    protected List<Entry> readSnapshot(String path) throws IOException {
+        BinarySnapshotReader in = BinarySnapshotReader.open(path, MAGIC, VERSION);
+        String[] studentIds = readDictionary(in);
+        String[] courseCodes = readDictionary(in);
+
+        int count = in.getInt();
+        boolean sequenced = in.getVersion() >= 2;
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int student = in.getInt();
+            int course = in.getInt();
+            int status = in.getByte();
+            long sequence = sequenced ? in.getLong() : 0;
+            if (student < 0 || student >= studentIds.length || course < 0 || course >= courseCodes.length
+                    || status >= STATUSES.length) {
+                throw new IOException("Corrupt enrollment record " + (i + 1));
+            }
+            entries.add(new Entry(
+                new Enrollment(studentIds[student], courseCodes[course], STATUSES[status]), sequence));
+        }
+        return entries;
+    }
+
+    @Override
+    protected void writeSnapshot(String path, Collection<Entry> entries) throws IOException {
+        Map<String, Integer> students = new LinkedHashMap<>();
+        Map<String, Integer> courses = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            Enrollment e = entry.getEnrollment();
+            students.putIfAbsent(e.getStudentId(), students.size());
+            courses.putIfAbsent(e.getCourseCode(), courses.size());
+        }
+
+        try (SnapshotWriter out = SnapshotWriter.open(path)) {
+            out.putInt(MAGIC).putInt(VERSION);
+            writeDictionary(out, students);
+            writeDictionary(out, courses);
+            out.putInt(entries.size());
+            for (Entry entry : entries) {
+                Enrollment e = entry.getEnrollment();
+                out.putInt(students.get(e.getStudentId()))
+                   .putInt(courses.get(e.getCourseCode()))
+                   .putByte(e.getStatus().ordinal())
+                   .putLong(entry.getSequence());
+            }
+            out.putInt(out.checksum());
+            out.commit();
+        }
+    }
+
+    private static String[] readDictionary(BinarySnapshotReader in) throws IOException {
+        int size = in.getInt();
+        if (size < 0) {
+            throw new IOException("Corrupt dictionary size " + size);
+        }
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.getString();
+        }
+        return values;
+    }
+
+    private static void writeDictionary(SnapshotWriter out, Map<String, Integer> dictionary) throws IOException {
+        out.putInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            out.putString(value);
+        }
+    }
+}
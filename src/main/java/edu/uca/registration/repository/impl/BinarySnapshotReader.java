@@ -0,0 +1,83 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reader for snapshots produced with {@link SnapshotWriter}'s binary methods.
+ *
+ * Layout: int magic, int version, body, int CRC32 of everything before it.
+ * The checksum is verified before any of the body is handed out.
+ */
+final class BinarySnapshotReader {
+    private final ByteBuffer buffer;
+    private final int version;
+
+    private BinarySnapshotReader(ByteBuffer buffer, int version) {
+        this.buffer = buffer;
+        this.version = version;
+    }
+
+    static BinarySnapshotReader open(String path, int expectedMagic, int maxVersion) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 12) {
+                throw new IOException("Snapshot " + path + " is truncated");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " is too large");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int bodyEnd = buffer.limit() - 4;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(bodyEnd));
+        if ((int) crc.getValue() != buffer.getInt(bodyEnd)) {
+            throw new IOException("Snapshot " + path + " failed checksum verification");
+        }
+        buffer.limit(bodyEnd);
+
+        int magic = buffer.getInt();
+        if (magic != expectedMagic) {
+            throw new IOException(String.format("Snapshot %s has wrong magic 0x%08X", path, magic));
+        }
+        int version = buffer.getInt();
+        if (version < 1 || version > maxVersion) {
+            throw new IOException("Snapshot " + path + " has unsupported version " + version);
+        }
+        return new BinarySnapshotReader(buffer, version);
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    int getByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    int getInt() {
+        return buffer.getInt();
+    }
+
+    long getLong() {
+        return buffer.getLong();
+    }
+
+    String getString() throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Binary snapshot implementation of StudentRepository.
+ *
+ * Layout: magic "UCAS", version, record count, then id/name/email as
+ * length-prefixed UTF-8 per student, sealed with a CRC32.
+ */
+public class BinaryStudentRepository extends FileStudentRepository {
+    static final int MAGIC = 0x55434153;
+    static final int VERSION = 1;
+
+    public BinaryStudentRepository(String filePath, Logger logger) {
+        this(filePath, logger, FlushPolicy.sync());
+    }
+
+    public BinaryStudentRepository(String filePath, Logger logger, FlushPolicy flushPolicy) {
+        super(filePath, logger, flushPolicy);
+    }
+
+    @Override
+    protected List<Student> readSnapshot(String path) throws IOException {
+        BinarySnapshotReader in = BinarySnapshotReader.open(path, MAGIC, VERSION);
+        int count = in.getInt();
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = in.getString();
+            String name = in.getString();
+            String email = in.getString();
+            try {
+                students.add(new Student(id, name, email));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping invalid student record " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return students;
+    }
+
+    @Override
+    protected void writeSnapshot(String path, Collection<Student> students) throws IOException {
+        try (SnapshotWriter out = SnapshotWriter.open(path)) {
+            out.putInt(MAGIC).putInt(VERSION).putInt(students.size());
+            for (Student s : students) {
+                out.putString(s.getId()).putString(s.getName()).putString(s.getEmail());
+            }
+            out.putInt(out.checksum());
+            out.commit();
+        }
+    }
+}
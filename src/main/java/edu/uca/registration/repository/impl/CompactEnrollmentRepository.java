@@ -0,0 +1,439 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.RosterIndex;
+import edu.uca.registration.util.CsvTokenizer;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.IdDictionary;
+import edu.uca.registration.util.LongIntHashMap;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Memory-compact EnrollmentRepository for very large enrollment tables.
+ *
+ * Student IDs and course codes are interned to dense ordinals by an
+ * {@link IdDictionary}. Each enrollment then occupies one fixed-width
+ * record in {@link EnrollmentSlots} (student, course, status, sequence) and
+ * is threaded onto three doubly linked lists: its course roster, its
+ * student's schedule and, when waitlisted, its course waitlist. A
+ * {@link LongIntHashMap} maps each (student, course) pair to its slot.
+ * Freed slots are reused. Enrollment objects are only created for query
+ * results, so the steady-state heap holds no per-enrollment objects at all.
+ * Enrolled students are also tracked per course in a {@link RosterIndex}.
+ *
+ * Ordering and save semantics match {@link FileEnrollmentRepository}: lists
+ * are kept in sequence order, re-saving an unchanged status keeps the
+ * entry's place, and a status change moves it to the back.
+ *
+ * Snapshots use the same course|student|STATUS|sequence CSV format as
+ * {@link CsvEnrollmentRepository}, so either class can open the other's
+ * file. There is no journal; every flush rewrites the snapshot.
+ */
+public class CompactEnrollmentRepository implements EnrollmentRepository {
+    private static final int NIL = -1;
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+
+    private final String filePath;
+    private final Logger logger;
+    private final IdDictionary studentIds = new IdDictionary();
+    private final IdDictionary courseCodes = new IdDictionary();
+    // (student ordinal, course ordinal) -> slot
+    private final LongIntHashMap pairs = new LongIntHashMap();
+    private final EnrollmentSlots slots;
+    private final RosterIndex rosterIndex = new RosterIndex();
+    private final DeferredFlusher flusher;
+
+    // Per course ordinal
+    private int[] rosterHead = new int[0];
+    private int[] rosterTail = new int[0];
+    private int[] waitHead = new int[0];
+    private int[] waitTail = new int[0];
+    // [course * STATUSES.length + status ordinal]
+    private int[] statusCounts = new int[0];
+
+    // Per student ordinal
+    private int[] scheduleHead = new int[0];
+    private int[] scheduleTail = new int[0];
+
+    private int slotCount;
+    // Freed slots, chained through ROSTER_NEXT
+    private int freeSlot = NIL;
+    private int size;
+    private long nextSequence = 1;
+
+    public CompactEnrollmentRepository(String filePath, Logger logger) {
+        this(filePath, logger, FlushPolicy.sync());
+    }
+
+    public CompactEnrollmentRepository(String filePath, Logger logger, FlushPolicy flushPolicy) {
+        this(filePath, logger, flushPolicy, EnrollmentSlots.onHeap());
+    }
+
+    CompactEnrollmentRepository(String filePath, Logger logger, FlushPolicy flushPolicy, EnrollmentSlots slots) {
+        this.filePath = filePath;
+        this.logger = logger;
+        this.slots = slots;
+        loadFromFile();
+        this.flusher = new DeferredFlusher(this, flushPolicy, this::writeToFile, logger);
+    }
+
+    @Override
+    public synchronized void save(Enrollment enrollment) {
+        if (store(enrollment)) {
+            flusher.markDirty();
+        }
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Enrollment> batch) {
+        boolean changed = false;
+        for (Enrollment enrollment : batch) {
+            changed |= store(enrollment);
+        }
+        if (changed) {
+            flusher.markDirty();
+        }
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByCourseCode(String courseCode) {
+        int c = courseCodes.lookup(courseCode);
+        List<Enrollment> result = new ArrayList<>();
+        if (c == NIL || c >= rosterHead.length) {
+            return result;
+        }
+        for (int s = rosterHead[c]; s != NIL; s = slots.getInt(s, EnrollmentSlots.ROSTER_NEXT)) {
+            result.add(toEnrollment(s));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByStudentId(String studentId) {
+        int st = studentIds.lookup(studentId);
+        List<Enrollment> result = new ArrayList<>();
+        if (st == NIL || st >= scheduleHead.length) {
+            return result;
+        }
+        for (int s = scheduleHead[st]; s != NIL; s = slots.getInt(s, EnrollmentSlots.SCHEDULE_NEXT)) {
+            result.add(toEnrollment(s));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByCourseAndStatus(String courseCode, EnrollmentStatus wanted) {
+        int c = courseCodes.lookup(courseCode);
+        List<Enrollment> result = new ArrayList<>();
+        if (c == NIL || c >= rosterHead.length) {
+            return result;
+        }
+        if (wanted == EnrollmentStatus.WAITLISTED) {
+            for (int s = waitHead[c]; s != NIL; s = slots.getInt(s, EnrollmentSlots.WAIT_NEXT)) {
+                result.add(toEnrollment(s));
+            }
+            return result;
+        }
+        for (int s = rosterHead[c]; s != NIL; s = slots.getInt(s, EnrollmentSlots.ROSTER_NEXT)) {
+            if (slots.getInt(s, EnrollmentSlots.STATUS) == wanted.ordinal()) {
+                result.add(toEnrollment(s));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized boolean exists(String studentId, String courseCode) {
+        return slotOf(studentId, courseCode) != NIL;
+    }
+
+    @Override
+    public synchronized boolean delete(String studentId, String courseCode) {
+        int s = slotOf(studentId, courseCode);
+        if (s == NIL) {
+            return false;
+        }
+        release(s);
+        flusher.markDirty();
+        return true;
+    }
+
+    @Override
+    public synchronized Optional<Enrollment> pollWaitlistHead(String courseCode) {
+        int c = courseCodes.lookup(courseCode);
+        if (c == NIL || c >= waitHead.length || waitHead[c] == NIL) {
+            return Optional.empty();
+        }
+        int s = waitHead[c];
+        Enrollment head = toEnrollment(s);
+        release(s);
+        flusher.markDirty();
+        return Optional.of(head);
+    }
+
+    @Override
+    public synchronized OptionalInt waitlistPosition(String studentId, String courseCode) {
+        int target = slotOf(studentId, courseCode);
+        if (target == NIL || slots.getInt(target, EnrollmentSlots.STATUS) != EnrollmentStatus.WAITLISTED.ordinal()) {
+            return OptionalInt.empty();
+        }
+        int position = 1;
+        int c = slots.getInt(target, EnrollmentSlots.COURSE);
+        for (int s = waitHead[c]; s != target; s = slots.getInt(s, EnrollmentSlots.WAIT_NEXT)) {
+            position++;
+        }
+        return OptionalInt.of(position);
+    }
+
+    @Override
+    public synchronized int countByCourseAndStatus(String courseCode, EnrollmentStatus wanted) {
+        int c = courseCodes.lookup(courseCode);
+        if (c == NIL || c >= rosterHead.length) {
+            return 0;
+        }
+        return statusCounts[c * STATUSES.length + wanted.ordinal()];
+    }
+
+    @Override
+    public Optional<RosterIndex> getRosterIndex() {
+        return Optional.of(rosterIndex);
+    }
+
+    @Override
+    public void flush() {
+        flusher.flush();
+    }
+
+    /**
+     * Flushes any pending changes and stops background flushing.
+     */
+    public void close() {
+        flusher.close();
+    }
+
+    /**
+     * Number of stored enrollments.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // Applies a save; false when the same enrollment is already stored
+    private boolean store(Enrollment enrollment) {
+        int s = slotOf(enrollment.getStudentId(), enrollment.getCourseCode());
+        if (s != NIL) {
+            if (slots.getInt(s, EnrollmentSlots.STATUS) == enrollment.getStatus().ordinal()) {
+                return false;
+            }
+            release(s);
+        }
+        append(enrollment, 0);
+        return true;
+    }
+
+    /**
+     * Stores an enrollment at the back of its lists. The pair must not be present.
+     * @param seq the stored sequence, or 0 to take the next one
+     */
+    private void append(Enrollment enrollment, long seq) {
+        if (seq <= 0) {
+            seq = nextSequence++;
+        } else {
+            nextSequence = Math.max(nextSequence, seq + 1);
+        }
+        int st = studentIds.intern(enrollment.getStudentId());
+        int c = courseCodes.intern(enrollment.getCourseCode());
+        ensureStudent(st);
+        ensureCourse(c);
+
+        int s = allocate();
+        int statusOrdinal = enrollment.getStatus().ordinal();
+        slots.setInt(s, EnrollmentSlots.STUDENT, st);
+        slots.setInt(s, EnrollmentSlots.COURSE, c);
+        slots.setInt(s, EnrollmentSlots.STATUS, statusOrdinal);
+        slots.setSequence(s, seq);
+        pairs.put(LongIntHashMap.pack(st, c), s);
+        size++;
+
+        link(s, c, rosterHead, rosterTail, EnrollmentSlots.ROSTER_NEXT, EnrollmentSlots.ROSTER_PREV);
+        link(s, st, scheduleHead, scheduleTail, EnrollmentSlots.SCHEDULE_NEXT, EnrollmentSlots.SCHEDULE_PREV);
+        if (enrollment.isWaitlisted()) {
+            link(s, c, waitHead, waitTail, EnrollmentSlots.WAIT_NEXT, EnrollmentSlots.WAIT_PREV);
+        } else {
+            rosterIndex.add(enrollment.getStudentId(), enrollment.getCourseCode());
+        }
+        statusCounts[c * STATUSES.length + statusOrdinal]++;
+    }
+
+    // Unlinks a slot from every list and puts it on the free list
+    private void release(int s) {
+        int st = slots.getInt(s, EnrollmentSlots.STUDENT);
+        int c = slots.getInt(s, EnrollmentSlots.COURSE);
+        int statusOrdinal = slots.getInt(s, EnrollmentSlots.STATUS);
+        pairs.remove(LongIntHashMap.pack(st, c), NIL);
+        size--;
+
+        unlink(s, c, rosterHead, rosterTail, EnrollmentSlots.ROSTER_NEXT, EnrollmentSlots.ROSTER_PREV);
+        unlink(s, st, scheduleHead, scheduleTail, EnrollmentSlots.SCHEDULE_NEXT, EnrollmentSlots.SCHEDULE_PREV);
+        if (statusOrdinal == EnrollmentStatus.WAITLISTED.ordinal()) {
+            unlink(s, c, waitHead, waitTail, EnrollmentSlots.WAIT_NEXT, EnrollmentSlots.WAIT_PREV);
+        } else {
+            rosterIndex.remove(studentIds.name(st), courseCodes.name(c));
+        }
+        statusCounts[c * STATUSES.length + statusOrdinal]--;
+
+        slots.setInt(s, EnrollmentSlots.ROSTER_NEXT, freeSlot);
+        freeSlot = s;
+    }
+
+    // Appends slot s to the list of owner
+    private void link(int s, int owner, int[] head, int[] tail, int nextField, int prevField) {
+        int last = tail[owner];
+        slots.setInt(s, prevField, last);
+        slots.setInt(s, nextField, NIL);
+        if (last == NIL) {
+            head[owner] = s;
+        } else {
+            slots.setInt(last, nextField, s);
+        }
+        tail[owner] = s;
+    }
+
+    private void unlink(int s, int owner, int[] head, int[] tail, int nextField, int prevField) {
+        int prev = slots.getInt(s, prevField);
+        int next = slots.getInt(s, nextField);
+        if (prev == NIL) {
+            head[owner] = next;
+        } else {
+            slots.setInt(prev, nextField, next);
+        }
+        if (next == NIL) {
+            tail[owner] = prev;
+        } else {
+            slots.setInt(next, prevField, prev);
+        }
+    }
+
+    private int allocate() {
+        if (freeSlot != NIL) {
+            int s = freeSlot;
+            freeSlot = slots.getInt(s, EnrollmentSlots.ROSTER_NEXT);
+            return s;
+        }
+        slots.ensureCapacity(slotCount + 1);
+        return slotCount++;
+    }
+
+    private void ensureCourse(int c) {
+        if (c < rosterHead.length) {
+            return;
+        }
+        int capacity = Math.max(16, Math.max(c + 1, rosterHead.length * 2));
+        rosterHead = grow(rosterHead, capacity);
+        rosterTail = grow(rosterTail, capacity);
+        waitHead = grow(waitHead, capacity);
+        waitTail = grow(waitTail, capacity);
+        statusCounts = Arrays.copyOf(statusCounts, capacity * STATUSES.length);
+    }
+
+    private void ensureStudent(int st) {
+        if (st < scheduleHead.length) {
+            return;
+        }
+        int capacity = Math.max(16, Math.max(st + 1, scheduleHead.length * 2));
+        scheduleHead = grow(scheduleHead, capacity);
+        scheduleTail = grow(scheduleTail, capacity);
+    }
+
+    // Copies into a larger array whose new cells are NIL
+    private static int[] grow(int[] array, int capacity) {
+        int[] grown = Arrays.copyOf(array, capacity);
+        Arrays.fill(grown, array.length, capacity, NIL);
+        return grown;
+    }
+
+    private int slotOf(String studentId, String courseCode) {
+        int st = studentIds.lookup(studentId);
+        int c = courseCodes.lookup(courseCode);
+        if (st == NIL || c == NIL) {
+            return NIL;
+        }
+        return pairs.get(LongIntHashMap.pack(st, c), NIL);
+    }
+
+    private Enrollment toEnrollment(int s) {
+        return new Enrollment(studentIds.name(slots.getInt(s, EnrollmentSlots.STUDENT)),
+            courseCodes.name(slots.getInt(s, EnrollmentSlots.COURSE)),
+            STATUSES[slots.getInt(s, EnrollmentSlots.STATUS)]);
+    }
+
+    private synchronized void writeToFile() {
+        try (SnapshotWriter out = SnapshotWriter.open(filePath)) {
+            for (int c = 0; c < rosterHead.length; c++) {
+                for (int s = rosterHead[c]; s != NIL; s = slots.getInt(s, EnrollmentSlots.ROSTER_NEXT)) {
+                    out.append(courseCodes.name(c)).append('|')
+                       .append(studentIds.name(slots.getInt(s, EnrollmentSlots.STUDENT))).append('|')
+                       .append(STATUSES[slots.getInt(s, EnrollmentSlots.STATUS)].name()).append('|')
+                       .append(Long.toString(slots.getSequence(s))).newLine();
+                }
+            }
+            out.commit();
+            logger.debug("Saved " + size + " enrollments to " + filePath);
+        } catch (IOException ex) {
+            logger.error("Failed to save enrollments: " + ex.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", ex);
+        }
+    }
+
+    private void loadFromFile() {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            logger.info("Enrollment file not found, starting with empty repository");
+            return;
+        }
+
+        try {
+            ParallelCsvLoader.Result<FileEnrollmentRepository.Entry> result = ParallelCsvLoader.load(filePath, line -> {
+                CsvTokenizer fields = new CsvTokenizer(line, '|');
+                int count = fields.fieldCount();
+                if (count < 3) {
+                    return null;
+                }
+                String courseCode = fields.next();
+                String studentId = fields.next();
+                EnrollmentStatus parsed = fields.nextEnum(STATUSES);
+                long seq = count >= 4 ? fields.nextLong() : 0;
+                return new FileEnrollmentRepository.Entry(new Enrollment(studentId, courseCode, parsed), seq);
+            });
+            for (ParallelCsvLoader.Rejection r : result.getRejections()) {
+                logger.warn("Skipping invalid enrollment at line " + r.getLineNumber() + ": " + r.getReason());
+            }
+            List<FileEnrollmentRepository.Entry> entries = new ArrayList<>(result.getRows());
+            // Sequence order is FIFO order, whatever order the rows were written in
+            entries.sort(Comparator.comparingLong(FileEnrollmentRepository.Entry::getSequence));
+            for (FileEnrollmentRepository.Entry entry : entries) {
+                Enrollment e = entry.getEnrollment();
+                int s = slotOf(e.getStudentId(), e.getCourseCode());
+                if (s != NIL) {
+                    release(s);
+                }
+                append(e, entry.getSequence());
+            }
+            logger.info("Loaded " + size + " enrollments from " + filePath);
+        } catch (IOException e) {
+            logger.error("Failed to load enrollments: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package edu.uca.registration.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.CursorPage;
+
+/**
+ * Thread-safe in-memory CourseRepository on a {@link ConcurrentHashMap}.
+ * Like {@link ConcurrentStudentRepository}, it can front a backing
+ * repository, loading it once and writing through on every change, and
+ * keeps a code-ordered {@link ConcurrentSkipListMap} for prefix scans and
+ * cursor paging.
+ */
+public class ConcurrentCourseRepository implements CourseRepository {
+    private final ConcurrentMap<String, Course> courses = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Course> byCode = new ConcurrentSkipListMap<>();
+    private final CourseRepository backing;
+
+    public ConcurrentCourseRepository() {
+        this.backing = null;
+    }
+
+    public ConcurrentCourseRepository(CourseRepository backing) {
+        this.backing = backing;
+        for (Course course : backing.findAll()) {
+            courses.put(course.getCode(), course);
+            byCode.put(course.getCode(), course);
+        }
+    }
+
+    @Override
+    public void save(Course course) {
+        courses.compute(course.getCode(), (code, old) -> {
+            if (backing != null) {
+                backing.save(course);
+            }
+            byCode.put(code, course);
+            return course;
+        });
+    }
+
+    @Override
+    public Optional<Course> findByCode(String code) {
+        return Optional.ofNullable(courses.get(code));
+    }
+
+    @Override
+    public boolean exists(String code) {
+        return courses.containsKey(code);
+    }
+
+    /**
+     * A copy of every course; concurrent writes may or may not be included.
+     */
+    @Override
+    public Collection<Course> findAll() {
+        return new ArrayList<>(courses.values());
+    }
+
+    @Override
+    public List<Course> findByCodePrefix(String prefix) {
+        return new ArrayList<>(byCode.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    @Override
+    public CursorPage<Course> findPage(String cursor, int limit) {
+        return CursorPage.from(byCode, cursor, limit);
+    }
+
+    @Override
+    public boolean delete(String code) {
+        boolean[] removed = new boolean[1];
+        courses.computeIfPresent(code, (key, old) -> {
+            if (backing != null) {
+                backing.delete(code);
+            }
+            byCode.remove(code);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public int count() {
+        return courses.size();
+    }
+
+    @Override
+    public void flush() {
+        if (backing != null) {
+            backing.flush();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package edu.uca.registration.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.RosterIndex;
+
+/**
+ * Thread-safe in-memory EnrollmentRepository.
+ *
+ * Each course has its own roster, locked on its own, so writes to different
+ * courses never contend and a course's FIFO order and status counters
+ * change together. Rosters live in a {@link ConcurrentHashMap}; each
+ * student's course list is replaced copy-on-write, so schedule lookups take
+ * no lock. As in {@link FileEnrollmentRepository}, re-saving an enrollment
+ * with an unchanged status keeps its place in line and a status change
+ * moves it to the back.
+ *
+ * Given a backing repository it acts as a hot tier in front of it, writing
+ * through inside the course lock so the backing store sees each course's
+ * changes in the same order. EnrollmentRepository cannot list every
+ * enrollment, so the courses to load are passed in.
+ */
+public class ConcurrentEnrollmentRepository implements EnrollmentRepository {
+    private static final int STATUS_COUNT = EnrollmentStatus.values().length;
+
+    private final ConcurrentMap<String, CourseRoster> rosters = new ConcurrentHashMap<>();
+    // Student ID -> codes of their courses, in enrollment order; replaced on every change
+    private final ConcurrentMap<String, List<String>> schedules = new ConcurrentHashMap<>();
+    private final RosterIndex rosterIndex = new RosterIndex();
+    private final EnrollmentRepository backing;
+
+    public ConcurrentEnrollmentRepository() {
+        this.backing = null;
+    }
+
+    /**
+     * Loads the given courses from backing, waitlists in FIFO order, and writes through to it afterwards.
+     */
+    public ConcurrentEnrollmentRepository(EnrollmentRepository backing, Collection<String> courseCodes) {
+        for (String courseCode : courseCodes) {
+            CourseRoster roster = roster(courseCode);
+            for (EnrollmentStatus status : EnrollmentStatus.values()) {
+                for (Enrollment enrollment : backing.findByCourseAndStatus(courseCode, status)) {
+                    roster.save(enrollment);
+                }
+            }
+        }
+        // Set last so loading does not write back
+        this.backing = backing;
+    }
+
+    @Override
+    public void save(Enrollment enrollment) {
+        roster(enrollment.getCourseCode()).save(enrollment);
+    }
+
+    @Override
+    public List<Enrollment> findByCourseCode(String courseCode) {
+        CourseRoster roster = rosters.get(courseCode);
+        return roster == null ? new ArrayList<>() : roster.all();
+    }
+
+    @Override
+    public List<Enrollment> findByStudentId(String studentId) {
+        List<Enrollment> found = new ArrayList<>();
+        for (String courseCode : schedules.getOrDefault(studentId, List.of())) {
+            CourseRoster roster = rosters.get(courseCode);
+            Enrollment enrollment = roster == null ? null : roster.get(studentId);
+            if (enrollment != null) {
+                found.add(enrollment);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public List<Enrollment> findByCourseAndStatus(String courseCode, EnrollmentStatus status) {
+        CourseRoster roster = rosters.get(courseCode);
+        return roster == null ? new ArrayList<>() : roster.withStatus(status);
+    }
+
+    @Override
+    public boolean exists(String studentId, String courseCode) {
+        CourseRoster roster = rosters.get(courseCode);
+        return roster != null && roster.get(studentId) != null;
+    }
+
+    @Override
+    public boolean delete(String studentId, String courseCode) {
+        CourseRoster roster = rosters.get(courseCode);
+        return roster != null && roster.delete(studentId);
+    }
+
+    @Override
+    public int countByCourseAndStatus(String courseCode, EnrollmentStatus status) {
+        CourseRoster roster = rosters.get(courseCode);
+        return roster == null ? 0 : roster.count(status);
+    }
+
+    @Override
+    public Optional<Enrollment> pollWaitlistHead(String courseCode) {
+        CourseRoster roster = rosters.get(courseCode);
+        return roster == null ? Optional.empty() : roster.pollWaitlistHead();
+    }
+
+    @Override
+    public OptionalInt waitlistPosition(String studentId, String courseCode) {
+        CourseRoster roster = rosters.get(courseCode);
+        return roster == null ? OptionalInt.empty() : roster.waitlistPosition(studentId);
+    }
+
+    @Override
+    public Optional<RosterIndex> getRosterIndex() {
+        return Optional.of(rosterIndex);
+    }
+
+    @Override
+    public void flush() {
+        if (backing != null) {
+            backing.flush();
+        }
+    }
+
+    // Rosters are never removed, so a writer holding one cannot lose its update
+    private CourseRoster roster(String courseCode) {
+        return rosters.computeIfAbsent(courseCode, CourseRoster::new);
+    }
+
+    private void scheduleAdd(String studentId, String courseCode) {
+        schedules.compute(studentId, (id, courses) -> {
+            List<String> updated = courses == null ? new ArrayList<>() : new ArrayList<>(courses);
+            updated.add(courseCode);
+            return List.copyOf(updated);
+        });
+    }
+
+    private void scheduleRemove(String studentId, String courseCode) {
+        schedules.computeIfPresent(studentId, (id, courses) -> {
+            List<String> updated = new ArrayList<>(courses);
+            updated.remove(courseCode);
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
+    /**
+     * One course's enrollments in FIFO order, with the waitlist kept apart
+     * so its head and positions do not need a scan past enrolled students.
+     */
+    private final class CourseRoster {
+        private final String courseCode;
+        private final Map<String, Enrollment> entries = new LinkedHashMap<>();
+        private final Map<String, Enrollment> waitlist = new LinkedHashMap<>();
+        private final int[] counts = new int[STATUS_COUNT];
+
+        CourseRoster(String courseCode) {
+            this.courseCode = courseCode;
+        }
+
+        synchronized void save(Enrollment enrollment) {
+            String studentId = enrollment.getStudentId();
+            Enrollment existing = entries.get(studentId);
+            if (existing != null && existing.getStatus() == enrollment.getStatus()) {
+                return;
+            }
+            if (backing != null) {
+                backing.save(enrollment);
+            }
+            if (existing != null) {
+                unlink(existing);
+            } else {
+                scheduleAdd(studentId, courseCode);
+            }
+            entries.put(studentId, enrollment);
+            counts[enrollment.getStatus().ordinal()]++;
+            if (enrollment.isWaitlisted()) {
+                waitlist.put(studentId, enrollment);
+            } else {
+                rosterIndex.add(studentId, courseCode);
+            }
+        }
+
+        synchronized boolean delete(String studentId) {
+            Enrollment existing = entries.get(studentId);
+            if (existing == null) {
+                return false;
+            }
+            if (backing != null) {
+                backing.delete(studentId, courseCode);
+            }
+            unlink(existing);
+            scheduleRemove(studentId, courseCode);
+            return true;
+        }
+
+        synchronized Optional<Enrollment> pollWaitlistHead() {
+            if (waitlist.isEmpty()) {
+                return Optional.empty();
+            }
+            Enrollment head = waitlist.values().iterator().next();
+            delete(head.getStudentId());
+            return Optional.of(head);
+        }
+
+        synchronized Enrollment get(String studentId) {
+            return entries.get(studentId);
+        }
+
+        synchronized List<Enrollment> all() {
+            return new ArrayList<>(entries.values());
+        }
+
+        synchronized List<Enrollment> withStatus(EnrollmentStatus status) {
+            if (status == EnrollmentStatus.WAITLISTED) {
+                return new ArrayList<>(waitlist.values());
+            }
+            List<Enrollment> matches = new ArrayList<>(counts[status.ordinal()]);
+            for (Enrollment e : entries.values()) {
+                if (e.getStatus() == status) {
+                    matches.add(e);
+                }
+            }
+            return matches;
+        }
+
+        synchronized int count(EnrollmentStatus status) {
+            return counts[status.ordinal()];
+        }
+
+        synchronized OptionalInt waitlistPosition(String studentId) {
+            int position = 1;
+            for (String waiting : waitlist.keySet()) {
+                if (waiting.equals(studentId)) {
+                    return OptionalInt.of(position);
+                }
+                position++;
+            }
+            return OptionalInt.empty();
+        }
+
+        // Takes an enrollment out of the entries, waitlist, counters and roster index
+        private void unlink(Enrollment existing) {
+            String studentId = existing.getStudentId();
+            entries.remove(studentId);
+            counts[existing.getStatus().ordinal()]--;
+            if (existing.isWaitlisted()) {
+                waitlist.remove(studentId);
+            } else {
+                rosterIndex.remove(studentId, courseCode);
+            }
+        }
+    }
+}
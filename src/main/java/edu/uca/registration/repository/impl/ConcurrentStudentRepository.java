@@ -0,0 +1,133 @@
+package edu.uca.registration.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.CursorPage;
+import edu.uca.registration.repository.PrefixIndex;
+import edu.uca.registration.repository.StudentRepository;
+
+/**
+ * Thread-safe in-memory StudentRepository on a {@link ConcurrentHashMap}.
+ * Reads never block; writes to different students run in parallel.
+ *
+ * Given a backing repository it acts as a hot tier in front of it: the
+ * backing content is loaded once, reads are served from memory, and every
+ * write goes through to the backing store inside the per-key update, so the
+ * two can never disagree about the last write to a student. A write the
+ * backing store rejects is not applied here either.
+ *
+ * The same per-key update keeps an ID-ordered {@link ConcurrentSkipListMap}
+ * for cursor paging and a {@link PrefixIndex} for searchByPrefix.
+ */
+public class ConcurrentStudentRepository implements StudentRepository {
+    private final ConcurrentMap<String, Student> students = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Student> byId = new ConcurrentSkipListMap<>();
+    private final PrefixIndex searchIndex = new PrefixIndex();
+    private final StudentRepository backing;
+
+    public ConcurrentStudentRepository() {
+        this.backing = null;
+    }
+
+    public ConcurrentStudentRepository(StudentRepository backing) {
+        this.backing = backing;
+        for (Student student : backing.findAll()) {
+            students.put(student.getId(), student);
+            index(null, student);
+        }
+    }
+
+    @Override
+    public void save(Student student) {
+        students.compute(student.getId(), (id, old) -> {
+            if (backing != null) {
+                backing.save(student);
+            }
+            index(old, student);
+            return student;
+        });
+    }
+
+    @Override
+    public Optional<Student> findById(String id) {
+        return Optional.ofNullable(students.get(id));
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return students.containsKey(id);
+    }
+
+    /**
+     * A copy of every student; concurrent writes may or may not be included.
+     */
+    @Override
+    public Collection<Student> findAll() {
+        return new ArrayList<>(students.values());
+    }
+
+    @Override
+    public CursorPage<Student> findPage(String cursor, int limit) {
+        return CursorPage.from(byId, cursor, limit);
+    }
+
+    @Override
+    public List<Student> searchByPrefix(String prefix, int limit) {
+        List<Student> matches = new ArrayList<>();
+        for (String id : searchIndex.search(prefix, limit)) {
+            // Deleted since the index was read
+            Student student = students.get(id);
+            if (student != null) {
+                matches.add(student);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean delete(String id) {
+        boolean[] removed = new boolean[1];
+        students.computeIfPresent(id, (key, old) -> {
+            if (backing != null) {
+                backing.delete(id);
+            }
+            index(old, null);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public int count() {
+        return students.size();
+    }
+
+    @Override
+    public void flush() {
+        if (backing != null) {
+            backing.flush();
+        }
+    }
+
+    // Called inside the per-key update, so one student's index entries change one write at a time
+    private void index(Student old, Student current) {
+        if (old != null) {
+            searchIndex.remove(old.getId(), old.getName(), old.getEmail());
+        }
+        if (current != null) {
+            byId.put(current.getId(), current);
+            searchIndex.add(current.getId(), current.getName(), current.getEmail());
+        } else if (old != null) {
+            byId.remove(old.getId());
+        }
+    }
+}
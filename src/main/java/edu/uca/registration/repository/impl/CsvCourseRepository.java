@@ -1,78 +1,127 @@
 package edu.uca.registration.repository.impl;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import edu.uca.registration.model.Course;
 import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.CursorPage;
+import edu.uca.registration.util.CsvTokenizer;
+import edu.uca.registration.util.FlushPolicy;
 import edu.uca.registration.util.Logger;
 
 /**
  * CSV based implementation of CourseRepository.
+ * Besides the file-ordered map, courses are kept in a code-ordered index for
+ * prefix scans and cursor paging.
  */
 public class CsvCourseRepository implements CourseRepository {
     private final String filePath;
     private final Map<String, Course> courses;
+    private final NavigableMap<String, Course> byCode;
     private final Logger logger;
+    private final DeferredFlusher flusher;
 
     public CsvCourseRepository(String filePath, Logger logger) {
+        this(filePath, logger, FlushPolicy.sync());
+    }
+
+    public CsvCourseRepository(String filePath, Logger logger, FlushPolicy flushPolicy) {
         this.filePath = filePath;
         this.courses = new LinkedHashMap<>();
+        this.byCode = new TreeMap<>();
         this.logger = logger;
         loadFromFile();
+        this.flusher = new DeferredFlusher(this, flushPolicy, this::writeToFile, logger);
     }
 
     @Override
-    public void save(Course course) {
-        courses.put(course.getCode(), course);
-        flush();
+    public synchronized void save(Course course) {
+        put(course);
+        flusher.markDirty();
     }
 
     @Override
-    public Optional<Course> findByCode(String code) {
+    public synchronized void saveAll(Collection<Course> batch) {
+        for (Course course : batch) {
+            put(course);
+        }
+        flusher.markDirty();
+    }
+
+    @Override
+    public synchronized Optional<Course> findByCode(String code) {
         return Optional.ofNullable(courses.get(code));
     }
 
     @Override
-    public boolean exists(String code) {
+    public synchronized boolean exists(String code) {
         return courses.containsKey(code);
     }
 
     @Override
-    public Collection<Course> findAll() {
+    public synchronized Collection<Course> findAll() {
         return new ArrayList<>(courses.values());
     }
 
     @Override
-    public boolean delete(String code) {
+    public synchronized boolean delete(String code) {
         boolean existed = courses.remove(code) != null;
         if (existed) {
-            flush();
+            byCode.remove(code);
+            flusher.markDirty();
         }
         return existed;
     }
 
     @Override
-    public int count() {
+    public synchronized List<Course> findByCodePrefix(String prefix) {
+        return new ArrayList<>(byCode.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    @Override
+    public synchronized CursorPage<Course> findPage(String cursor, int limit) {
+        return CursorPage.from(byCode, cursor, limit);
+    }
+
+    @Override
+    public synchronized int count() {
         return courses.size();
     }
 
     @Override
     public void flush() {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(filePath))) {
+        flusher.flush();
+    }
+
+    /**
+     * Flushes any pending changes and stops background flushing.
+     */
+    public void close() {
+        flusher.close();
+    }
+
+    private void put(Course course) {
+        courses.put(course.getCode(), course);
+        byCode.put(course.getCode(), course);
+    }
+
+    private synchronized void writeToFile() {
+        try (SnapshotWriter out = SnapshotWriter.open(filePath)) {
             for (Course c : courses.values()) {
-                pw.println(String.format("%s,%s,%d", 
-                    c.getCode(), c.getTitle(), c.getCapacity()));
+                out.append(c.getCode()).append(',')
+                   .append(c.getTitle()).append(',')
+                   .append(c.getCapacity()).newLine();
             }
+            out.commit();
             logger.debug("Saved " + courses.size() + " courses to " + filePath);
         } catch (IOException e) {
             logger.error("Failed to save courses: " + e.getMessage());
@@ -87,21 +136,21 @@ public class CsvCourseRepository implements CourseRepository {
             return;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-            int lineNum = 0;
-            while ((line = br.readLine()) != null) {
-                lineNum++;
-                String[] parts = line.split(",", -1);
-                if (parts.length >= 3) {
-                    try {
-                        int capacity = Integer.parseInt(parts[2]);
-                        Course course = new Course(parts[0], parts[1], capacity);
-                        courses.put(course.getCode(), course);
-                    } catch (IllegalArgumentException e) {
-                        logger.warn("Skipping invalid course at line " + lineNum + ": " + e.getMessage());
-                    }
+        try {
+            ParallelCsvLoader.Result<Course> result = ParallelCsvLoader.load(filePath, line -> {
+                CsvTokenizer fields = new CsvTokenizer(line, ',');
+                if (fields.fieldCount() < 3) {
+                    return null;
                 }
+                String code = fields.next();
+                String title = fields.next();
+                return new Course(code, title, fields.nextInt());
+            });
+            for (Course course : result.getRows()) {
+                put(course);
+            }
+            for (ParallelCsvLoader.Rejection r : result.getRejections()) {
+                logger.warn("Skipping invalid course at line " + r.getLineNumber() + ": " + r.getReason());
             }
             logger.info("Loaded " + courses.size() + " courses from " + filePath);
         } catch (IOException e) {
@@ -0,0 +1,129 @@
+package edu.uca.registration.repository.impl;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Coalesces repository mutations into as few file writes as the
+ * {@link FlushPolicy} allows.
+ *
+ * All state is guarded by the owning repository's monitor, so the writer
+ * always sees a consistent view and never races a mutation.
+ */
+class DeferredFlusher {
+    private static final ScheduledExecutorService SCHEDULER =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "repository-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+
+    private final Object lock;
+    private final FlushPolicy policy;
+    private final Runnable writer;
+    private final Logger logger;
+    private final ScheduledFuture<?> periodic;
+    private boolean dirty;
+    private int pending;
+    private boolean flushQueued;
+
+    DeferredFlusher(Object lock, FlushPolicy policy, Runnable writer, Logger logger) {
+        this.lock = lock;
+        this.policy = policy;
+        this.writer = writer;
+        this.logger = logger;
+
+        if (policy.getMode() == FlushPolicy.Mode.SYNC) {
+            this.periodic = null;
+        } else {
+            long interval = policy.getIntervalMillis();
+            this.periodic = SCHEDULER.scheduleWithFixedDelay(
+                this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Records one mutation. Must be called after the in-memory state changed.
+     */
+    void markDirty() {
+        synchronized (lock) {
+            dirty = true;
+            pending++;
+            switch (policy.getMode()) {
+                case SYNC:
+                    write();
+                    break;
+                case BATCH:
+                    if (pending >= policy.getBatchSize() && !flushQueued) {
+                        flushQueued = true;
+                        SCHEDULER.execute(this::flushQuietly);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Durability barrier: returns once every recorded mutation is on disk.
+     */
+    void flush() {
+        synchronized (lock) {
+            if (dirty) {
+                write();
+            }
+        }
+    }
+
+    /**
+     * Called by an owner that just wrote its full state by other means.
+     */
+    void markClean() {
+        synchronized (lock) {
+            dirty = false;
+            pending = 0;
+        }
+    }
+
+    boolean isDirty() {
+        synchronized (lock) {
+            return dirty;
+        }
+    }
+
+    /**
+     * Stops the background task after a final flush.
+     */
+    void close() {
+        if (periodic != null) {
+            periodic.cancel(false);
+        }
+        flush();
+    }
+
+    private void write() {
+        try {
+            writer.run();
+            dirty = false;
+            pending = 0;
+        } finally {
+            // Even a failed write lets the next mutation queue another batch
+            flushQueued = false;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Stay dirty so the next attempt or the shutdown flush retries
+            logger.error("Background flush failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package edu.uca.registration.repository.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-width enrollment records addressed by slot number, used by
+ * {@link CompactEnrollmentRepository}. Each record holds {@link #INT_FIELDS}
+ * ints (ordinals, status and list links) plus a long sequence number.
+ *
+ * Two layouts exist: {@link #onHeap()} keeps records in primitive arrays,
+ * {@link #offHeap()} keeps them in direct buffers outside the Java heap, so
+ * the garbage collector never traces or copies them.
+ */
+abstract class EnrollmentSlots {
+    static final int STUDENT = 0;
+    static final int COURSE = 1;
+    static final int STATUS = 2;
+    static final int ROSTER_NEXT = 3;
+    static final int ROSTER_PREV = 4;
+    static final int SCHEDULE_NEXT = 5;
+    static final int SCHEDULE_PREV = 6;
+    static final int WAIT_NEXT = 7;
+    static final int WAIT_PREV = 8;
+    static final int INT_FIELDS = 9;
+
+    static EnrollmentSlots onHeap() {
+        return new HeapSlots();
+    }
+
+    static EnrollmentSlots offHeap() {
+        return new DirectSlots();
+    }
+
+    abstract int getInt(int slot, int field);
+
+    abstract void setInt(int slot, int field, int value);
+
+    abstract long getSequence(int slot);
+
+    abstract void setSequence(int slot, long sequence);
+
+    /**
+     * Makes room for slots [0, slots).
+     */
+    abstract void ensureCapacity(int slots);
+
+    /**
+     * Bytes held outside the Java heap.
+     */
+    long offHeapBytes() {
+        return 0;
+    }
+
+    // Records interleaved in one int array so a record's fields share cache lines
+    private static final class HeapSlots extends EnrollmentSlots {
+        private int[] ints = new int[64 * INT_FIELDS];
+        private long[] sequences = new long[64];
+
+        @Override
+        int getInt(int slot, int field) {
+            return ints[slot * INT_FIELDS + field];
+        }
+
+        @Override
+        void setInt(int slot, int field, int value) {
+            ints[slot * INT_FIELDS + field] = value;
+        }
+
+        @Override
+        long getSequence(int slot) {
+            return sequences[slot];
+        }
+
+        @Override
+        void setSequence(int slot, long sequence) {
+            sequences[slot] = sequence;
+        }
+
+        @Override
+        void ensureCapacity(int slots) {
+            if (slots > sequences.length) {
+                int capacity = Math.max(slots, sequences.length * 2);
+                ints = Arrays.copyOf(ints, capacity * INT_FIELDS);
+                sequences = Arrays.copyOf(sequences, capacity);
+            }
+        }
+    }
+
+    /**
+     * 48-byte records (9 ints, 4 bytes padding, 8-byte sequence) in direct
+     * buffers of CHUNK_SLOTS records each. Growing adds a chunk rather than
+     * copying, so capacity is not limited by the 2 GB size of one buffer.
+     */
+    private static final class DirectSlots extends EnrollmentSlots {
+        private static final int RECORD_SIZE = 48;
+        private static final int SEQUENCE_OFFSET = 40;
+        private static final int CHUNK_SHIFT = 16;
+        private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+        private static final int CHUNK_MASK = CHUNK_SLOTS - 1;
+
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+
+        @Override
+        int getInt(int slot, int field) {
+            return chunk(slot).getInt(offset(slot) + 4 * field);
+        }
+
+        @Override
+        void setInt(int slot, int field, int value) {
+            chunk(slot).putInt(offset(slot) + 4 * field, value);
+        }
+
+        @Override
+        long getSequence(int slot) {
+            return chunk(slot).getLong(offset(slot) + SEQUENCE_OFFSET);
+        }
+
+        @Override
+        void setSequence(int slot, long sequence) {
+            chunk(slot).putLong(offset(slot) + SEQUENCE_OFFSET, sequence);
+        }
+
+        @Override
+        void ensureCapacity(int slots) {
+            while ((long) chunks.size() * CHUNK_SLOTS < slots) {
+                chunks.add(ByteBuffer.allocateDirect(CHUNK_SLOTS * RECORD_SIZE).order(ByteOrder.nativeOrder()));
+            }
+        }
+
+        @Override
+        long offHeapBytes() {
+            return (long) chunks.size() * CHUNK_SLOTS * RECORD_SIZE;
+        }
+
+        private ByteBuffer chunk(int slot) {
+            return chunks.get(slot >>> CHUNK_SHIFT);
+        }
+
+        private static int offset(int slot) {
+            return (slot & CHUNK_MASK) * RECORD_SIZE;
+        }
+    }
+}
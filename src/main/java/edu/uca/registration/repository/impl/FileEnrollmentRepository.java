@@ -0,0 +1,577 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.RosterIndex;
+import edu.uca.registration.util.CsvTokenizer;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Base class for EnrollmentRepository implementations that keep every
+ * enrollment in memory and persist full snapshots to a single file.
+ * Maintains FIFO ordering for waitlists. Subclasses only decide how a
+ * snapshot is encoded on disk.
+ *
+ * Besides the ordered master map, enrollments are indexed per course and per
+ * student (each in FIFO order), so queries and updates cost time proportional
+ * to one course's roster or one student's schedule, not the whole table.
+ * Per-course ENROLLED/WAITLISTED counters are maintained alongside, so
+ * capacity checks are constant-time. A {@link RosterIndex} of enrolled
+ * students per course is maintained the same way.
+ *
+ * Every enrollment carries a sequence number that is persisted with it, and
+ * each course has its own waitlist queue ordered by that sequence. Re-saving
+ * an enrollment with an unchanged status keeps its place in line; a status
+ * change (e.g. a promotion) stores it as a new entry at the back.
+ *
+ * In journal mode every save/delete appends a single record to
+ * {@code <file>.journal} instead of rewriting the whole snapshot. The snapshot is
+ * only rewritten on compaction, and loading replays the journal on top of it.
+ * When the flush policy defers writes, journal records are buffered and
+ * appended together by the background flusher. Each record ends with a
+ * CRC32 of its fields and a line break; a last record missing either was
+ * torn by a crash mid-append and is cut off the journal instead of replayed.
+ */
+public abstract class FileEnrollmentRepository implements EnrollmentRepository {
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String OP_SAVE = "S";
+    private static final String OP_DELETE = "D";
+    // Separates a record from its checksum, e.g. "D|CSCI4490|B001|#1c291ca3"
+    private static final String CHECKSUM_MARKER = "|#";
+    private static final int CHECKSUM_DIGITS = 8;
+    private static final int MIN_COMPACTION_THRESHOLD = 1000;
+    private static final EnrollmentStatus[] STATUSES = EnrollmentStatus.values();
+
+    /**
+     * An enrollment with its sequence number. Sequence numbers only grow, so
+     * they fix FIFO order independently of where a row sits in a file.
+     * Sequence 0 means unknown (files written before sequences existed);
+     * such rows are numbered in file order on load.
+     */
+    protected static final class Entry {
+        private final Enrollment enrollment;
+        private final long sequence;
+
+        public Entry(Enrollment enrollment, long sequence) {
+            this.enrollment = enrollment;
+            this.sequence = sequence;
+        }
+
+        public Enrollment getEnrollment() {
+            return enrollment;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+    }
+
+    protected final String filePath;
+    protected final Logger logger;
+    private final String journalPath;
+    private final boolean journaled;
+    // (student, course) -> enrollment, in snapshot order
+    private final Map<String, Entry> enrollments;
+    private final Map<String, Map<String, Enrollment>> byCourse;
+    private final Map<String, Map<String, Enrollment>> byStudent;
+    // Course code -> count per EnrollmentStatus ordinal
+    private final Map<String, int[]> statusCounts;
+    // Course code -> waitlisted students in FIFO order (O(1) removal anywhere)
+    private final Map<String, Map<String, Enrollment>> waitlists;
+    private final RosterIndex rosterIndex;
+    private final List<String> pendingJournal;
+    private final DeferredFlusher flusher;
+    private int journalEntries;
+    private long nextSequence = 1;
+
+    protected FileEnrollmentRepository(String filePath, Logger logger, boolean journaled,
+                                       FlushPolicy flushPolicy) {
+        this.filePath = filePath;
+        this.journalPath = filePath + JOURNAL_SUFFIX;
+        this.journaled = journaled;
+        this.enrollments = new LinkedHashMap<>();
+        this.byCourse = new HashMap<>();
+        this.byStudent = new HashMap<>();
+        this.statusCounts = new HashMap<>();
+        this.waitlists = new HashMap<>();
+        this.rosterIndex = new RosterIndex();
+        this.pendingJournal = new ArrayList<>();
+        this.logger = logger;
+        loadFromFile();
+        if (journaled) {
+            replayJournal();
+        }
+        this.flusher = new DeferredFlusher(this, flushPolicy, this::persistPending, logger);
+    }
+
+    /**
+     * Reads every enrollment stored in the snapshot at path, in file order.
+     */
+    protected abstract List<Entry> readSnapshot(String path) throws IOException;
+
+    /**
+     * Replaces the snapshot at path with the given entries, keeping their order and sequences.
+     */
+    protected abstract void writeSnapshot(String path, Collection<Entry> entries) throws IOException;
+
+    @Override
+    public synchronized void save(Enrollment enrollment) {
+        if (store(enrollment)) {
+            flusher.markDirty();
+        }
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Enrollment> batch) {
+        boolean changed = false;
+        for (Enrollment enrollment : batch) {
+            changed |= store(enrollment);
+        }
+        if (changed) {
+            flusher.markDirty();
+        }
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByCourseCode(String courseCode) {
+        return new ArrayList<>(roster(courseCode).values());
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByStudentId(String studentId) {
+        return new ArrayList<>(byStudent.getOrDefault(studentId, Collections.emptyMap()).values());
+    }
+
+    @Override
+    public synchronized List<Enrollment> findByCourseAndStatus(String courseCode, EnrollmentStatus status) {
+        if (status == EnrollmentStatus.WAITLISTED) {
+            return new ArrayList<>(waitlists.getOrDefault(courseCode, Collections.emptyMap()).values());
+        }
+        List<Enrollment> matches = new ArrayList<>();
+        for (Enrollment e : roster(courseCode).values()) {
+            if (e.getStatus() == status) {
+                matches.add(e);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public synchronized boolean exists(String studentId, String courseCode) {
+        return enrollments.containsKey(key(studentId, courseCode));
+    }
+
+    @Override
+    public synchronized boolean delete(String studentId, String courseCode) {
+        boolean removed = remove(studentId, courseCode);
+        if (removed) {
+            journalDelete(studentId, courseCode);
+            flusher.markDirty();
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized Optional<Enrollment> pollWaitlistHead(String courseCode) {
+        Map<String, Enrollment> waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return Optional.empty();
+        }
+        Enrollment head = waitlist.values().iterator().next();
+        remove(head.getStudentId(), courseCode);
+        journalDelete(head.getStudentId(), courseCode);
+        flusher.markDirty();
+        return Optional.of(head);
+    }
+
+    @Override
+    public synchronized OptionalInt waitlistPosition(String studentId, String courseCode) {
+        int position = 1;
+        for (String waiting : waitlists.getOrDefault(courseCode, Collections.emptyMap()).keySet()) {
+            if (waiting.equals(studentId)) {
+                return OptionalInt.of(position);
+            }
+            position++;
+        }
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public Optional<RosterIndex> getRosterIndex() {
+        return Optional.of(rosterIndex);
+    }
+
+    @Override
+    public synchronized int countByCourseAndStatus(String courseCode, EnrollmentStatus status) {
+        int[] counts = statusCounts.get(courseCode);
+        return counts == null ? 0 : counts[status.ordinal()];
+    }
+
+    /**
+     * Durability barrier. In journal mode this appends any buffered records;
+     * use {@link #compact()} to fold the journal into the snapshot.
+     */
+    @Override
+    public void flush() {
+        flusher.flush();
+    }
+
+    /**
+     * Rewrites the full snapshot and truncates the journal.
+     */
+    public synchronized void compact() {
+        pendingJournal.clear();
+        writeToFile();
+        flusher.markClean();
+    }
+
+    /**
+     * Flushes any pending changes and stops background flushing.
+     */
+    public void close() {
+        flusher.close();
+    }
+
+    /**
+     * Number of records currently in the journal (always 0 when journaling is off).
+     */
+    public synchronized int getJournalSize() {
+        return journalEntries;
+    }
+
+    private synchronized void persistPending() {
+        if (!journaled) {
+            writeToFile();
+            return;
+        }
+        appendToJournal(pendingJournal);
+        pendingJournal.clear();
+        // Compact once the journal outgrows the snapshot it sits on
+        if (journalEntries >= Math.max(MIN_COMPACTION_THRESHOLD, enrollments.size())) {
+            logger.debug("Compacting enrollment journal (" + journalEntries + " entries)");
+            writeToFile();
+        }
+    }
+
+    /**
+     * Recounts every course from the enrollments themselves and compares the
+     * result with the maintained counters.
+     * @return one description per mismatch; empty when the counters are consistent
+     */
+    public synchronized List<String> checkConsistency() {
+        Map<String, int[]> recount = new HashMap<>();
+        for (Entry entry : enrollments.values()) {
+            Enrollment e = entry.getEnrollment();
+            recount.computeIfAbsent(e.getCourseCode(), c -> new int[STATUSES.length])[e.getStatus().ordinal()]++;
+        }
+
+        List<String> problems = new ArrayList<>();
+        Set<String> courses = new TreeSet<>(recount.keySet());
+        courses.addAll(statusCounts.keySet());
+        for (String course : courses) {
+            int[] expected = recount.getOrDefault(course, new int[STATUSES.length]);
+            int[] actual = statusCounts.getOrDefault(course, new int[STATUSES.length]);
+            for (EnrollmentStatus status : STATUSES) {
+                int i = status.ordinal();
+                if (expected[i] != actual[i]) {
+                    problems.add(course + " " + status + ": counter=" + actual[i] + " recount=" + expected[i]);
+                }
+            }
+        }
+        for (String problem : problems) {
+            logger.warn("Enrollment counter mismatch: " + problem);
+        }
+        return problems;
+    }
+
+    /**
+     * Copy of every enrollment in snapshot order (used by format conversion).
+     */
+    synchronized List<Entry> snapshot() {
+        return new ArrayList<>(enrollments.values());
+    }
+
+    /**
+     * Replaces the whole content and compacts it to disk immediately.
+     */
+    synchronized void replaceAll(Collection<Entry> replacement) {
+        enrollments.clear();
+        byCourse.clear();
+        byStudent.clear();
+        statusCounts.clear();
+        waitlists.clear();
+        rosterIndex.clear();
+        nextSequence = 1;
+        for (Entry entry : replacement) {
+            add(entry.getEnrollment(), entry.getSequence());
+        }
+        compact();
+    }
+
+    private void writeToFile() {
+        try {
+            writeSnapshot(filePath, enrollments.values());
+            logger.debug("Saved " + enrollments.size() + " enrollments to " + filePath);
+        } catch (IOException ex) {
+            logger.error("Failed to save enrollments: " + ex.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", ex);
+        }
+        if (journaled) {
+            truncateJournal();
+        }
+    }
+
+    // Applies a save; false when the same enrollment is already stored
+    private boolean store(Enrollment enrollment) {
+        Entry existing = enrollments.get(key(enrollment.getStudentId(), enrollment.getCourseCode()));
+        if (existing != null && existing.getEnrollment().getStatus() == enrollment.getStatus()) {
+            return false;
+        }
+        long sequence = add(enrollment, 0);
+        if (journaled) {
+            pendingJournal.add(String.format("%s|%s|%s|%s|%d", OP_SAVE,
+                enrollment.getCourseCode(), enrollment.getStudentId(), enrollment.getStatus(), sequence));
+        }
+        return true;
+    }
+
+    /**
+     * Stores an enrollment, replacing any existing one for the pair.
+     * @param sequence the stored sequence, or 0 to take the next one
+     * @return the sequence used
+     */
+    private long add(Enrollment enrollment, long sequence) {
+        if (sequence <= 0) {
+            sequence = nextSequence++;
+        } else {
+            nextSequence = Math.max(nextSequence, sequence + 1);
+        }
+        String studentId = enrollment.getStudentId();
+        String courseCode = enrollment.getCourseCode();
+        remove(studentId, courseCode);
+        enrollments.put(key(studentId, courseCode), new Entry(enrollment, sequence));
+        byCourse.computeIfAbsent(courseCode, c -> new LinkedHashMap<>()).put(studentId, enrollment);
+        byStudent.computeIfAbsent(studentId, s -> new LinkedHashMap<>()).put(courseCode, enrollment);
+        statusCounts.computeIfAbsent(courseCode, c -> new int[STATUSES.length])[enrollment.getStatus().ordinal()]++;
+        if (enrollment.isWaitlisted()) {
+            waitlists.computeIfAbsent(courseCode, c -> new LinkedHashMap<>()).put(studentId, enrollment);
+        } else {
+            rosterIndex.add(studentId, courseCode);
+        }
+        return sequence;
+    }
+
+    private boolean remove(String studentId, String courseCode) {
+        Entry removed = enrollments.remove(key(studentId, courseCode));
+        if (removed == null) {
+            return false;
+        }
+        unindex(byCourse, courseCode, studentId);
+        unindex(byStudent, studentId, courseCode);
+        if (removed.getEnrollment().isWaitlisted()) {
+            unindex(waitlists, courseCode, studentId);
+        } else {
+            rosterIndex.remove(studentId, courseCode);
+        }
+        if (byCourse.containsKey(courseCode)) {
+            statusCounts.get(courseCode)[removed.getEnrollment().getStatus().ordinal()]--;
+        } else {
+            statusCounts.remove(courseCode);
+        }
+        return true;
+    }
+
+    private void journalDelete(String studentId, String courseCode) {
+        if (journaled) {
+            pendingJournal.add(String.format("%s|%s|%s", OP_DELETE, courseCode, studentId));
+        }
+    }
+
+    private Map<String, Enrollment> roster(String courseCode) {
+        return byCourse.getOrDefault(courseCode, Collections.emptyMap());
+    }
+
+    private static void unindex(Map<String, Map<String, Enrollment>> index, String outer, String inner) {
+        Map<String, Enrollment> entries = index.get(outer);
+        entries.remove(inner);
+        if (entries.isEmpty()) {
+            index.remove(outer);
+        }
+    }
+
+    // '|' separates fields in every enrollment file, so it cannot occur inside an ID
+    private static String key(String studentId, String courseCode) {
+        return studentId + '|' + courseCode;
+    }
+
+    private void appendToJournal(List<String> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder batch = new StringBuilder();
+        for (String record : records) {
+            batch.append(record).append(CHECKSUM_MARKER).append(checksum(record)).append('\n');
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(Path.of(journalPath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            // A save is only durable once its record is on disk, not in the page cache
+            channel.force(false);
+        } catch (IOException ex) {
+            logger.error("Failed to append to enrollment journal: " + ex.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", ex);
+        }
+        journalEntries += records.size();
+    }
+
+    private void truncateJournal() {
+        try (FileChannel channel = FileChannel.open(Path.of(journalPath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.force(false);
+            journalEntries = 0;
+        } catch (IOException ex) {
+            logger.error("Failed to truncate enrollment journal: " + ex.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", ex);
+        }
+    }
+
+    private void replayJournal() {
+        Path path = Path.of(journalPath);
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (IOException e) {
+            logger.error("Failed to replay enrollment journal: " + e.getMessage());
+            return;
+        }
+        int lineStart = 0;
+        int lineNum = 0;
+        while (lineStart < bytes.length) {
+            lineNum++;
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            boolean terminated = lineEnd < bytes.length;
+            boolean last = !terminated || lineEnd + 1 == bytes.length;
+            int textEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            String line = new String(bytes, lineStart, textEnd - lineStart, StandardCharsets.UTF_8);
+            // Every append ends its records with a line break, so only a crash leaves one without
+            boolean applied = terminated && replayRecord(line, lineNum);
+            if (last && !applied) {
+                truncateTornTail(path, lineStart, lineNum);
+                break;
+            }
+            journalEntries++;
+            lineStart = lineEnd + 1;
+        }
+        logger.info("Replayed " + journalEntries + " journal entries from " + journalPath);
+    }
+
+    /**
+     * Applies one journal record. Records written before checksums existed
+     * have none and are applied if they parse.
+     * @return false if the record was malformed or failed its checksum
+     */
+    private boolean replayRecord(String line, int lineNum) {
+        String record = line;
+        int marker = line.lastIndexOf(CHECKSUM_MARKER);
+        if (marker >= 0 && line.length() - marker - CHECKSUM_MARKER.length() == CHECKSUM_DIGITS) {
+            record = line.substring(0, marker);
+            if (!checksum(record).equals(line.substring(marker + CHECKSUM_MARKER.length()))) {
+                logger.warn("Skipping journal entry with a bad checksum at line " + lineNum);
+                return false;
+            }
+        }
+        CsvTokenizer fields = new CsvTokenizer(record, '|');
+        int count = fields.fieldCount();
+        try {
+            String op = fields.next();
+            if (OP_SAVE.equals(op) && count >= 4) {
+                String courseCode = fields.next();
+                String studentId = fields.next();
+                EnrollmentStatus status = fields.nextEnum(STATUSES);
+                long sequence = count >= 5 ? fields.nextLong() : 0;
+                add(new Enrollment(studentId, courseCode, status), sequence);
+                return true;
+            } else if (OP_DELETE.equals(op) && count >= 3) {
+                String courseCode = fields.next().trim();
+                remove(fields.next().trim(), courseCode);
+                return true;
+            }
+            logger.warn("Skipping malformed journal entry at line " + lineNum);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Skipping invalid journal entry at line " + lineNum + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    // Cuts a record torn by a crash, so the next append starts on a clean line
+    private void truncateTornTail(Path path, long offset, int lineNum) {
+        logger.warn("Discarding torn journal record at line " + lineNum);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            channel.force(false);
+        } catch (IOException e) {
+            logger.error("Failed to truncate torn enrollment journal record: " + e.getMessage());
+            throw new RuntimeException("Failed to repair enrollment journal", e);
+        }
+    }
+
+    private static String checksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return String.format("%0" + CHECKSUM_DIGITS + "x", crc.getValue());
+    }
+
+    private void loadFromFile() {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            logger.info("Enrollment file not found, starting with empty repository");
+            return;
+        }
+
+        try {
+            List<Entry> entries = new ArrayList<>(readSnapshot(filePath));
+            // Sequence order is FIFO order, whatever order the rows were written in
+            entries.sort(Comparator.comparingLong(Entry::getSequence));
+            for (Entry entry : entries) {
+                add(entry.getEnrollment(), entry.getSequence());
+            }
+            logger.info("Loaded " + enrollments.size() + " enrollments from " + filePath);
+        } catch (IOException e) {
+            logger.error("Failed to load enrollments: " + e.getMessage());
+        }
+    }
+}
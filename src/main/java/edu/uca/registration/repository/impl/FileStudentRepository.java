@@ -0,0 +1,177 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.CursorPage;
+import edu.uca.registration.repository.PrefixIndex;
+import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Base class for StudentRepository implementations that keep every student in
+ * memory and persist full snapshots to a single file.
+ * Subclasses only decide how a snapshot is encoded on disk.
+ * Names and emails are kept in a {@link PrefixIndex} for searchByPrefix, and
+ * an ID-ordered index serves cursor paging.
+ */
+public abstract class FileStudentRepository implements StudentRepository {
+    protected final String filePath;
+    protected final Logger logger;
+    private final Map<String, Student> students;
+    private final PrefixIndex searchIndex;
+    private final NavigableMap<String, Student> byId;
+    private final DeferredFlusher flusher;
+
+    protected FileStudentRepository(String filePath, Logger logger, FlushPolicy flushPolicy) {
+        this.filePath = filePath;
+        this.students = new LinkedHashMap<>();
+        this.searchIndex = new PrefixIndex();
+        this.byId = new TreeMap<>();
+        this.logger = logger;
+        loadFromFile();
+        this.flusher = new DeferredFlusher(this, flushPolicy, this::writeToFile, logger);
+    }
+
+    /**
+     * Reads every student stored in the snapshot at path, in file order.
+     */
+    protected abstract List<Student> readSnapshot(String path) throws IOException;
+
+    /**
+     * Replaces the snapshot at path with the given students.
+     */
+    protected abstract void writeSnapshot(String path, Collection<Student> students) throws IOException;
+
+    @Override
+    public synchronized void save(Student student) {
+        put(student);
+        flusher.markDirty();
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Student> batch) {
+        for (Student student : batch) {
+            put(student);
+        }
+        flusher.markDirty();
+    }
+
+    @Override
+    public synchronized Optional<Student> findById(String id) {
+        return Optional.ofNullable(students.get(id));
+    }
+
+    @Override
+    public synchronized boolean exists(String id) {
+        return students.containsKey(id);
+    }
+
+    @Override
+    public synchronized Collection<Student> findAll() {
+        return new ArrayList<>(students.values());
+    }
+
+    @Override
+    public synchronized boolean delete(String id) {
+        Student removed = students.remove(id);
+        boolean existed = removed != null;
+        if (existed) {
+            searchIndex.remove(id, removed.getName(), removed.getEmail());
+            byId.remove(id);
+            flusher.markDirty();
+        }
+        return existed;
+    }
+
+    @Override
+    public synchronized CursorPage<Student> findPage(String cursor, int limit) {
+        return CursorPage.from(byId, cursor, limit);
+    }
+
+    @Override
+    public synchronized List<Student> searchByPrefix(String prefix, int limit) {
+        List<Student> matches = new ArrayList<>();
+        for (String id : searchIndex.search(prefix, limit)) {
+            matches.add(students.get(id));
+        }
+        return matches;
+    }
+
+    @Override
+    public synchronized int count() {
+        return students.size();
+    }
+
+    @Override
+    public void flush() {
+        flusher.flush();
+    }
+
+    /**
+     * Flushes any pending changes and stops background flushing.
+     */
+    public void close() {
+        flusher.close();
+    }
+
+    /**
+     * Replaces the whole content and writes it out immediately (used by format conversion).
+     */
+    synchronized void replaceAll(Collection<Student> replacement) {
+        students.clear();
+        searchIndex.clear();
+        byId.clear();
+        for (Student s : replacement) {
+            put(s);
+        }
+        writeToFile();
+        flusher.markClean();
+    }
+
+    private void put(Student student) {
+        Student previous = students.put(student.getId(), student);
+        byId.put(student.getId(), student);
+        if (previous != null) {
+            searchIndex.remove(previous.getId(), previous.getName(), previous.getEmail());
+        }
+        searchIndex.add(student.getId(), student.getName(), student.getEmail());
+    }
+
+    private synchronized void writeToFile() {
+        try {
+            writeSnapshot(filePath, students.values());
+            logger.debug("Saved " + students.size() + " students to " + filePath);
+        } catch (IOException e) {
+            logger.error("Failed to save students: " + e.getMessage());
+            throw new RuntimeException("Failed to persist students", e);
+        }
+    }
+
+    private void loadFromFile() {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            logger.info("Student file not found, starting with empty repository");
+            return;
+        }
+
+        try {
+            for (Student student : readSnapshot(filePath)) {
+                put(student);
+            }
+            logger.info("Loaded " + students.size() + " students from " + filePath);
+        } catch (IOException e) {
+            logger.error("Failed to load students: " + e.getMessage());
+        }
+    }
+}
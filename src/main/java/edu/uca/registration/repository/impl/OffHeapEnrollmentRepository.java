@@ -0,0 +1,39 @@
+package edu.uca.registration.repository.impl;
+
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Compact enrollment store whose records live outside the Java heap.
+ *
+ * Every enrollment is a 48-byte record in direct buffers; the heap only holds
+ * the ID dictionaries and int arrays of record slots (list heads and tails,
+ * the pair index). The old generation therefore stays small however many
+ * enrollments are loaded, and full collections have almost nothing to trace.
+ * FIFO rosters and waitlists behave exactly as in
+ * {@link CompactEnrollmentRepository}, and the snapshot is the same CSV file.
+ */
+public class OffHeapEnrollmentRepository extends CompactEnrollmentRepository {
+    private final EnrollmentSlots records;
+
+    public OffHeapEnrollmentRepository(String filePath, Logger logger) {
+        this(filePath, logger, FlushPolicy.sync());
+    }
+
+    public OffHeapEnrollmentRepository(String filePath, Logger logger, FlushPolicy flushPolicy) {
+        this(filePath, logger, flushPolicy, EnrollmentSlots.offHeap());
+    }
+
+    private OffHeapEnrollmentRepository(String filePath, Logger logger, FlushPolicy flushPolicy,
+                                        EnrollmentSlots records) {
+        super(filePath, logger, flushPolicy, records);
+        this.records = records;
+    }
+
+    /**
+     * Bytes of direct memory reserved for records.
+     */
+    public synchronized long getOffHeapBytes() {
+        return records.offHeapBytes();
+    }
+}
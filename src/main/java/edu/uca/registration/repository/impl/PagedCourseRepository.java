@@ -0,0 +1,124 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.CursorPage;
+import edu.uca.registration.storage.BPlusTree;
+import edu.uca.registration.storage.StorageEngine;
+import edu.uca.registration.util.Logger;
+
+/**
+ * CourseRepository backed by a B+tree in the embedded storage engine.
+ */
+public class PagedCourseRepository implements CourseRepository {
+    private final StorageEngine engine;
+    private final BPlusTree courses;
+    private final Logger logger;
+
+    public PagedCourseRepository(StorageEngine engine, Logger logger) {
+        this.engine = engine;
+        this.courses = engine.tree(PagedLayout.COURSES);
+        this.logger = logger;
+        logger.info("Opened paged course store with " + courses.size() + " courses");
+    }
+
+    @Override
+    public void save(Course course) {
+        byte[] value = PagedLayout.encode(course.getTitle(), Integer.toString(course.getCapacity()));
+        try {
+            engine.write(() -> courses.put(PagedLayout.key(course.getCode()), value));
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to save course " + course.getCode() + ": " + e.getMessage());
+            throw new RuntimeException("Failed to persist courses", e);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Course> batch) {
+        List<Course> pending = new ArrayList<>(batch);
+        try {
+            // Commit in chunks so one huge import does not pin every page it touches
+            for (int start = 0; start < pending.size(); start += PagedLayout.WRITE_CHUNK) {
+                int end = Math.min(pending.size(), start + PagedLayout.WRITE_CHUNK);
+                List<Course> chunk = pending.subList(start, end);
+                engine.write(() -> {
+                    for (Course course : chunk) {
+                        courses.put(PagedLayout.key(course.getCode()),
+                            PagedLayout.encode(course.getTitle(), Integer.toString(course.getCapacity())));
+                    }
+                    return null;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to save courses: " + e.getMessage());
+            throw new RuntimeException("Failed to persist courses", e);
+        }
+    }
+
+    @Override
+    public Optional<Course> findByCode(String code) {
+        byte[] value = courses.get(PagedLayout.key(code));
+        return Optional.ofNullable(value == null ? null : toCourse(code, value));
+    }
+
+    @Override
+    public boolean exists(String code) {
+        return courses.get(PagedLayout.key(code)) != null;
+    }
+
+    @Override
+    public Collection<Course> findAll() {
+        List<Course> all = new ArrayList<>();
+        courses.scan(new byte[0], (key, value) -> all.add(toCourse(PagedLayout.firstPart(key), value)));
+        return all;
+    }
+
+    @Override
+    public List<Course> findByCodePrefix(String prefix) {
+        List<Course> matches = new ArrayList<>();
+        courses.scan(PagedLayout.key(prefix), (key, value) -> matches.add(toCourse(PagedLayout.firstPart(key), value)));
+        return matches;
+    }
+
+    @Override
+    public CursorPage<Course> findPage(String cursor, int limit) {
+        return PagedLayout.page(courses, cursor, limit, PagedCourseRepository::toCourse);
+    }
+
+    @Override
+    public boolean delete(String code) {
+        try {
+            return engine.write(() -> courses.delete(PagedLayout.key(code)));
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to delete course " + code + ": " + e.getMessage());
+            throw new RuntimeException("Failed to persist courses", e);
+        }
+    }
+
+    @Override
+    public int count() {
+        return courses.size();
+    }
+
+    @Override
+    public void flush() {
+        try {
+            engine.checkpoint();
+        } catch (IOException e) {
+            logger.error("Failed to checkpoint courses: " + e.getMessage());
+            throw new RuntimeException("Failed to persist courses", e);
+        }
+    }
+
+    private static Course toCourse(String code, byte[] value) {
+        String[] fields = PagedLayout.decode(value, 2);
+        return new Course(code, fields[0], Integer.parseInt(fields[1]));
+    }
+}
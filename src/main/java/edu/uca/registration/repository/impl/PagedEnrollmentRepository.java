@@ -0,0 +1,252 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.RosterIndex;
+import edu.uca.registration.storage.BPlusTree;
+import edu.uca.registration.storage.StorageEngine;
+import edu.uca.registration.util.Logger;
+
+/**
+ * EnrollmentRepository backed by three B+trees in the embedded storage engine.
+ *
+ * Enrollments are keyed by (course, sequence) so a course's entries come back
+ * in FIFO order; (course, student) and (student, course) indexes map to that
+ * sequence for point lookups and per-student queries. Re-saving an
+ * enrollment with the same status keeps its place; a status change stores
+ * it again at the back, matching the file based repositories.
+ *
+ * The {@link RosterIndex} is rebuilt from the enrollment tree on open and
+ * updated after each committed write, under the engine's lock.
+ */
+public class PagedEnrollmentRepository implements EnrollmentRepository {
+    private final StorageEngine engine;
+    private final BPlusTree enrollments;
+    private final BPlusTree byCourse;
+    private final BPlusTree byStudent;
+    private final Logger logger;
+    private final RosterIndex rosterIndex = new RosterIndex();
+
+    public PagedEnrollmentRepository(StorageEngine engine, Logger logger) {
+        this.engine = engine;
+        this.enrollments = engine.tree(PagedLayout.ENROLLMENTS);
+        this.byCourse = engine.tree(PagedLayout.ENROLLMENT_KEYS);
+        this.byStudent = engine.tree(PagedLayout.STUDENT_ENROLLMENTS);
+        this.logger = logger;
+        enrollments.scan(new byte[0], (key, value) -> {
+            String[] fields = PagedLayout.decode(value, 2);
+            if (EnrollmentStatus.ENROLLED.name().equals(fields[1])) {
+                rosterIndex.add(fields[0], PagedLayout.firstPart(key));
+            }
+            return true;
+        });
+        logger.info("Opened paged enrollment store with " + enrollments.size() + " enrollments");
+    }
+
+    @Override
+    public void save(Enrollment enrollment) {
+        try {
+            synchronized (engine) {
+                engine.write(() -> {
+                    insert(enrollment);
+                    return null;
+                });
+                index(enrollment);
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to save enrollment " + enrollment + ": " + e.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", e);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Enrollment> batch) {
+        List<Enrollment> pending = new ArrayList<>(batch);
+        try {
+            // Commit in chunks so one huge import does not pin every page it touches
+            for (int start = 0; start < pending.size(); start += PagedLayout.WRITE_CHUNK) {
+                int end = Math.min(pending.size(), start + PagedLayout.WRITE_CHUNK);
+                List<Enrollment> chunk = pending.subList(start, end);
+                synchronized (engine) {
+                    engine.write(() -> {
+                        chunk.forEach(this::insert);
+                        return null;
+                    });
+                    chunk.forEach(this::index);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to save enrollments: " + e.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", e);
+        }
+    }
+
+    @Override
+    public List<Enrollment> findByCourseCode(String courseCode) {
+        return findByCourse(courseCode, null);
+    }
+
+    @Override
+    public List<Enrollment> findByStudentId(String studentId) {
+        List<Enrollment> result = new ArrayList<>();
+        synchronized (engine) {
+            byStudent.scan(PagedLayout.prefix(studentId), (key, sequence) -> {
+                String courseCode = PagedLayout.secondPart(key);
+                byte[] value = enrollments.get(PagedLayout.key(courseCode, PagedLayout.decodeLong(sequence)));
+                if (value != null) {
+                    String[] fields = PagedLayout.decode(value, 2);
+                    result.add(new Enrollment(studentId, courseCode, EnrollmentStatus.valueOf(fields[1])));
+                }
+                return true;
+            });
+        }
+        return result;
+    }
+
+    @Override
+    public List<Enrollment> findByCourseAndStatus(String courseCode, EnrollmentStatus status) {
+        return findByCourse(courseCode, status);
+    }
+
+    @Override
+    public boolean exists(String studentId, String courseCode) {
+        return byCourse.get(PagedLayout.key(courseCode, studentId)) != null;
+    }
+
+    @Override
+    public boolean delete(String studentId, String courseCode) {
+        try {
+            synchronized (engine) {
+                boolean removed = engine.write(() -> remove(studentId, courseCode));
+                if (removed) {
+                    rosterIndex.remove(studentId, courseCode);
+                }
+                return removed;
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to delete enrollment " + studentId + " -> " + courseCode + ": " + e.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", e);
+        }
+    }
+
+    @Override
+    public Optional<Enrollment> pollWaitlistHead(String courseCode) {
+        try {
+            return engine.write(() -> {
+                Optional<Enrollment> head = findByCourse(courseCode, EnrollmentStatus.WAITLISTED, 1).stream().findFirst();
+                head.ifPresent(e -> remove(e.getStudentId(), courseCode));
+                return head;
+            });
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to update waitlist for " + courseCode + ": " + e.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", e);
+        }
+    }
+
+    @Override
+    public OptionalInt waitlistPosition(String studentId, String courseCode) {
+        int[] position = new int[1];
+        boolean[] found = new boolean[1];
+        enrollments.scan(PagedLayout.prefix(courseCode), (key, value) -> {
+            String[] fields = PagedLayout.decode(value, 2);
+            if (EnrollmentStatus.WAITLISTED.name().equals(fields[1])) {
+                position[0]++;
+                found[0] = fields[0].equals(studentId);
+            }
+            return !found[0];
+        });
+        return found[0] ? OptionalInt.of(position[0]) : OptionalInt.empty();
+    }
+
+    @Override
+    public int countByCourseAndStatus(String courseCode, EnrollmentStatus status) {
+        int[] count = new int[1];
+        String statusName = status.name();
+        enrollments.scan(PagedLayout.prefix(courseCode), (key, value) -> {
+            if (statusName.equals(PagedLayout.decode(value, 2)[1])) {
+                count[0]++;
+            }
+            return true;
+        });
+        return count[0];
+    }
+
+    @Override
+    public Optional<RosterIndex> getRosterIndex() {
+        return Optional.of(rosterIndex);
+    }
+
+    @Override
+    public void flush() {
+        try {
+            engine.checkpoint();
+        } catch (IOException e) {
+            logger.error("Failed to checkpoint enrollments: " + e.getMessage());
+            throw new RuntimeException("Failed to persist enrollments", e);
+        }
+    }
+
+    private void index(Enrollment enrollment) {
+        rosterIndex.update(enrollment.getStudentId(), enrollment.getCourseCode(), enrollment.isEnrolled());
+    }
+
+    // Appends at the back of the course's FIFO order, replacing any earlier entry
+    private void insert(Enrollment enrollment) {
+        String courseCode = enrollment.getCourseCode();
+        String studentId = enrollment.getStudentId();
+        byte[] courseKey = PagedLayout.key(courseCode, studentId);
+        byte[] previous = byCourse.get(courseKey);
+        if (previous != null) {
+            byte[] previousKey = PagedLayout.key(courseCode, PagedLayout.decodeLong(previous));
+            String[] fields = PagedLayout.decode(enrollments.get(previousKey), 2);
+            if (enrollment.getStatus().name().equals(fields[1])) {
+                return;
+            }
+            enrollments.delete(previousKey);
+        }
+        long sequence = engine.nextSequence();
+        enrollments.put(PagedLayout.key(courseCode, sequence),
+            PagedLayout.encode(studentId, enrollment.getStatus().name()));
+        byCourse.put(courseKey, PagedLayout.encodeLong(sequence));
+        byStudent.put(PagedLayout.key(studentId, courseCode), PagedLayout.encodeLong(sequence));
+    }
+
+    private boolean remove(String studentId, String courseCode) {
+        byte[] courseKey = PagedLayout.key(courseCode, studentId);
+        byte[] sequence = byCourse.get(courseKey);
+        if (sequence == null) {
+            return false;
+        }
+        enrollments.delete(PagedLayout.key(courseCode, PagedLayout.decodeLong(sequence)));
+        byCourse.delete(courseKey);
+        byStudent.delete(PagedLayout.key(studentId, courseCode));
+        return true;
+    }
+
+    private List<Enrollment> findByCourse(String courseCode, EnrollmentStatus status) {
+        return findByCourse(courseCode, status, Integer.MAX_VALUE);
+    }
+
+    // Entries of one course in FIFO order, optionally filtered by status
+    private List<Enrollment> findByCourse(String courseCode, EnrollmentStatus status, int limit) {
+        List<Enrollment> result = new ArrayList<>();
+        enrollments.scan(PagedLayout.prefix(courseCode), (key, value) -> {
+            String[] fields = PagedLayout.decode(value, 2);
+            EnrollmentStatus entryStatus = EnrollmentStatus.valueOf(fields[1]);
+            if (status == null || entryStatus == status) {
+                result.add(new Enrollment(fields[0], courseCode, entryStatus));
+            }
+            return result.size() < limit;
+        });
+        return result;
+    }
+}
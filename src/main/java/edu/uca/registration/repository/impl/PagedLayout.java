@@ -0,0 +1,145 @@
+package edu.uca.registration.repository.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import edu.uca.registration.repository.CursorPage;
+import edu.uca.registration.storage.BPlusTree;
+
+/**
+ * Tree slots and key/value encodings shared by the paged repositories.
+ *
+ * Composite keys join their parts with a 0x00 byte, so every entry for one
+ * course (or student) is a contiguous key range that a prefix scan can walk.
+ */
+final class PagedLayout {
+    // Student ID -> name, email
+    static final int STUDENTS = 0;
+    // Course code -> title, capacity
+    static final int COURSES = 1;
+    // (course, sequence) -> student, status; FIFO order within a course
+    static final int ENROLLMENTS = 2;
+    // (course, student) -> sequence
+    static final int ENROLLMENT_KEYS = 3;
+    // (student, course) -> sequence
+    static final int STUDENT_ENROLLMENTS = 4;
+
+    // Entries per transaction for bulk saves
+    static final int WRITE_CHUNK = 1000;
+
+    private static final byte SEPARATOR = 0;
+
+    private PagedLayout() {
+    }
+
+    static byte[] key(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] key(String first, String second) {
+        return key(first, key(second));
+    }
+
+    static byte[] key(String first, long sequence) {
+        return key(first, ByteBuffer.allocate(8).putLong(sequence).array());
+    }
+
+    /**
+     * Prefix that matches every composite key starting with first.
+     */
+    static byte[] prefix(String first) {
+        return key(first, new byte[0]);
+    }
+
+    static String firstPart(byte[] key) {
+        int end = 0;
+        while (end < key.length && key[end] != SEPARATOR) {
+            end++;
+        }
+        return new String(key, 0, end, StandardCharsets.UTF_8);
+    }
+
+    static String secondPart(byte[] key) {
+        int start = firstPart(key).getBytes(StandardCharsets.UTF_8).length + 1;
+        return new String(key, start, key.length - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads one cursor page of a tree keyed by a single string, starting
+     * after the cursor key. Only limit + 1 entries are visited.
+     */
+    static <T> CursorPage<T> page(BPlusTree tree, String cursor, int limit, BiFunction<String, byte[], T> decoder) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        byte[] from = cursor == null ? new byte[0] : key(cursor);
+        List<T> items = new ArrayList<>();
+        String[] last = new String[1];
+        boolean[] more = new boolean[1];
+        tree.scanFrom(from, (key, value) -> {
+            String id = firstPart(key);
+            if (id.equals(cursor)) {
+                return true;
+            }
+            if (items.size() == limit) {
+                more[0] = true;
+                return false;
+            }
+            items.add(decoder.apply(id, value));
+            last[0] = id;
+            return true;
+        });
+        return new CursorPage<>(items, more[0] ? last[0] : null);
+    }
+
+    static byte[] encodeLong(long value) {
+        return ByteBuffer.allocate(8).putLong(value).array();
+    }
+
+    static long decodeLong(byte[] value) {
+        return ByteBuffer.wrap(value).getLong();
+    }
+
+    /**
+     * Packs fields as (unsigned short length, UTF-8 bytes) pairs.
+     */
+    static byte[] encode(String... fields) {
+        byte[][] encoded = new byte[fields.length][];
+        int size = 0;
+        for (int i = 0; i < fields.length; i++) {
+            encoded[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+            if (encoded[i].length > 0xFFFF) {
+                throw new IllegalArgumentException("Field is too long to store");
+            }
+            size += 2 + encoded[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] field : encoded) {
+            buffer.putShort((short) field.length).put(field);
+        }
+        return buffer.array();
+    }
+
+    static String[] decode(byte[] value, int count) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        String[] fields = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getShort() & 0xFFFF;
+            fields[i] = new String(value, buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+        return fields;
+    }
+
+    private static byte[] key(String first, byte[] second) {
+        byte[] head = key(first);
+        byte[] key = new byte[head.length + 1 + second.length];
+        System.arraycopy(head, 0, key, 0, head.length);
+        key[head.length] = SEPARATOR;
+        System.arraycopy(second, 0, key, head.length + 1, second.length);
+        return key;
+    }
+}
@@ -0,0 +1,162 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.CursorPage;
+import edu.uca.registration.repository.PrefixIndex;
+import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.storage.BPlusTree;
+import edu.uca.registration.storage.StorageEngine;
+import edu.uca.registration.util.Logger;
+
+/**
+ * StudentRepository backed by a B+tree in the embedded storage engine.
+ * Lookups and updates touch only the pages on one root-to-leaf path.
+ */
+public class PagedStudentRepository implements StudentRepository {
+    private final StorageEngine engine;
+    private final BPlusTree students;
+    private final Logger logger;
+    // Rebuilt on open, updated after each committed write under the engine lock
+    private final PrefixIndex searchIndex = new PrefixIndex();
+
+    public PagedStudentRepository(StorageEngine engine, Logger logger) {
+        this.engine = engine;
+        this.students = engine.tree(PagedLayout.STUDENTS);
+        this.logger = logger;
+        students.scan(new byte[0], (key, value) -> {
+            String[] fields = PagedLayout.decode(value, 2);
+            searchIndex.add(PagedLayout.firstPart(key), fields[0], fields[1]);
+            return true;
+        });
+        logger.info("Opened paged student store with " + students.size() + " students");
+    }
+
+    @Override
+    public void save(Student student) {
+        byte[] value = PagedLayout.encode(student.getName(), student.getEmail());
+        try {
+            synchronized (engine) {
+                Optional<Student> previous = findById(student.getId());
+                engine.write(() -> students.put(PagedLayout.key(student.getId()), value));
+                reindex(previous, student);
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to save student " + student.getId() + ": " + e.getMessage());
+            throw new RuntimeException("Failed to persist students", e);
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Student> batch) {
+        List<Student> pending = new ArrayList<>(batch);
+        try {
+            // Commit in chunks so one huge import does not pin every page it touches
+            for (int start = 0; start < pending.size(); start += PagedLayout.WRITE_CHUNK) {
+                int end = Math.min(pending.size(), start + PagedLayout.WRITE_CHUNK);
+                List<Student> chunk = pending.subList(start, end);
+                synchronized (engine) {
+                    List<Optional<Student>> previous = new ArrayList<>();
+                    for (Student student : chunk) {
+                        previous.add(findById(student.getId()));
+                    }
+                    engine.write(() -> {
+                        for (Student student : chunk) {
+                            students.put(PagedLayout.key(student.getId()),
+                                PagedLayout.encode(student.getName(), student.getEmail()));
+                        }
+                        return null;
+                    });
+                    for (int i = 0; i < chunk.size(); i++) {
+                        reindex(previous.get(i), chunk.get(i));
+                    }
+                }
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to save students: " + e.getMessage());
+            throw new RuntimeException("Failed to persist students", e);
+        }
+    }
+
+    @Override
+    public Optional<Student> findById(String id) {
+        byte[] value = students.get(PagedLayout.key(id));
+        return Optional.ofNullable(value == null ? null : toStudent(id, value));
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return students.get(PagedLayout.key(id)) != null;
+    }
+
+    @Override
+    public Collection<Student> findAll() {
+        List<Student> all = new ArrayList<>();
+        students.scan(new byte[0], (key, value) -> all.add(toStudent(PagedLayout.firstPart(key), value)));
+        return all;
+    }
+
+    @Override
+    public boolean delete(String id) {
+        try {
+            synchronized (engine) {
+                Optional<Student> previous = findById(id);
+                boolean removed = engine.write(() -> students.delete(PagedLayout.key(id)));
+                reindex(previous, null);
+                return removed;
+            }
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to delete student " + id + ": " + e.getMessage());
+            throw new RuntimeException("Failed to persist students", e);
+        }
+    }
+
+    @Override
+    public CursorPage<Student> findPage(String cursor, int limit) {
+        return PagedLayout.page(students, cursor, limit, PagedStudentRepository::toStudent);
+    }
+
+    @Override
+    public List<Student> searchByPrefix(String prefix, int limit) {
+        List<Student> matches = new ArrayList<>();
+        synchronized (engine) {
+            for (String id : searchIndex.search(prefix, limit)) {
+                findById(id).ifPresent(matches::add);
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public int count() {
+        return students.size();
+    }
+
+    @Override
+    public void flush() {
+        try {
+            engine.checkpoint();
+        } catch (IOException e) {
+            logger.error("Failed to checkpoint students: " + e.getMessage());
+            throw new RuntimeException("Failed to persist students", e);
+        }
+    }
+
+    private void reindex(Optional<Student> previous, Student current) {
+        previous.ifPresent(p -> searchIndex.remove(p.getId(), p.getName(), p.getEmail()));
+        if (current != null) {
+            searchIndex.add(current.getId(), current.getName(), current.getEmail());
+        }
+    }
+
+    private static Student toStudent(String id, byte[] value) {
+        String[] fields = PagedLayout.decode(value, 2);
+        return new Student(id, fields[0], fields[1]);
+    }
+}
@@ -0,0 +1,226 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Loads line oriented repository files by memory-mapping them, splitting the
+ * mapping into newline aligned chunks and parsing the chunks in parallel on
+ * the common fork-join pool.
+ *
+ * Results are merged in chunk order, so rows come back exactly in file order
+ * (the enrollment repository relies on this for FIFO waitlists).
+ */
+final class ParallelCsvLoader {
+    // Below this size splitting costs more than it saves
+    private static final long PARALLEL_THRESHOLD = 256 * 1024;
+    private static final long MIN_CHUNK_SIZE = 64 * 1024;
+    // Keeps every mapped region well below the 2 GB MappedByteBuffer limit
+    private static final long MAX_CHUNK_SIZE = 256L * 1024 * 1024;
+    private static final int SCAN_WINDOW = 8 * 1024;
+
+    private ParallelCsvLoader() {
+    }
+
+    /**
+     * Parses one line into a row.
+     * Return null to skip the line silently; throw IllegalArgumentException to
+     * report it as invalid.
+     */
+    interface LineParser<T> {
+        T parse(String line);
+    }
+
+    static final class Rejection {
+        private final long lineNumber;
+        private final String reason;
+
+        Rejection(long lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        long getLineNumber() {
+            return lineNumber;
+        }
+
+        String getReason() {
+            return reason;
+        }
+    }
+
+    static final class Result<T> {
+        private final List<T> rows;
+        private final List<Rejection> rejections;
+
+        private Result(List<T> rows, List<Rejection> rejections) {
+            this.rows = rows;
+            this.rejections = rejections;
+        }
+
+        List<T> getRows() {
+            return rows;
+        }
+
+        List<Rejection> getRejections() {
+            return rejections;
+        }
+    }
+
+    static <T> Result<T> load(String filePath, LineParser<T> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<ChunkTask<T>> tasks = new ArrayList<>();
+            for (long[] range : split(channel, size)) {
+                tasks.add(new ChunkTask<>(channel, range[0], range[1], parser));
+            }
+
+            try {
+                if (tasks.size() == 1) {
+                    tasks.get(0).invoke();
+                } else {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            List<T> rows = new ArrayList<>();
+            List<Rejection> rejections = new ArrayList<>();
+            long linesBefore = 0;
+            for (ChunkTask<T> task : tasks) {
+                ChunkResult<T> chunk = task.join();
+                rows.addAll(chunk.rows);
+                for (Rejection r : chunk.rejections) {
+                    rejections.add(new Rejection(linesBefore + r.getLineNumber(), r.getReason()));
+                }
+                linesBefore += chunk.lineCount;
+            }
+            return new Result<>(rows, rejections);
+        }
+    }
+
+    /**
+     * Splits [0, size) into ranges that each end just after a newline.
+     */
+    private static List<long[]> split(FileChannel channel, long size) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        if (size == 0) {
+            return ranges;
+        }
+        if (size <= PARALLEL_THRESHOLD) {
+            ranges.add(new long[] {0, size});
+            return ranges;
+        }
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long target = Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4L));
+        target = Math.min(target, MAX_CHUNK_SIZE);
+
+        long start = 0;
+        while (start < size) {
+            long end = start + target >= size ? size : nextLineStart(channel, start + target, size);
+            ranges.add(new long[] {start, end});
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(SCAN_WINDOW);
+        long pos = from;
+        while (pos < size) {
+            window.clear();
+            int read = channel.read(window, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private static final class ChunkResult<T> {
+        private final List<T> rows = new ArrayList<>();
+        private final List<Rejection> rejections = new ArrayList<>();
+        private long lineCount;
+    }
+
+    private static final class ChunkTask<T> extends RecursiveTask<ChunkResult<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final LineParser<T> parser;
+
+        ChunkTask(FileChannel channel, long start, long end, LineParser<T> parser) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.parser = parser;
+        }
+
+        @Override
+        protected ChunkResult<T> compute() {
+            ChunkResult<T> result = new ChunkResult<>();
+            MappedByteBuffer mapped;
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            int limit = mapped.limit();
+            byte[] line = new byte[256];
+            int lineStart = 0;
+            for (int i = 0; i <= limit; i++) {
+                if (i < limit && mapped.get(i) != '\n') {
+                    continue;
+                }
+                // A final line without a trailing newline still counts
+                if (i == limit && lineStart == limit) {
+                    break;
+                }
+                int length = i - lineStart;
+                if (length > 0 && mapped.get(lineStart + length - 1) == '\r') {
+                    length--;
+                }
+                if (length > line.length) {
+                    line = new byte[Math.max(length, line.length * 2)];
+                }
+                mapped.get(lineStart, line, 0, length);
+                result.lineCount++;
+                parseLine(new String(line, 0, length, StandardCharsets.UTF_8), result);
+                lineStart = i + 1;
+            }
+            return result;
+        }
+
+        private void parseLine(String text, ChunkResult<T> result) {
+            try {
+                T row = parser.parse(text);
+                if (row != null) {
+                    result.rows.add(row);
+                }
+            } catch (IllegalArgumentException e) {
+                result.rejections.add(new Rejection(result.lineCount, e.getMessage()));
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package edu.uca.registration.repository.impl;
+
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+import edu.uca.registration.util.StorageFormat;
+
+/**
+ * Converts student and enrollment snapshots between the CSV and binary formats.
+ * Enrollment order, and with it waitlist FIFO order, is preserved.
+ */
+public final class SnapshotConverter {
+
+    private SnapshotConverter() {
+    }
+
+    /**
+     * @return number of students written to the target
+     */
+    public static int convertStudents(String sourcePath, StorageFormat sourceFormat,
+                                      String targetPath, StorageFormat targetFormat, Logger logger) {
+        FileStudentRepository source = openStudents(sourcePath, sourceFormat, logger);
+        FileStudentRepository target = openStudents(targetPath, targetFormat, logger);
+        target.replaceAll(source.findAll());
+        logger.info("Converted " + target.count() + " students from " + sourcePath + " to " + targetPath);
+        return target.count();
+    }
+
+    /**
+     * @return number of enrollments written to the target
+     */
+    public static int convertEnrollments(String sourcePath, StorageFormat sourceFormat,
+                                         String targetPath, StorageFormat targetFormat, Logger logger) {
+        FileEnrollmentRepository source = openEnrollments(sourcePath, sourceFormat, logger);
+        FileEnrollmentRepository target = openEnrollments(targetPath, targetFormat, logger);
+        target.replaceAll(source.snapshot());
+        int count = target.snapshot().size();
+        logger.info("Converted " + count + " enrollments from " + sourcePath + " to " + targetPath);
+        return count;
+    }
+
+    private static FileStudentRepository openStudents(String path, StorageFormat format, Logger logger) {
+        return format == StorageFormat.BINARY
+            ? new BinaryStudentRepository(path, logger)
+            : new CsvStudentRepository(path, logger);
+    }
+
+    private static FileEnrollmentRepository openEnrollments(String path, StorageFormat format, Logger logger) {
+        // Journals are replayed by the source so the converted snapshot is complete
+        return format == StorageFormat.BINARY
+            ? new BinaryEnrollmentRepository(path, logger, true, FlushPolicy.sync())
+            : new CsvEnrollmentRepository(path, logger, true, FlushPolicy.sync());
+    }
+}
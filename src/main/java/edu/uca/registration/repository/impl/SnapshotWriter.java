@@ -0,0 +1,247 @@
+package edu.uca.registration.repository.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe writer for full repository snapshots.
+ *
+ * Output goes to a temporary file next to the target through one large
+ * direct buffer, borrowed from a small shared pool for the life of the
+ * writer. {@link #commit()} forces the data to disk and atomically
+ * renames the temporary file over the target, so readers only ever see the
+ * old snapshot or the complete new one. Closing without committing discards
+ * the temporary file.
+ *
+ * Text formats use the append methods; binary formats use the put methods
+ * and can seal the file with {@link #checksum()}.
+ */
+final class SnapshotWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Direct buffers are expensive to allocate and free, so reuse a few; each
+    // repository serializes its own writes, so this covers the usual concurrency
+    private static final int POOLED_BUFFERS = 4;
+    private static final BlockingQueue<ByteBuffer> BUFFERS = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CRC32 crc;
+    private boolean committed;
+    private boolean released;
+
+    private SnapshotWriter(Path target, Path temp, FileChannel channel) {
+        this.target = target;
+        this.temp = temp;
+        this.channel = channel;
+        ByteBuffer pooled = BUFFERS.poll();
+        this.buffer = pooled != null ? pooled : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.clear();
+        this.crc = new CRC32();
+    }
+
+    static SnapshotWriter open(String filePath) throws IOException {
+        Path target = Path.of(filePath).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        FileChannel channel = FileChannel.open(temp,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new SnapshotWriter(target, temp, channel);
+    }
+
+    /**
+     * Appends a string as UTF-8 without allocating an intermediate byte array.
+     */
+    SnapshotWriter append(String s) throws IOException {
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                ensureCapacity(1);
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                ensureCapacity(4);
+                buffer.put((byte) (0xF0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Lone surrogates are written as '?' like String.getBytes would
+                ensureCapacity(1);
+                buffer.put((byte) '?');
+            } else {
+                ensureCapacity(3);
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return this;
+    }
+
+    SnapshotWriter append(char c) throws IOException {
+        if (c < 0x80) {
+            ensureCapacity(1);
+            buffer.put((byte) c);
+            return this;
+        }
+        return append(String.valueOf(c));
+    }
+
+    SnapshotWriter append(int value) throws IOException {
+        if (value < 0) {
+            if (value == Integer.MIN_VALUE) {
+                return append(Integer.toString(value));
+            }
+            append('-');
+            value = -value;
+        }
+        ensureCapacity(10);
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' + value % 10));
+            value /= 10;
+        } while (value > 0);
+        // Digits were written least significant first
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte tmp = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, tmp);
+        }
+        return this;
+    }
+
+    SnapshotWriter newLine() throws IOException {
+        return append('\n');
+    }
+
+    SnapshotWriter putByte(int value) throws IOException {
+        ensureCapacity(1);
+        buffer.put((byte) value);
+        return this;
+    }
+
+    SnapshotWriter putInt(int value) throws IOException {
+        ensureCapacity(4);
+        buffer.putInt(value);
+        return this;
+    }
+
+    SnapshotWriter putLong(long value) throws IOException {
+        ensureCapacity(8);
+        buffer.putLong(value);
+        return this;
+    }
+
+    /**
+     * Writes a string as its UTF-8 byte length followed by the bytes.
+     */
+    SnapshotWriter putString(String s) throws IOException {
+        putInt(utf8Length(s));
+        return append(s);
+    }
+
+    /**
+     * CRC32 of every byte written so far.
+     */
+    int checksum() throws IOException {
+        drain();
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Forces the snapshot to disk and atomically replaces the target file.
+     */
+    void commit() throws IOException {
+        drain();
+        channel.force(true);
+        channel.close();
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+        syncDirectory();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        } finally {
+            if (!released) {
+                released = true;
+                // A full pool drops the buffer for the GC to free
+                BUFFERS.offer(buffer);
+            }
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Must agree byte for byte with append(String)
+    private static int utf8Length(String s) {
+        int length = s.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes += 1;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private void syncDirectory() {
+        // Persist the rename itself; not every platform allows opening a directory
+        try (FileChannel dir = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Best effort only
+        }
+    }
+}
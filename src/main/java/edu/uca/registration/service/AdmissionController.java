@@ -0,0 +1,268 @@
+package edu.uca.registration.service;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.uca.registration.service.RegistrationService.EnrollmentResult;
+import edu.uca.registration.util.Config;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Admission control for enrollment bursts, in front of a {@link RegistrationService}.
+ *
+ * Each course has a gate that lets a fixed number of enrolls run at once
+ * and queues the rest in arrival order. A caller that finds the queue full,
+ * or waits longer than the configured limit, is turned away at once with a
+ * rejected {@link AdmissionResult} instead of piling onto the course lock,
+ * so the requests that are admitted finish in bounded time however large
+ * the burst. Waiting callers can be told their place with
+ * {@link #getQueuePosition}.
+ *
+ * Every result reports its latency from arrival, queue wait included.
+ * Measured that way the gate does not shorten the end-to-end tail: the
+ * course lock already serializes enrolls, and a shed caller that retries
+ * pays its backoff on top. It is therefore off by default (nothing in the
+ * CLI wraps the service in one) and is for deployments that would rather
+ * turn callers away than let them wait. Size the queue to hold the
+ * expected burst (the Config default is 256), so shedding starts only
+ * under real overload.
+ */
+public class AdmissionController {
+    private final RegistrationService service;
+    private final int concurrency;
+    private final int maxQueueDepth;
+    private final long maxWaitNanos;
+    private final Logger logger;
+    private final Map<String, Gate> gates = new ConcurrentHashMap<>();
+
+    public AdmissionController(RegistrationService service, Config config, Logger logger) {
+        this(service, config.getAdmissionConcurrency(), config.getAdmissionQueueDepth(),
+            config.getAdmissionWaitMillis(), logger);
+    }
+
+    /**
+     * @param concurrency enrolls allowed to run at once per course
+     * @param maxQueueDepth callers allowed to wait per course; later arrivals are shed
+     * @param maxWaitMillis how long a caller may wait before it is shed
+     */
+    public AdmissionController(RegistrationService service, int concurrency, int maxQueueDepth,
+                               long maxWaitMillis, Logger logger) {
+        if (concurrency < 1 || maxQueueDepth < 0 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Invalid admission limits");
+        }
+        this.service = service;
+        this.concurrency = concurrency;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.logger = logger;
+    }
+
+    /**
+     * Waits for a turn at the course's gate and enrolls, or returns a
+     * rejected result without touching the service if the course is too busy.
+     */
+    public AdmissionResult enrollStudent(String studentId, String courseCode) throws EnrollmentException {
+        if (service.findCourse(courseCode).isEmpty()) {
+            throw new EnrollmentException("Course " + courseCode + " not found");
+        }
+        Gate gate = gates.computeIfAbsent(courseCode, code -> new Gate());
+        long arrived = System.nanoTime();
+        AdmissionResult rejected = gate.enter(studentId, courseCode, arrived);
+        if (rejected != null) {
+            return rejected;
+        }
+        try {
+            return AdmissionResult.admitted(service.enrollStudent(studentId, courseCode), System.nanoTime() - arrived);
+        } finally {
+            gate.leave();
+        }
+    }
+
+    /**
+     * A waiting student's 1-based place in the course's queue, empty if not waiting.
+     */
+    public OptionalInt getQueuePosition(String studentId, String courseCode) {
+        Gate gate = gates.get(courseCode);
+        return gate == null ? OptionalInt.empty() : gate.position(studentId);
+    }
+
+    /**
+     * Callers currently waiting for the course.
+     */
+    public int getQueueDepth(String courseCode) {
+        Gate gate = gates.get(courseCode);
+        return gate == null ? 0 : gate.depth();
+    }
+
+    /**
+     * One course's slots and FIFO queue. Leaving hands the slot straight to
+     * the queue head, so a newcomer can never overtake someone waiting.
+     */
+    private final class Gate {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private int active;
+
+        // Returns null once admitted, or the rejection
+        AdmissionResult enter(String studentId, String courseCode, long arrived) throws EnrollmentException {
+            lock.lock();
+            try {
+                if (queue.isEmpty() && active < concurrency) {
+                    active++;
+                    return null;
+                }
+                if (queue.size() >= maxQueueDepth) {
+                    logger.debug("SHED " + studentId + " -> " + courseCode + " (queue full)");
+                    return AdmissionResult.queueFull(queue.size(), System.nanoTime() - arrived);
+                }
+                Waiter waiter = new Waiter(studentId, lock.newCondition());
+                queue.addLast(waiter);
+                long remaining = maxWaitNanos;
+                try {
+                    while (!waiter.admitted) {
+                        if (remaining <= 0) {
+                            queue.remove(waiter);
+                            logger.debug("SHED " + studentId + " -> " + courseCode + " (waited too long)");
+                            return AdmissionResult.timedOut(System.nanoTime() - arrived);
+                        }
+                        remaining = waiter.turn.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    if (waiter.admitted) {
+                        // The slot was already ours; pass it on
+                        active--;
+                        admitNext();
+                    } else {
+                        queue.remove(waiter);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new EnrollmentException("Interrupted while waiting to enroll in " + courseCode, e);
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void leave() {
+            lock.lock();
+            try {
+                active--;
+                admitNext();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Caller holds the lock
+        private void admitNext() {
+            while (active < concurrency && !queue.isEmpty()) {
+                Waiter next = queue.pollFirst();
+                next.admitted = true;
+                next.turn.signal();
+                active++;
+            }
+        }
+
+        OptionalInt position(String studentId) {
+            lock.lock();
+            try {
+                int position = 1;
+                for (Waiter waiter : queue) {
+                    if (waiter.studentId.equals(studentId)) {
+                        return OptionalInt.of(position);
+                    }
+                    position++;
+                }
+                return OptionalInt.empty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int depth() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Waiter {
+        final String studentId;
+        final Condition turn;
+        boolean admitted;
+
+        Waiter(String studentId, Condition turn) {
+            this.studentId = studentId;
+            this.turn = turn;
+        }
+    }
+
+    public static class AdmissionResult {
+        public enum Outcome { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+        private final Outcome outcome;
+        private final EnrollmentResult enrollment;
+        private final String message;
+        private final long latencyNanos;
+
+        private AdmissionResult(Outcome outcome, EnrollmentResult enrollment, String message, long latencyNanos) {
+            this.outcome = outcome;
+            this.enrollment = enrollment;
+            this.message = message;
+            this.latencyNanos = latencyNanos;
+        }
+
+        static AdmissionResult admitted(EnrollmentResult enrollment, long latencyNanos) {
+            return new AdmissionResult(Outcome.ADMITTED, enrollment, enrollment.getMessage(), latencyNanos);
+        }
+
+        static AdmissionResult queueFull(int depth, long latencyNanos) {
+            return new AdmissionResult(Outcome.QUEUE_FULL, null,
+                "Registration is busy (" + depth + " waiting). Please try again shortly.", latencyNanos);
+        }
+
+        static AdmissionResult timedOut(long latencyNanos) {
+            return new AdmissionResult(Outcome.TIMED_OUT, null,
+                "Registration is busy. Please try again shortly.", latencyNanos);
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public boolean isAdmitted() {
+            return outcome == Outcome.ADMITTED;
+        }
+
+        /**
+         * The service's answer when admitted.
+         */
+        public EnrollmentResult getEnrollment() {
+            if (enrollment == null) {
+                throw new IllegalStateException("Request was rejected: " + outcome);
+            }
+            return enrollment;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Time from arrival to the answer, including any wait in the queue,
+         * for admitted and rejected calls alike.
+         */
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+    }
+}
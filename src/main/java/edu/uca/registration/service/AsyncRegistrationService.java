@@ -0,0 +1,132 @@
+package edu.uca.registration.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.uca.registration.service.RegistrationService.CourseEnrollmentInfo;
+import edu.uca.registration.service.RegistrationService.DropResult;
+import edu.uca.registration.service.RegistrationService.EnrollmentResult;
+
+/**
+ * Non-blocking facade over {@link RegistrationService} for callers that
+ * issue many concurrent requests.
+ *
+ * Each call runs as its own task and returns a CompletableFuture that
+ * completes with the result, or exceptionally with the EnrollmentException
+ * the blocking method would have thrown. On a Java 21+ runtime tasks run
+ * on virtual threads; on older runtimes they fall back to a platform pool
+ * sized to the concurrency limit.
+ *
+ * At most maxConcurrent calls run against the service at once; the rest
+ * wait their turn without holding a platform thread on virtual threads.
+ * Cancelling a future stops a call that has not started yet. A call already
+ * running finishes (its repository writes are not interrupted) and its
+ * result is discarded.
+ */
+public class AsyncRegistrationService implements AutoCloseable {
+    private static final int WAITING = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private final RegistrationService service;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final boolean virtualThreads;
+
+    public AsyncRegistrationService(RegistrationService service, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+        }
+        this.service = service;
+        this.permits = new Semaphore(maxConcurrent);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtualThreads ? virtual : Executors.newFixedThreadPool(maxConcurrent, platformThreads());
+    }
+
+    public CompletableFuture<EnrollmentResult> enrollStudent(String studentId, String courseCode) {
+        return submit(() -> service.enrollStudent(studentId, courseCode));
+    }
+
+    public CompletableFuture<DropResult> dropStudent(String studentId, String courseCode) {
+        return submit(() -> service.dropStudent(studentId, courseCode));
+    }
+
+    public CompletableFuture<CourseEnrollmentInfo> getCourseEnrollmentInfo(String courseCode) {
+        return submit(() -> service.getCourseEnrollmentInfo(courseCode));
+    }
+
+    /**
+     * True when calls run on virtual threads rather than the platform fallback pool.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stops accepting calls; calls already submitted still complete.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger state = new AtomicInteger(WAITING);
+        Future<?> task = executor.submit(() -> run(call, result, state));
+        result.whenComplete((value, error) -> {
+            // Only a call still waiting for a permit is interrupted
+            if (result.isCancelled() && state.compareAndSet(WAITING, CANCELLED)) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private <T> void run(Callable<T> call, CompletableFuture<T> result, AtomicInteger state) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            return;
+        }
+        try {
+            if (!state.compareAndSet(WAITING, RUNNING)) {
+                return;
+            }
+            result.complete(call.call());
+        } catch (Throwable e) {
+            // Errors too, or callers joining the future would wait forever
+            result.completeExceptionally(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() when the runtime has it (Java 21+)
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "registration-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package edu.uca.registration.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Loads a whole term's roster from a directory without going through
+ * RegistrationService one row at a time.
+ *
+ * Input files are streamed line by line: students.csv (id,name,email),
+ * courses.csv (code,title,capacity) and enrollments.csv (studentId,courseCode).
+ * Rows are validated by the model constructors and the same duplicate,
+ * existence and capacity rules as RegistrationService; enrollment requests
+ * are placed in file order, so enrolled/waitlisted outcomes match calling
+ * enrollStudent once per row. Accepted rows are saved with one saveAll per
+ * repository and flushed once at the end. Missing files are skipped.
+ */
+public class BulkImporter {
+    public static final String STUDENTS_FILE = "students.csv";
+    public static final String COURSES_FILE = "courses.csv";
+    public static final String ENROLLMENTS_FILE = "enrollments.csv";
+
+    private final StudentRepository studentRepo;
+    private final CourseRepository courseRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final Logger logger;
+
+    private interface RowHandler {
+        void accept(String[] fields);
+    }
+
+    public BulkImporter(StudentRepository studentRepo,
+                        CourseRepository courseRepo,
+                        EnrollmentRepository enrollmentRepo,
+                        Logger logger) {
+        this.studentRepo = studentRepo;
+        this.courseRepo = courseRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.logger = logger;
+    }
+
+    public ImportReport importFrom(Path directory) throws IOException {
+        ImportReport report = new ImportReport();
+        Map<String, Student> students = new LinkedHashMap<>();
+        Map<String, Course> courses = new LinkedHashMap<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+
+        readRows(directory.resolve(STUDENTS_FILE), 3, report, fields -> {
+            Student student = new Student(fields[0], fields[1], fields[2]);
+            if (students.containsKey(student.getId()) || studentRepo.exists(student.getId())) {
+                throw new IllegalArgumentException("Student with ID " + student.getId() + " already exists");
+            }
+            students.put(student.getId(), student);
+            report.studentImported();
+        });
+
+        readRows(directory.resolve(COURSES_FILE), 3, report, fields -> {
+            Course course = new Course(fields[0], fields[1], parseCapacity(fields[2]));
+            if (courses.containsKey(course.getCode()) || courseRepo.exists(course.getCode())) {
+                throw new IllegalArgumentException("Course with code " + course.getCode() + " already exists");
+            }
+            courses.put(course.getCode(), course);
+            report.courseImported();
+        });
+
+        // Enrolled seats per course, seeded from the repository on first use
+        Map<String, Integer> seatsTaken = new HashMap<>();
+        Set<String> requested = new HashSet<>();
+        readRows(directory.resolve(ENROLLMENTS_FILE), 2, report, fields -> {
+            String studentId = fields[0].trim();
+            String courseCode = fields[1].trim();
+            if (!students.containsKey(studentId) && !studentRepo.exists(studentId)) {
+                throw new IllegalArgumentException("Student " + studentId + " not found");
+            }
+            Course course = courses.get(courseCode);
+            if (course == null) {
+                Optional<Course> existing = courseRepo.findByCode(courseCode);
+                if (existing.isEmpty()) {
+                    throw new IllegalArgumentException("Course " + courseCode + " not found");
+                }
+                course = existing.get();
+            }
+            if (!requested.add(studentId + "|" + courseCode) || enrollmentRepo.exists(studentId, courseCode)) {
+                throw new IllegalArgumentException("Student already enrolled or waitlisted in " + courseCode);
+            }
+
+            int taken = seatsTaken.computeIfAbsent(courseCode,
+                code -> enrollmentRepo.countByCourseAndStatus(code, EnrollmentStatus.ENROLLED));
+            boolean waitlist = taken >= course.getCapacity();
+            if (!waitlist) {
+                seatsTaken.put(courseCode, taken + 1);
+            }
+            enrollments.add(new Enrollment(studentId, courseCode,
+                waitlist ? EnrollmentStatus.WAITLISTED : EnrollmentStatus.ENROLLED));
+            report.enrollmentImported(waitlist);
+        });
+
+        studentRepo.saveAll(students.values());
+        courseRepo.saveAll(courses.values());
+        enrollmentRepo.saveAll(enrollments);
+        studentRepo.flush();
+        courseRepo.flush();
+        enrollmentRepo.flush();
+
+        logger.info("IMPORT " + report.getSummary());
+        return report;
+    }
+
+    private void readRows(Path file, int fieldCount, ImportReport report, RowHandler handler) throws IOException {
+        String name = file.getFileName().toString();
+        if (!Files.exists(file)) {
+            logger.info("No " + name + " in " + file.getParent() + ", skipping");
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                try {
+                    if (fields.length != fieldCount) {
+                        throw new IllegalArgumentException(
+                            "Expected " + fieldCount + " fields but found " + fields.length);
+                    }
+                    handler.accept(fields);
+                } catch (IllegalArgumentException e) {
+                    report.reject(name, lineNumber, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static int parseCapacity(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Capacity must be a number");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package edu.uca.registration.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+
+/**
+ * The changes behind one published {@link EnrollmentSnapshot} version.
+ *
+ * RegistrationService describes every write as a ChangeSet, applies it to
+ * the snapshot as one new version and hands it to its change listener, so
+ * the listener sees the same ordered history that readers do. The
+ * operations carry plain values, which lets a replica apply them to its own
+ * repositories. ChangeSets are immutable; each method that adds an
+ * operation returns a copy, and {@link #builder()} assembles large sets
+ * without the copying.
+ */
+public final class ChangeSet {
+    private static final ChangeSet EMPTY = new ChangeSet(List.of());
+
+    public enum Kind { PUT_STUDENT, PUT_COURSE, ENROLL, WAITLIST, REMOVE }
+
+    private final List<Op> ops;
+
+    private ChangeSet(List<Op> ops) {
+        this.ops = ops;
+    }
+
+    public static ChangeSet empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ChangeSet putStudent(Student student) {
+        return with(new Op(Kind.PUT_STUDENT, student, null, student.getId(), null));
+    }
+
+    public ChangeSet putCourse(Course course) {
+        return with(new Op(Kind.PUT_COURSE, null, course, null, course.getCode()));
+    }
+
+    /**
+     * Enrolls the student, taking them off the waitlist if they were on it.
+     */
+    public ChangeSet enrolled(String studentId, String courseCode) {
+        return with(new Op(Kind.ENROLL, null, null, studentId, courseCode));
+    }
+
+    /**
+     * Appends the student to the back of the waitlist.
+     */
+    public ChangeSet waitlisted(String studentId, String courseCode) {
+        return with(new Op(Kind.WAITLIST, null, null, studentId, courseCode));
+    }
+
+    public ChangeSet removed(String studentId, String courseCode) {
+        return with(new Op(Kind.REMOVE, null, null, studentId, courseCode));
+    }
+
+    public List<Op> getOps() {
+        return ops;
+    }
+
+    public boolean isEmpty() {
+        return ops.isEmpty();
+    }
+
+    EnrollmentSnapshot applyTo(EnrollmentSnapshot snapshot) {
+        EnrollmentSnapshot changed = snapshot;
+        for (Op op : ops) {
+            switch (op.kind) {
+                case PUT_STUDENT:
+                    changed = changed.withStudent(op.student);
+                    break;
+                case PUT_COURSE:
+                    changed = changed.withCourse(op.course);
+                    break;
+                case ENROLL:
+                    changed = changed.withEnrolled(op.studentId, op.courseCode);
+                    break;
+                case WAITLIST:
+                    changed = changed.withWaitlisted(op.studentId, op.courseCode);
+                    break;
+                case REMOVE:
+                    changed = changed.withoutEnrollment(op.studentId, op.courseCode);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown change " + op.kind);
+            }
+        }
+        return changed;
+    }
+
+    private ChangeSet with(Op op) {
+        List<Op> extended = new ArrayList<>(ops.size() + 1);
+        extended.addAll(ops);
+        extended.add(op);
+        return new ChangeSet(Collections.unmodifiableList(extended));
+    }
+
+    /**
+     * Collects operations in order for one ChangeSet.
+     */
+    public static final class Builder {
+        private final List<Op> ops = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder putStudent(Student student) {
+            ops.add(new Op(Kind.PUT_STUDENT, student, null, student.getId(), null));
+            return this;
+        }
+
+        public Builder putCourse(Course course) {
+            ops.add(new Op(Kind.PUT_COURSE, null, course, null, course.getCode()));
+            return this;
+        }
+
+        public Builder enrolled(String studentId, String courseCode) {
+            ops.add(new Op(Kind.ENROLL, null, null, studentId, courseCode));
+            return this;
+        }
+
+        public Builder waitlisted(String studentId, String courseCode) {
+            ops.add(new Op(Kind.WAITLIST, null, null, studentId, courseCode));
+            return this;
+        }
+
+        public Builder removed(String studentId, String courseCode) {
+            ops.add(new Op(Kind.REMOVE, null, null, studentId, courseCode));
+            return this;
+        }
+
+        public ChangeSet build() {
+            return ops.isEmpty() ? EMPTY : new ChangeSet(Collections.unmodifiableList(new ArrayList<>(ops)));
+        }
+    }
+
+    /**
+     * One change. Student is set for PUT_STUDENT and course for PUT_COURSE;
+     * the enrollment kinds carry the student ID and course code.
+     */
+    public static final class Op {
+        private final Kind kind;
+        private final Student student;
+        private final Course course;
+        private final String studentId;
+        private final String courseCode;
+
+        private Op(Kind kind, Student student, Course course, String studentId, String courseCode) {
+            this.kind = kind;
+            this.student = student;
+            this.course = course;
+            this.studentId = studentId;
+            this.courseCode = courseCode;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        public Course getCourse() {
+            return course;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public String getCourseCode() {
+            return courseCode;
+        }
+    }
+}
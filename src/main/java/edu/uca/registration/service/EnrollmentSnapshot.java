@@ -0,0 +1,318 @@
+package edu.uca.registration.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.CursorPage;
+import edu.uca.registration.service.RegistrationService.CourseEnrollmentInfo;
+import edu.uca.registration.util.PersistentHashMap;
+
+/**
+ * Immutable, versioned view of students, courses and enrollments at one
+ * point in time, from {@link RegistrationService#snapshot()}.
+ *
+ * Every query answers from the same version, so a report that walks many
+ * courses sees one consistent state however many enrolls and drops run
+ * meanwhile, and reading never takes a lock or blocks a writer. The service
+ * publishes a new version after each change; versions share structure
+ * through {@link PersistentHashMap}, so a change copies only the paths it
+ * touches and old snapshots stay valid for as long as they are referenced.
+ */
+public final class EnrollmentSnapshot {
+    private final long version;
+    // Stamps each change so waitlist order survives several changes in one version
+    private final long sequence;
+    private final PersistentHashMap<String, Student> students;
+    private final PersistentHashMap<String, CourseState> courses;
+    // Shared by every version until a course is added or changed
+    private final CourseCatalog catalog;
+
+    private EnrollmentSnapshot(long version, long sequence, PersistentHashMap<String, Student> students,
+                               PersistentHashMap<String, CourseState> courses, CourseCatalog catalog) {
+        this.version = version;
+        this.sequence = sequence;
+        this.students = students;
+        this.courses = courses;
+        this.catalog = catalog;
+    }
+
+    static EnrollmentSnapshot empty() {
+        return new EnrollmentSnapshot(0, 0, PersistentHashMap.empty(), PersistentHashMap.empty(),
+            new CourseCatalog());
+    }
+
+    /**
+     * Increases by one with every change the service publishes.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public Optional<Student> findStudent(String id) {
+        return Optional.ofNullable(students.get(id));
+    }
+
+    public Collection<Student> getAllStudents() {
+        List<Student> all = new ArrayList<>(students.size());
+        students.forEach((id, student) -> all.add(student));
+        all.sort(Comparator.comparing(Student::getId));
+        return all;
+    }
+
+    public Optional<Course> findCourse(String code) {
+        CourseState state = courses.get(code);
+        return state == null ? Optional.empty() : Optional.of(state.course);
+    }
+
+    /**
+     * Every course, ordered by code.
+     */
+    public List<Course> getAllCourses() {
+        return new ArrayList<>(catalog.byCode(courses).values());
+    }
+
+    /**
+     * One page of courses ordered by code; pass the previous page's cursor, or null to start.
+     * Reads the page from the code-ordered catalog without copying it.
+     */
+    public CursorPage<Course> getCoursePage(String cursor, int limit) {
+        return CursorPage.from(catalog.byCode(courses), cursor, limit);
+    }
+
+    public CourseEnrollmentInfo getCourseEnrollmentInfo(String courseCode) throws EnrollmentException {
+        CourseState state = course(courseCode);
+        return new CourseEnrollmentInfo(state.course, state.enrolled.size(), state.waitlisted.size());
+    }
+
+    /**
+     * Students enrolled in the course, ordered by ID.
+     */
+    public List<String> getEnrolledStudents(String courseCode) throws EnrollmentException {
+        List<String> ids = new ArrayList<>();
+        course(courseCode).enrolled.forEach((id, sequence) -> ids.add(id));
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * Waitlisted students in FIFO order.
+     */
+    public List<String> getWaitlist(String courseCode) throws EnrollmentException {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        course(courseCode).waitlisted.forEach((id, sequence) -> entries.add(Map.entry(id, sequence)));
+        entries.sort(Map.Entry.comparingByValue());
+        List<String> ids = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Long> entry : entries) {
+            ids.add(entry.getKey());
+        }
+        return ids;
+    }
+
+    /**
+     * A student's 1-based place on a course's waitlist, empty if not waitlisted.
+     */
+    public OptionalInt getWaitlistPosition(String studentId, String courseCode) {
+        CourseState state = courses.get(courseCode);
+        Long mine = state == null ? null : state.waitlisted.get(studentId);
+        if (mine == null) {
+            return OptionalInt.empty();
+        }
+        int[] ahead = new int[1];
+        state.waitlisted.forEach((id, sequence) -> {
+            if (sequence < mine) {
+                ahead[0]++;
+            }
+        });
+        return OptionalInt.of(ahead[0] + 1);
+    }
+
+    /**
+     * Students enrolled in every one of the given courses, ordered by ID.
+     */
+    public List<String> findStudentsInAllCourses(Collection<String> courseCodes) throws EnrollmentException {
+        List<PersistentHashMap<String, Long>> rosters = rosters(courseCodes);
+        List<String> ids = new ArrayList<>();
+        if (rosters.isEmpty()) {
+            return ids;
+        }
+        rosters.sort(Comparator.comparingInt(PersistentHashMap::size));
+        rosters.get(0).forEach((id, sequence) -> {
+            for (int i = 1; i < rosters.size(); i++) {
+                if (!rosters.get(i).containsKey(id)) {
+                    return;
+                }
+            }
+            ids.add(id);
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    public int countStudentsInAllCourses(Collection<String> courseCodes) throws EnrollmentException {
+        return findStudentsInAllCourses(courseCodes).size();
+    }
+
+    /**
+     * Students enrolled in at least one of the given courses, ordered by ID.
+     */
+    public List<String> findStudentsInAnyCourse(Collection<String> courseCodes) throws EnrollmentException {
+        Set<String> union = new TreeSet<>();
+        for (PersistentHashMap<String, Long> roster : rosters(courseCodes)) {
+            roster.forEach((id, sequence) -> union.add(id));
+        }
+        return new ArrayList<>(union);
+    }
+
+    public int countStudentsInAnyCourse(Collection<String> courseCodes) throws EnrollmentException {
+        return findStudentsInAnyCourse(courseCodes).size();
+    }
+
+    /**
+     * Students enrolled in courseCode but in none of the excluded courses, ordered by ID.
+     */
+    public List<String> findStudentsInCourseExcluding(String courseCode, Collection<String> excluded)
+            throws EnrollmentException {
+        PersistentHashMap<String, Long> roster = course(courseCode).enrolled;
+        List<PersistentHashMap<String, Long>> others = rosters(excluded);
+        List<String> ids = new ArrayList<>();
+        roster.forEach((id, sequence) -> {
+            for (PersistentHashMap<String, Long> other : others) {
+                if (other.containsKey(id)) {
+                    return;
+                }
+            }
+            ids.add(id);
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    public int countStudentsInCourseExcluding(String courseCode, Collection<String> excluded)
+            throws EnrollmentException {
+        return findStudentsInCourseExcluding(courseCode, excluded).size();
+    }
+
+    // ==================== Changes, applied by RegistrationService ====================
+
+    // Changes keep the version; the service bumps it once per publish
+    EnrollmentSnapshot nextVersion() {
+        return new EnrollmentSnapshot(version + 1, sequence, students, courses, catalog);
+    }
+
+    EnrollmentSnapshot withStudent(Student student) {
+        return new EnrollmentSnapshot(version, sequence + 1, students.plus(student.getId(), student), courses,
+            catalog);
+    }
+
+    EnrollmentSnapshot withCourse(Course course) {
+        CourseState existing = courses.get(course.getCode());
+        CourseState state = existing == null
+            ? new CourseState(course, PersistentHashMap.empty(), PersistentHashMap.empty())
+            : new CourseState(course, existing.enrolled, existing.waitlisted);
+        return new EnrollmentSnapshot(version, sequence + 1, students, courses.plus(course.getCode(), state),
+            new CourseCatalog());
+    }
+
+    /**
+     * Enrolls the student, taking them off the waitlist if they were on it.
+     */
+    EnrollmentSnapshot withEnrolled(String studentId, String courseCode) {
+        CourseState state = courses.get(courseCode);
+        if (state == null) {
+            return this;
+        }
+        CourseState updated = new CourseState(state.course,
+            state.enrolled.plus(studentId, sequence + 1), state.waitlisted.minus(studentId));
+        return new EnrollmentSnapshot(version, sequence + 1, students, courses.plus(courseCode, updated), catalog);
+    }
+
+    /**
+     * Appends the student to the back of the waitlist.
+     */
+    EnrollmentSnapshot withWaitlisted(String studentId, String courseCode) {
+        CourseState state = courses.get(courseCode);
+        if (state == null) {
+            return this;
+        }
+        CourseState updated = new CourseState(state.course,
+            state.enrolled.minus(studentId), state.waitlisted.plus(studentId, sequence + 1));
+        return new EnrollmentSnapshot(version, sequence + 1, students, courses.plus(courseCode, updated), catalog);
+    }
+
+    EnrollmentSnapshot withoutEnrollment(String studentId, String courseCode) {
+        CourseState state = courses.get(courseCode);
+        if (state == null) {
+            return this;
+        }
+        CourseState updated = new CourseState(state.course,
+            state.enrolled.minus(studentId), state.waitlisted.minus(studentId));
+        return new EnrollmentSnapshot(version, sequence + 1, students, courses.plus(courseCode, updated), catalog);
+    }
+
+    private CourseState course(String courseCode) throws EnrollmentException {
+        CourseState state = courses.get(courseCode);
+        if (state == null) {
+            throw new EnrollmentException("Course " + courseCode + " not found");
+        }
+        return state;
+    }
+
+    private List<PersistentHashMap<String, Long>> rosters(Collection<String> courseCodes)
+            throws EnrollmentException {
+        List<PersistentHashMap<String, Long>> rosters = new ArrayList<>(courseCodes.size());
+        for (String courseCode : courseCodes) {
+            rosters.add(course(courseCode).enrolled);
+        }
+        return rosters;
+    }
+
+    /**
+     * Courses ordered by code, sorted once on first use and then shared by
+     * every version that has the same courses, so paging the catalog does
+     * not copy or re-sort it while enrollments change.
+     */
+    private static final class CourseCatalog {
+        private volatile NavigableMap<String, Course> byCode;
+
+        NavigableMap<String, Course> byCode(PersistentHashMap<String, CourseState> courses) {
+            NavigableMap<String, Course> sorted = byCode;
+            if (sorted == null) {
+                // Racing readers build equal maps; either may win
+                TreeMap<String, Course> built = new TreeMap<>();
+                courses.forEach((code, state) -> built.put(code, state.course));
+                sorted = Collections.unmodifiableNavigableMap(built);
+                byCode = sorted;
+            }
+            return sorted;
+        }
+    }
+
+    /**
+     * One course's enrollments; the Long values are the sequence each entry
+     * was made at, which orders the waitlist.
+     */
+    private static final class CourseState {
+        final Course course;
+        final PersistentHashMap<String, Long> enrolled;
+        final PersistentHashMap<String, Long> waitlisted;
+
+        CourseState(Course course, PersistentHashMap<String, Long> enrolled,
+                    PersistentHashMap<String, Long> waitlisted) {
+            this.course = course;
+            this.enrolled = enrolled;
+            this.waitlisted = waitlisted;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package edu.uca.registration.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+//Outcome of a bulk import: what was accepted and which lines were rejected.
+
+public class ImportReport {
+    private int studentsImported;
+    private int coursesImported;
+    private int enrolled;
+    private int waitlisted;
+    private final List<Rejection> rejections = new ArrayList<>();
+
+    public static class Rejection {
+        private final String file;
+        private final int lineNumber;
+        private final String reason;
+
+        public Rejection(String file, int lineNumber, String reason) {
+            this.file = file;
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return file + ":" + lineNumber + ": " + reason;
+        }
+    }
+
+    void studentImported() {
+        studentsImported++;
+    }
+
+    void courseImported() {
+        coursesImported++;
+    }
+
+    void enrollmentImported(boolean waitlist) {
+        if (waitlist) {
+            waitlisted++;
+        } else {
+            enrolled++;
+        }
+    }
+
+    void reject(String file, int lineNumber, String reason) {
+        rejections.add(new Rejection(file, lineNumber, reason));
+    }
+
+    public int getStudentsImported() {
+        return studentsImported;
+    }
+
+    public int getCoursesImported() {
+        return coursesImported;
+    }
+
+    public int getEnrolledCount() {
+        return enrolled;
+    }
+
+    public int getWaitlistedCount() {
+        return waitlisted;
+    }
+
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    public String getSummary() {
+        return String.format("Imported %d students, %d courses, %d enrollments (%d waitlisted); rejected %d lines",
+                studentsImported, coursesImported, enrolled + waitlisted, waitlisted, rejections.size());
+    }
+}
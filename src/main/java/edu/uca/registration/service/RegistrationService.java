@@ -1,51 +1,259 @@
 package edu.uca.registration.service;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import edu.uca.registration.model.Course;
 import edu.uca.registration.model.Enrollment;
 import edu.uca.registration.model.Enrollment.EnrollmentStatus;
 import edu.uca.registration.model.Student;
 import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.CursorPage;
 import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.RosterIndex;
 import edu.uca.registration.repository.StudentRepository;
 import edu.uca.registration.util.Logger;
+import edu.uca.registration.util.StripedLocks;
 
 /**
  * Service layer containing all business logic for course registration.
  * Enforces capacity limits, waitlist management, and FIFO promotion.
+ *
+ * Safe for concurrent use when the repositories are. Enroll, drop and add
+ * course hold a lock striped by course code across their check-then-act
+ * sequence, so capacity and waitlist order hold per course while different
+ * courses proceed in parallel; add student is striped by student ID.
+ * In {@link SeatMode#ATOMIC} an enroll that gets a seat takes no lock and
+ * claims it from a CAS counter instead; only a drop of that same student
+ * waits, parked, for its snapshot publish. Waitlist writes stay locked.
+ *
+ * A service built with snapshots on also publishes every change as a new
+ * {@link EnrollmentSnapshot}, so reports can read a consistent
+ * point-in-time view from {@link #snapshot()} without locks while writes
+ * continue; each publish is one CAS on the snapshot reference. The same
+ * {@link ChangeSet}s go to an optional {@link ChangeListener} tagged with
+ * their versions, which is what replication ships to replicas. Snapshots
+ * hold a second, on-heap copy of everything in the repositories, so they
+ * are off by default and turned on only for replication.
  */
 public class RegistrationService {
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * How enroll claims a seat. LOCKED counts enrollments under the course
+     * lock; ATOMIC claims seats by CAS on per-course counters, so enrolls
+     * that get a seat in a hot course do not queue behind each other. Once
+     * the course is full, enrolls join the waitlist under the course lock
+     * in both modes, and drops are always locked.
+     */
+    public enum SeatMode { LOCKED, ATOMIC }
+
     private final StudentRepository studentRepo;
     private final CourseRepository courseRepo;
     private final EnrollmentRepository enrollmentRepo;
     private final Logger logger;
+    private final StripedLocks courseLocks = new StripedLocks(LOCK_STRIPES);
+    private final StripedLocks studentLocks = new StripedLocks(LOCK_STRIPES);
+    private final SeatMode seatMode;
+    private final SeatLedger seats;
+    // student|course pairs with an ATOMIC enroll under way
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // ATOMIC seats written to the repository but not yet published, by student|course
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> unpublished = new ConcurrentHashMap<>();
+    // Null unless built with snapshots on
+    private final AtomicReference<EnrollmentSnapshot> snapshot;
+    private volatile ChangeListener changeListener;
 
     public RegistrationService(StudentRepository studentRepo, 
                               CourseRepository courseRepo,
                               EnrollmentRepository enrollmentRepo,
                               Logger logger) {
+        this(studentRepo, courseRepo, enrollmentRepo, logger, SeatMode.LOCKED);
+    }
+
+    public RegistrationService(StudentRepository studentRepo,
+                              CourseRepository courseRepo,
+                              EnrollmentRepository enrollmentRepo,
+                              Logger logger,
+                              SeatMode seatMode) {
+        this(studentRepo, courseRepo, enrollmentRepo, logger, seatMode, false);
+    }
+
+    /**
+     * With publishSnapshots, loads the repositories into a first snapshot and
+     * publishes every change after it, for {@link #snapshot()} readers and
+     * replication. Without, the service keeps no copy of its own.
+     */
+    public RegistrationService(StudentRepository studentRepo,
+                              CourseRepository courseRepo,
+                              EnrollmentRepository enrollmentRepo,
+                              Logger logger,
+                              SeatMode seatMode,
+                              boolean publishSnapshots) {
         this.studentRepo = studentRepo;
         this.courseRepo = courseRepo;
         this.enrollmentRepo = enrollmentRepo;
         this.logger = logger;
+        this.seatMode = seatMode;
+        this.seats = new SeatLedger(code -> enrollmentRepo.countByCourseAndStatus(code, EnrollmentStatus.ENROLLED));
+        this.snapshot = publishSnapshots ? new AtomicReference<>(loadSnapshot()) : null;
+    }
+
+    // Builds the first snapshot from what the repositories already hold
+    private EnrollmentSnapshot loadSnapshot() {
+        EnrollmentSnapshot loaded = EnrollmentSnapshot.empty();
+        for (Student student : studentRepo.findAll()) {
+            loaded = loaded.withStudent(student);
+        }
+        for (Course course : courseRepo.findAll()) {
+            loaded = loaded.withCourse(course);
+            String code = course.getCode();
+            for (Enrollment e : enrollmentRepo.findByCourseAndStatus(code, EnrollmentStatus.ENROLLED)) {
+                loaded = loaded.withEnrolled(e.getStudentId(), code);
+            }
+            // Repositories return the waitlist in FIFO order
+            for (Enrollment e : enrollmentRepo.findByCourseAndStatus(code, EnrollmentStatus.WAITLISTED)) {
+                loaded = loaded.withWaitlisted(e.getStudentId(), code);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * The latest published state. The snapshot never changes, so callers can
+     * run any number of queries against it and get one consistent answer.
+     *
+     * @throws IllegalStateException if this service was built without snapshots
+     */
+    public EnrollmentSnapshot snapshot() {
+        return publishedSnapshots().get();
+    }
+
+    public boolean isPublishingSnapshots() {
+        return snapshot != null;
+    }
+
+    /**
+     * Receives every published change on the publishing thread, right after
+     * its snapshot CAS. Versions are consecutive but concurrent writers can
+     * deliver them out of order, so listeners that need a sequence must
+     * reorder by version; they must not block or call back into the service.
+     */
+    public interface ChangeListener {
+        void published(long version, ChangeSet change);
+    }
+
+    /**
+     * Sends every change published from now on to listener, replacing any
+     * previous one, and returns the version it starts after. Changes at or
+     * before that version may still be delivered and should be ignored.
+     *
+     * @throws IllegalStateException if this service was built without snapshots
+     */
+    public long setChangeListener(ChangeListener listener) {
+        long version = publishedSnapshots().get().getVersion();
+        changeListener = listener;
+        return version;
+    }
+
+    private AtomicReference<EnrollmentSnapshot> publishedSnapshots() {
+        if (snapshot == null) {
+            throw new IllegalStateException("This service was built without snapshots");
+        }
+        return snapshot;
+    }
+
+    // Swaps in the changed snapshot as one new version, retrying against concurrent publishers
+    private void publish(ChangeSet change) {
+        if (snapshot == null) {
+            return;
+        }
+        EnrollmentSnapshot next = snapshot.updateAndGet(current -> change.applyTo(current).nextVersion());
+        ChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.published(next.getVersion(), change);
+        }
+    }
+
+    /**
+     * Applies a change that was made elsewhere (e.g. on a replication
+     * primary) to the repositories, then publishes it as one version. Skips
+     * the checks and locks of the write methods, so it is for a single
+     * writer that owns the repositories, such as a replica's apply thread,
+     * and publishes only if this service was built with snapshots.
+     */
+    public void applyReplicated(ChangeSet change) {
+        for (ChangeSet.Op op : change.getOps()) {
+            switch (op.getKind()) {
+                case PUT_STUDENT:
+                    studentRepo.save(op.getStudent());
+                    break;
+                case PUT_COURSE:
+                    courseRepo.save(op.getCourse());
+                    break;
+                case ENROLL:
+                    enrollmentRepo.save(new Enrollment(op.getStudentId(), op.getCourseCode(),
+                        EnrollmentStatus.ENROLLED));
+                    break;
+                case WAITLIST:
+                    enrollmentRepo.save(new Enrollment(op.getStudentId(), op.getCourseCode(),
+                        EnrollmentStatus.WAITLISTED));
+                    break;
+                case REMOVE:
+                    enrollmentRepo.delete(op.getStudentId(), op.getCourseCode());
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown change " + op.getKind());
+            }
+        }
+        publish(change);
     }
 
     //Student Operations
     
     public void addStudent(String id, String name, String email) throws EnrollmentException {
-        if (studentRepo.exists(id)) {
-            throw new EnrollmentException("Student with ID " + id + " already exists");
+        ReentrantLock lock = studentLocks.forKey(id);
+        lock.lock();
+        try {
+            if (studentRepo.exists(id)) {
+                throw new EnrollmentException("Student with ID " + id + " already exists");
+            }
+
+            try {
+                Student student = new Student(id, name, email);
+                studentRepo.save(student);
+                publish(ChangeSet.empty().putStudent(student));
+                logger.info("ADD_STUDENT " + id);
+            } catch (IllegalArgumentException e) {
+                throw new EnrollmentException("Invalid student data: " + e.getMessage(), e);
+            }
+        } finally {
+            lock.unlock();
         }
-        
+    }
+
+    /**
+     * Stores a student record that was created elsewhere (e.g. on another
+     * cluster node), replacing any existing copy instead of rejecting it.
+     * @throws EnrollmentException if this service does not take writes
+     */
+    public void putStudent(Student student) throws EnrollmentException {
+        ReentrantLock lock = studentLocks.forKey(student.getId());
+        lock.lock();
         try {
-            Student student = new Student(id, name, email);
             studentRepo.save(student);
-            logger.info("ADD_STUDENT " + id);
-        } catch (IllegalArgumentException e) {
-            throw new EnrollmentException("Invalid student data: " + e.getMessage(), e);
+            publish(ChangeSet.empty().putStudent(student));
+            logger.debug("PUT_STUDENT " + student.getId());
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -57,19 +265,40 @@ public class RegistrationService {
         return studentRepo.findAll();
     }
 
+    /**
+     * One page of students ordered by ID; pass the previous page's cursor, or null to start.
+     */
+    public CursorPage<Student> getStudentPage(String cursor, int limit) {
+        return studentRepo.findPage(cursor, limit);
+    }
+
+    /**
+     * Students whose name, any word of their name, or email starts with prefix (case-insensitive).
+     */
+    public List<Student> searchStudents(String prefix, int limit) {
+        return studentRepo.searchByPrefix(prefix, limit);
+    }
+
     //Course Operations
     
     public void addCourse(String code, String title, int capacity) throws EnrollmentException {
-        if (courseRepo.exists(code)) {
-            throw new EnrollmentException("Course with code " + code + " already exists");
-        }
-        
+        ReentrantLock lock = courseLocks.forKey(code);
+        lock.lock();
         try {
-            Course course = new Course(code, title, capacity);
-            courseRepo.save(course);
-            logger.info("ADD_COURSE " + code);
-        } catch (IllegalArgumentException e) {
-            throw new EnrollmentException("Invalid course data: " + e.getMessage(), e);
+            if (courseRepo.exists(code)) {
+                throw new EnrollmentException("Course with code " + code + " already exists");
+            }
+
+            try {
+                Course course = new Course(code, title, capacity);
+                courseRepo.save(course);
+                publish(ChangeSet.empty().putCourse(course));
+                logger.info("ADD_COURSE " + code);
+            } catch (IllegalArgumentException e) {
+                throw new EnrollmentException("Invalid course data: " + e.getMessage(), e);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -81,10 +310,116 @@ public class RegistrationService {
         return courseRepo.findAll();
     }
 
+    /**
+     * One page of courses ordered by code; pass the previous page's cursor, or null to start.
+     */
+    public CursorPage<Course> getCoursePage(String cursor, int limit) {
+        return courseRepo.findPage(cursor, limit);
+    }
+
+    /**
+     * Courses whose code starts with prefix, ordered by code.
+     */
+    public List<Course> findCoursesByPrefix(String prefix) {
+        return courseRepo.findByCodePrefix(prefix);
+    }
+
     //Enrollment Operations
     
     public EnrollmentResult enrollStudent(String studentId, String courseCode) throws EnrollmentException {
-        
+        if (seatMode == SeatMode.ATOMIC) {
+            return reserveSeat(studentId, courseCode);
+        }
+        ReentrantLock lock = courseLocks.forKey(courseCode);
+        lock.lock();
+        try {
+            Course course = checkEnrollable(studentId, courseCode);
+
+            // Check capacity
+            int enrolledCount = enrollmentRepo.countByCourseAndStatus(courseCode, EnrollmentStatus.ENROLLED);
+
+            if (enrolledCount >= course.getCapacity()) {
+                // Add to waitlist
+                Enrollment enrollment = new Enrollment(studentId, courseCode, EnrollmentStatus.WAITLISTED);
+                enrollmentRepo.save(enrollment);
+                publish(ChangeSet.empty().waitlisted(studentId, courseCode));
+                logger.info("WAITLIST " + studentId + " -> " + courseCode);
+                return EnrollmentResult.waitlisted();
+            } else {
+                // Enroll directly
+                Enrollment enrollment = new Enrollment(studentId, courseCode, EnrollmentStatus.ENROLLED);
+                enrollmentRepo.save(enrollment);
+                publish(ChangeSet.empty().enrolled(studentId, courseCode));
+                logger.info("ENROLL " + studentId + " -> " + courseCode);
+                return EnrollmentResult.enrolled();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public DropResult dropStudent(String studentId, String courseCode) throws EnrollmentException {
+        ReentrantLock lock = courseLocks.forKey(courseCode);
+        lock.lock();
+        try {
+            // Validate course exists
+            Optional<Course> courseOpt = courseRepo.findByCode(courseCode);
+            if (courseOpt.isEmpty()) {
+                throw new EnrollmentException("Course " + courseCode + " not found");
+            }
+
+            // Check if enrolled
+            List<Enrollment> enrolled = enrollmentRepo.findByCourseAndStatus(courseCode, EnrollmentStatus.ENROLLED);
+            boolean wasEnrolled = enrolled.stream().anyMatch(e -> e.getStudentId().equals(studentId));
+
+            if (wasEnrolled) {
+                if (seatMode == SeatMode.ATOMIC) {
+                    return dropClaimedSeat(studentId, courseOpt.get());
+                }
+                enrollmentRepo.delete(studentId, courseCode);
+                logger.info("DROP " + studentId + " from " + courseCode);
+
+                // Promote first waitlisted student
+                Optional<Enrollment> head = enrollmentRepo.pollWaitlistHead(courseCode);
+                if (head.isPresent()) {
+                    String promotedId = head.get().getStudentId();
+
+                    Enrollment promoted = new Enrollment(promotedId, courseCode, EnrollmentStatus.ENROLLED);
+                    try {
+                        enrollmentRepo.save(promoted);
+                    } catch (RuntimeException e) {
+                        publish(ChangeSet.empty().removed(studentId, courseCode).removed(promotedId, courseCode));
+                        throw e;
+                    }
+                    // One version for drop and promotion, so no reader sees the seat empty
+                    publish(ChangeSet.empty().removed(studentId, courseCode).enrolled(promotedId, courseCode));
+
+                    logger.info("PROMOTE " + promotedId + " -> " + courseCode);
+                    return DropResult.droppedWithPromotion(promotedId);
+                }
+                publish(ChangeSet.empty().removed(studentId, courseCode));
+                return DropResult.dropped();
+            }
+
+            // Check if on waitlist
+            List<Enrollment> waitlist = enrollmentRepo.findByCourseAndStatus(courseCode, EnrollmentStatus.WAITLISTED);
+            boolean wasWaitlisted = waitlist.stream().anyMatch(e -> e.getStudentId().equals(studentId));
+
+            if (wasWaitlisted) {
+                enrollmentRepo.delete(studentId, courseCode);
+                publish(ChangeSet.empty().removed(studentId, courseCode));
+                logger.info("WAITLIST_REMOVE " + studentId + " " + courseCode);
+                return DropResult.removedFromWaitlist();
+            }
+
+            throw new EnrollmentException("Student not enrolled or waitlisted in " + courseCode);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Validation shared by both enrollment paths; returns the course
+    private Course checkEnrollable(String studentId, String courseCode) throws EnrollmentException {
         if (!studentRepo.exists(studentId)) {
             throw new EnrollmentException("Student " + studentId + " not found");
         }
@@ -93,7 +428,6 @@ public class RegistrationService {
         if (courseOpt.isEmpty()) {
             throw new EnrollmentException("Course " + courseCode + " not found");
         }
-        Course course = courseOpt.get();
 
         // Check if already enrolled
         if (enrollmentRepo.exists(studentId, courseCode)) {
@@ -105,70 +439,131 @@ public class RegistrationService {
                 throw new EnrollmentException("Student already on waitlist for " + courseCode);
             }
         }
-
-        // Check capacity
-        int enrolledCount = enrollmentRepo.countByCourseAndStatus(courseCode, EnrollmentStatus.ENROLLED);
-        
-        if (enrolledCount >= course.getCapacity()) {
-            // Add to waitlist
-            Enrollment enrollment = new Enrollment(studentId, courseCode, EnrollmentStatus.WAITLISTED);
-            enrollmentRepo.save(enrollment);
-            logger.info("WAITLIST " + studentId + " -> " + courseCode);
-            return EnrollmentResult.waitlisted();
-        } else {
-            // Enroll directly
-            Enrollment enrollment = new Enrollment(studentId, courseCode, EnrollmentStatus.ENROLLED);
-            enrollmentRepo.save(enrollment);
-            logger.info("ENROLL " + studentId + " -> " + courseCode);
-            return EnrollmentResult.enrolled();
-        }
+        return courseOpt.get();
     }
 
-    public DropResult dropStudent(String studentId, String courseCode) throws EnrollmentException {
-        // Validate course exists
-        if (!courseRepo.findByCode(courseCode).isPresent()) {
-            throw new EnrollmentException("Course " + courseCode + " not found");
+    /**
+     * Enroll for {@link SeatMode#ATOMIC}: claims a seat by CAS on the
+     * course's counter and only then writes and publishes the ENROLLED
+     * record, without a lock, giving the seat back if the write fails. A
+     * full counter sends the student to the waitlist, which is written and
+     * published under the course lock.
+     */
+    private EnrollmentResult reserveSeat(String studentId, String courseCode) throws EnrollmentException {
+        String request = studentId + "|" + courseCode;
+        if (!inFlight.add(request)) {
+            throw new EnrollmentException("Enrollment of " + studentId + " in " + courseCode + " already in progress");
         }
+        try {
+            Course course = checkEnrollable(studentId, courseCode);
+
+            if (seats.tryClaim(courseCode, course.getCapacity())) {
+                // Registered before the write, so a drop that sees it can wait for our publish
+                CompletableFuture<Void> published = new CompletableFuture<>();
+                unpublished.put(request, published);
+                try {
+                    try {
+                        enrollmentRepo.save(new Enrollment(studentId, courseCode, EnrollmentStatus.ENROLLED));
+                    } catch (RuntimeException | Error e) {
+                        // Compensate so a failed write cannot leak a seat
+                        seats.release(courseCode);
+                        throw e;
+                    }
+                    publish(ChangeSet.empty().enrolled(studentId, courseCode));
+                } finally {
+                    unpublished.remove(request);
+                    published.complete(null);
+                }
+                logger.info("ENROLL " + studentId + " -> " + courseCode);
+                return EnrollmentResult.enrolled();
+            }
 
-        // Check if enrolled
-        List<Enrollment> enrolled = enrollmentRepo.findByCourseAndStatus(courseCode, EnrollmentStatus.ENROLLED);
-        boolean wasEnrolled = enrolled.stream().anyMatch(e -> e.getStudentId().equals(studentId));
-
-        if (wasEnrolled) {
-            enrollmentRepo.delete(studentId, courseCode);
-            logger.info("DROP " + studentId + " from " + courseCode);
-
-            // Promote first waitlisted student
-            List<Enrollment> waitlist = enrollmentRepo.findByCourseAndStatus(courseCode, EnrollmentStatus.WAITLISTED);
-            if (!waitlist.isEmpty()) {
-                Enrollment firstWaitlisted = waitlist.get(0);
-                String promotedId = firstWaitlisted.getStudentId();
-                
-                enrollmentRepo.delete(promotedId, courseCode);
-                Enrollment promoted = new Enrollment(promotedId, courseCode, EnrollmentStatus.ENROLLED);
-                enrollmentRepo.save(promoted);
-                
-                logger.info("PROMOTE " + promotedId + " -> " + courseCode);
-                return DropResult.droppedWithPromotion(promotedId);
+            // Waitlist writes take the course lock so they publish in the order they are stored
+            ReentrantLock lock = courseLocks.forKey(courseCode);
+            lock.lock();
+            try {
+                enrollmentRepo.save(new Enrollment(studentId, courseCode, EnrollmentStatus.WAITLISTED));
+                publish(ChangeSet.empty().waitlisted(studentId, courseCode));
+                logger.info("WAITLIST " + studentId + " -> " + courseCode);
+
+                // A drop may have freed a seat after the claim failed; hand it to the waitlist head
+                if (seats.tryClaim(courseCode, course.getCapacity())
+                        && passSeat(courseCode, null).filter(studentId::equals).isPresent()) {
+                    return EnrollmentResult.enrolled();
+                }
+            } finally {
+                lock.unlock();
             }
-            return DropResult.dropped();
+            return EnrollmentResult.waitlisted();
+        } finally {
+            inFlight.remove(request);
         }
+    }
 
-        // Check if on waitlist
-        List<Enrollment> waitlist = enrollmentRepo.findByCourseAndStatus(courseCode, EnrollmentStatus.WAITLISTED);
-        boolean wasWaitlisted = waitlist.stream().anyMatch(e -> e.getStudentId().equals(studentId));
-
-        if (wasWaitlisted) {
-            enrollmentRepo.delete(studentId, courseCode);
-            logger.info("WAITLIST_REMOVE " + studentId + " " + courseCode);
-            return DropResult.removedFromWaitlist();
+    /**
+     * Drop of an enrolled student in {@link SeatMode#ATOMIC}; caller holds
+     * the course lock. If the enroll that wrote this seat has not published
+     * yet, waits for it, so the snapshot never sees the drop first. Other
+     * seated enrolls only add different students, so they need no ordering.
+     */
+    private DropResult dropClaimedSeat(String studentId, Course course) {
+        String courseCode = course.getCode();
+        CompletableFuture<Void> enrolling = unpublished.get(studentId + "|" + courseCode);
+        if (enrolling != null) {
+            enrolling.join();
         }
+        // Seed the counter while this seat is still in the repository count
+        seats.claimed(courseCode);
+        enrollmentRepo.delete(studentId, courseCode);
+        logger.info("DROP " + studentId + " from " + courseCode);
+
+        // The dropped seat stays claimed and passes to the waitlist head
+        Optional<String> promotedId = passSeat(courseCode, studentId);
+        return promotedId.map(DropResult::droppedWithPromotion).orElseGet(DropResult::dropped);
+    }
 
-        throw new EnrollmentException("Student not enrolled or waitlisted in " + courseCode);
+    /**
+     * Gives a claimed seat to the waitlist head, or releases it if nobody is
+     * waiting. Caller holds the course lock, so no waitlist write can land
+     * meanwhile; an enroll that lost the race for this seat claims it again
+     * after joining the waitlist. droppedId, if not null, is the student
+     * whose drop freed the seat, published together with the outcome and
+     * always before the seat is released, so no snapshot overfills.
+     */
+    private Optional<String> passSeat(String courseCode, String droppedId) {
+        ChangeSet dropped = droppedId == null
+            ? ChangeSet.empty()
+            : ChangeSet.empty().removed(droppedId, courseCode);
+        Optional<Enrollment> head = enrollmentRepo.pollWaitlistHead(courseCode);
+        if (head.isPresent()) {
+            String promotedId = head.get().getStudentId();
+            try {
+                enrollmentRepo.save(new Enrollment(promotedId, courseCode, EnrollmentStatus.ENROLLED));
+            } catch (RuntimeException e) {
+                // The head already left the waitlist
+                publish(dropped.removed(promotedId, courseCode));
+                seats.release(courseCode);
+                logger.error("Failed to promote " + promotedId + " in " + courseCode + ": " + e.getMessage());
+                throw e;
+            }
+            publish(dropped.enrolled(promotedId, courseCode));
+            logger.info("PROMOTE " + promotedId + " -> " + courseCode);
+            return Optional.of(promotedId);
+        }
+        publish(dropped);
+        seats.release(courseCode);
+        return Optional.empty();
     }
 
     //Query Operations
     
+    /**
+     * A student's 1-based place on a course's waitlist, empty if not waitlisted.
+     */
+    public OptionalInt getWaitlistPosition(String studentId, String courseCode) {
+        return enrollmentRepo.waitlistPosition(studentId, courseCode);
+    }
+    
     public CourseEnrollmentInfo getCourseEnrollmentInfo(String courseCode) throws EnrollmentException {
         Optional<Course> courseOpt = courseRepo.findByCode(courseCode);
         if (courseOpt.isEmpty()) {
@@ -182,6 +577,80 @@ public class RegistrationService {
         return new CourseEnrollmentInfo(course, enrolled, waitlisted);
     }
 
+    //Roster Set Queries
+    
+    /**
+     * Students enrolled in every one of the given courses.
+     */
+    public List<String> findStudentsInAllCourses(Collection<String> courseCodes) throws EnrollmentException {
+        return rosterIndex(courseCodes).inAll(courseCodes);
+    }
+    
+    public int countStudentsInAllCourses(Collection<String> courseCodes) throws EnrollmentException {
+        return rosterIndex(courseCodes).countInAll(courseCodes);
+    }
+    
+    /**
+     * Students enrolled in at least one of the given courses.
+     */
+    public List<String> findStudentsInAnyCourse(Collection<String> courseCodes) throws EnrollmentException {
+        return rosterIndex(courseCodes).inAny(courseCodes);
+    }
+    
+    public int countStudentsInAnyCourse(Collection<String> courseCodes) throws EnrollmentException {
+        return rosterIndex(courseCodes).countInAny(courseCodes);
+    }
+    
+    /**
+     * Students enrolled in courseCode but in none of the excluded courses.
+     */
+    public List<String> findStudentsInCourseExcluding(String courseCode, Collection<String> excluded)
+            throws EnrollmentException {
+        return rosterIndex(withCourse(courseCode, excluded)).inFirstOnly(courseCode, excluded);
+    }
+    
+    public int countStudentsInCourseExcluding(String courseCode, Collection<String> excluded)
+            throws EnrollmentException {
+        return rosterIndex(withCourse(courseCode, excluded)).countInFirstOnly(courseCode, excluded);
+    }
+    
+    /**
+     * Codes of every course in a department, e.g. "CSCI" for CSCI4490.
+     */
+    public List<String> getDepartmentCourseCodes(String department) {
+        List<String> codes = new ArrayList<>();
+        for (Course course : courseRepo.findByCodePrefix(department)) {
+            codes.add(course.getCode());
+        }
+        return codes;
+    }
+    
+    // The repository's live index, or one built from the rosters of just these courses
+    private RosterIndex rosterIndex(Collection<String> courseCodes) throws EnrollmentException {
+        for (String courseCode : courseCodes) {
+            if (!courseRepo.exists(courseCode)) {
+                throw new EnrollmentException("Course " + courseCode + " not found");
+            }
+        }
+        Optional<RosterIndex> live = enrollmentRepo.getRosterIndex();
+        if (live.isPresent()) {
+            return live.get();
+        }
+        RosterIndex index = new RosterIndex();
+        for (String courseCode : courseCodes) {
+            for (Enrollment e : enrollmentRepo.findByCourseAndStatus(courseCode, EnrollmentStatus.ENROLLED)) {
+                index.add(e.getStudentId(), courseCode);
+            }
+        }
+        return index;
+    }
+    
+    private static List<String> withCourse(String courseCode, Collection<String> others) {
+        List<String> all = new ArrayList<>(others);
+        all.add(courseCode);
+        return all;
+    }
+
     //Result Classes
     
     public static class EnrollmentResult {
@@ -211,22 +680,28 @@ public class RegistrationService {
     public static class DropResult {
         private final String message;
         private final String promotedStudentId;
+        private final boolean removedFromWaitlist;
 
-        private DropResult(String message, String promotedStudentId) {
+        private DropResult(String message, String promotedStudentId, boolean removedFromWaitlist) {
             this.message = message;
             this.promotedStudentId = promotedStudentId;
+            this.removedFromWaitlist = removedFromWaitlist;
         }
 
         public static DropResult dropped() {
-            return new DropResult("Dropped.", null);
+            return new DropResult("Dropped.", null, false);
         }
 
         public static DropResult droppedWithPromotion(String promotedId) {
-            return new DropResult("Dropped. Promoted " + promotedId + " from waitlist.", promotedId);
+            return new DropResult("Dropped. Promoted " + promotedId + " from waitlist.", promotedId, false);
         }
 
         public static DropResult removedFromWaitlist() {
-            return new DropResult("Removed from waitlist.", null);
+            return new DropResult("Removed from waitlist.", null, true);
+        }
+
+        public boolean isRemovedFromWaitlist() {
+            return removedFromWaitlist;
         }
 
         public String getMessage() {
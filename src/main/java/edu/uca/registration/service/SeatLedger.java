@@ -0,0 +1,60 @@
+package edu.uca.registration.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per-course counters of claimed ENROLLED seats for the lock-free
+ * enrollment path.
+ *
+ * A seat is claimed by compare-and-set before the enrollment is written
+ * and released if that write fails or the student later drops without a
+ * promotion, so the counter never lets a course exceed its capacity even
+ * while writes are in flight. Each counter is seeded from the repository
+ * the first time its course is touched; every ENROLLED write after that
+ * must go through the service.
+ */
+final class SeatLedger {
+    private final ConcurrentHashMap<String, AtomicInteger> claimed = new ConcurrentHashMap<>();
+    private final ToIntFunction<String> seed;
+
+    /**
+     * @param seed current ENROLLED count of a course, read once per course
+     */
+    SeatLedger(ToIntFunction<String> seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Claims one seat unless capacity is already claimed.
+     */
+    boolean tryClaim(String courseCode, int capacity) {
+        AtomicInteger seats = counter(courseCode);
+        while (true) {
+            int current = seats.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (seats.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(String courseCode) {
+        counter(courseCode).decrementAndGet();
+    }
+
+    int claimed(String courseCode) {
+        return counter(courseCode).get();
+    }
+
+    private AtomicInteger counter(String courseCode) {
+        AtomicInteger seats = claimed.get(courseCode);
+        if (seats != null) {
+            return seats;
+        }
+        return claimed.computeIfAbsent(courseCode, code -> new AtomicInteger(seed.applyAsInt(code)));
+    }
+}
@@ -0,0 +1,181 @@
+package edu.uca.registration.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import edu.uca.registration.service.RegistrationService.CourseEnrollmentInfo;
+import edu.uca.registration.service.RegistrationService.DropResult;
+import edu.uca.registration.service.RegistrationService.EnrollmentResult;
+import edu.uca.registration.util.Config;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Single-writer execution mode for enrollment commands.
+ *
+ * Commands are routed by course-code hash to one of N shards. Each shard is
+ * one thread draining a bounded ring buffer in arrival order, so every
+ * command for a course runs on the same thread, one at a time, and
+ * waitlist order is simply the order commands were accepted. Commands for
+ * the same course never wait on each other for the course lock inside
+ * {@link RegistrationService}, but that lock is striped, so courses on
+ * different shards can still share a stripe and briefly contend. Callers
+ * get futures; when a shard's buffer is full, submitting blocks until it
+ * drains.
+ *
+ * Futures complete on the shard thread, so callers should attach heavy
+ * continuations with the {@code *Async} methods to keep shards free.
+ * All enroll and drop traffic for a service must go through one pipeline.
+ * This is a library mode for embedding callers: {@code Main} and the CLI
+ * call the service directly, and {@code enrollment.shards} only applies
+ * when a pipeline is built from a {@link Config}.
+ */
+public class ShardedRegistrationService implements AutoCloseable {
+    private final RegistrationService service;
+    private final Shard[] shards;
+    private final Logger logger;
+    // Submitters hold the read lock so close() cannot slip a stop marker ahead of them
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    public ShardedRegistrationService(RegistrationService service, Config config, Logger logger) {
+        this(service, config.getShardCount(), config.getShardQueueCapacity(), logger);
+    }
+
+    public ShardedRegistrationService(RegistrationService service, int shardCount, int queueCapacity,
+                                      Logger logger) {
+        if (shardCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Shard count and queue capacity must be positive");
+        }
+        this.service = service;
+        this.logger = logger;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity);
+            shards[i].start();
+        }
+        logger.info("Started " + shardCount + " enrollment shards");
+    }
+
+    public CompletableFuture<EnrollmentResult> enrollStudent(String studentId, String courseCode) {
+        return submit(courseCode, () -> service.enrollStudent(studentId, courseCode));
+    }
+
+    public CompletableFuture<DropResult> dropStudent(String studentId, String courseCode) {
+        return submit(courseCode, () -> service.dropStudent(studentId, courseCode));
+    }
+
+    /**
+     * Runs on the course's shard, so it sees every command accepted before it.
+     */
+    public CompletableFuture<CourseEnrollmentInfo> getCourseEnrollmentInfo(String courseCode) {
+        return submit(courseCode, () -> service.getCourseEnrollmentInfo(courseCode));
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Index of the shard that owns courseCode.
+     */
+    public int shardOf(String courseCode) {
+        int h = courseCode.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    /**
+     * Stops accepting commands, lets every shard drain what it already
+     * accepted, and waits for the shard threads to finish.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Shard shard : shards) {
+                shard.finish();
+            }
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(String courseCode, Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Shard shard = shards[shardOf(courseCode == null ? "" : courseCode)];
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                result.completeExceptionally(new RejectedExecutionException("Enrollment shards are closed"));
+                return result;
+            }
+            shard.queue.put(() -> {
+                try {
+                    result.complete(call.call());
+                } catch (Throwable e) {
+                    // An Error must not kill the shard and strand the commands queued behind it
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private final class Shard extends Thread {
+        private final BlockingQueue<Runnable> queue;
+        // Queued behind everything accepted before close()
+        private final Runnable poison = () -> { };
+
+        Shard(int index, int queueCapacity) {
+            super("enrollment-shard-" + index);
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            setDaemon(true);
+        }
+
+        void finish() {
+            try {
+                queue.put(poison);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable command;
+                try {
+                    command = queue.take();
+                } catch (InterruptedException e) {
+                    logger.warn(getName() + " interrupted, stopping");
+                    return;
+                }
+                if (command == poison) {
+                    return;
+                }
+                command.run();
+            }
+        }
+    }
+}
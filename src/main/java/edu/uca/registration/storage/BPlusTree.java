@@ -0,0 +1,373 @@
+package edu.uca.registration.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * B+tree over byte-string keys stored in the pages of a {@link StorageEngine}.
+ *
+ * Keys are ordered by unsigned byte comparison, leaves are chained left to
+ * right for range scans, and nodes split when their encoding outgrows a page.
+ * Deletes only remove the leaf entry; underfull pages are not merged, which
+ * keeps every update to a single root-to-leaf path.
+ *
+ * Mutations must run inside {@link StorageEngine#write}.
+ */
+public final class BPlusTree {
+    public static final int MAX_KEY_SIZE = 255;
+    public static final int MAX_VALUE_SIZE = 1024;
+
+    private static final byte LEAF = 1;
+    private static final byte BRANCH = 2;
+    // type byte, entry count, next leaf / leftmost child
+    private static final int NODE_HEADER = 7;
+
+    private final StorageEngine engine;
+    private final int slot;
+
+    /**
+     * Receives entries in key order; returning false stops the scan.
+     */
+    public interface EntryVisitor {
+        boolean visit(byte[] key, byte[] value);
+    }
+
+    BPlusTree(StorageEngine engine, int slot) {
+        this.engine = engine;
+        this.slot = slot;
+    }
+
+    public byte[] get(byte[] key) {
+        synchronized (engine) {
+            try {
+                int pageId = engine.rootOf(slot);
+                if (pageId == 0) {
+                    return null;
+                }
+                Node node = readNode(pageId);
+                while (!node.leaf) {
+                    node = readNode(node.children.get(childIndex(node, key)));
+                }
+                int idx = search(node.keys, key);
+                return idx >= 0 ? node.values.get(idx) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Inserts or replaces the value for key.
+     * @return true if the key was not present before
+     */
+    public boolean put(byte[] key, byte[] value) {
+        if (key.length > MAX_KEY_SIZE) {
+            throw new IllegalArgumentException("Key exceeds " + MAX_KEY_SIZE + " bytes");
+        }
+        if (value.length > MAX_VALUE_SIZE) {
+            throw new IllegalArgumentException("Value exceeds " + MAX_VALUE_SIZE + " bytes");
+        }
+        synchronized (engine) {
+            engine.checkWritable();
+            try {
+                int root = engine.rootOf(slot);
+                if (root == 0) {
+                    Node leaf = new Node(true);
+                    leaf.keys.add(key);
+                    leaf.values.add(value);
+                    int pageId = engine.allocatePage();
+                    writeNode(pageId, leaf);
+                    engine.setRoot(slot, pageId);
+                    engine.adjustSize(slot, 1);
+                    return true;
+                }
+
+                Insert result = new Insert();
+                insert(root, key, value, result);
+                if (result.splitKey != null) {
+                    Node branch = new Node(false);
+                    branch.children.add(root);
+                    branch.keys.add(result.splitKey);
+                    branch.children.add(result.splitPage);
+                    int pageId = engine.allocatePage();
+                    writeNode(pageId, branch);
+                    engine.setRoot(slot, pageId);
+                }
+                if (result.added) {
+                    engine.adjustSize(slot, 1);
+                }
+                return result.added;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public boolean delete(byte[] key) {
+        synchronized (engine) {
+            engine.checkWritable();
+            try {
+                int pageId = engine.rootOf(slot);
+                if (pageId == 0) {
+                    return false;
+                }
+                Node node = readNode(pageId);
+                while (!node.leaf) {
+                    pageId = node.children.get(childIndex(node, key));
+                    node = readNode(pageId);
+                }
+                int idx = search(node.keys, key);
+                if (idx < 0) {
+                    return false;
+                }
+                node.keys.remove(idx);
+                node.values.remove(idx);
+                writeNode(pageId, node);
+                engine.adjustSize(slot, -1);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Visits every entry whose key starts with prefix, in key order.
+     * An empty prefix visits the whole tree.
+     */
+    public void scan(byte[] prefix, EntryVisitor visitor) {
+        walk(prefix, prefix, visitor);
+    }
+
+    /**
+     * Visits every entry whose key is greater than or equal to from, in key
+     * order, until the visitor returns false.
+     */
+    public void scanFrom(byte[] from, EntryVisitor visitor) {
+        walk(from, new byte[0], visitor);
+    }
+
+    private void walk(byte[] from, byte[] prefix, EntryVisitor visitor) {
+        synchronized (engine) {
+            try {
+                int pageId = engine.rootOf(slot);
+                if (pageId == 0) {
+                    return;
+                }
+                Node node = readNode(pageId);
+                while (!node.leaf) {
+                    node = readNode(node.children.get(childIndex(node, from)));
+                }
+                int idx = search(node.keys, from);
+                idx = idx >= 0 ? idx : -idx - 1;
+                while (true) {
+                    for (; idx < node.keys.size(); idx++) {
+                        byte[] key = node.keys.get(idx);
+                        if (!startsWith(key, prefix) || !visitor.visit(key, node.values.get(idx))) {
+                            return;
+                        }
+                    }
+                    if (node.next == 0) {
+                        return;
+                    }
+                    node = readNode(node.next);
+                    idx = 0;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Number of entries, kept in the file header so it is O(1).
+     */
+    public int size() {
+        synchronized (engine) {
+            try {
+                return engine.sizeOf(slot);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void insert(int pageId, byte[] key, byte[] value, Insert result) throws IOException {
+        Node node = readNode(pageId);
+        if (node.leaf) {
+            int idx = search(node.keys, key);
+            if (idx >= 0) {
+                if (Arrays.equals(node.values.get(idx), value)) {
+                    return;
+                }
+                node.values.set(idx, value);
+            } else {
+                node.keys.add(-idx - 1, key);
+                node.values.add(-idx - 1, value);
+                result.added = true;
+            }
+        } else {
+            int child = childIndex(node, key);
+            insert(node.children.get(child), key, value, result);
+            if (result.splitKey == null) {
+                return;
+            }
+            node.keys.add(child, result.splitKey);
+            node.children.add(child + 1, result.splitPage);
+            result.splitKey = null;
+        }
+
+        if (node.encodedSize() <= PageFile.PAGE_SIZE) {
+            writeNode(pageId, node);
+        } else {
+            split(pageId, node, result);
+        }
+    }
+
+    private void split(int pageId, Node node, Insert result) throws IOException {
+        int n = node.keys.size();
+        int half = node.encodedSize() / 2;
+        int used = NODE_HEADER;
+        int m = 0;
+        while (m < n - 2 && used < half) {
+            used += node.entrySize(m);
+            m++;
+        }
+        m = Math.max(m, 1);
+
+        Node right = new Node(node.leaf);
+        int rightId = engine.allocatePage();
+        if (node.leaf) {
+            // Right leaf takes entries [m, n); its first key becomes the separator
+            right.keys.addAll(node.keys.subList(m, n));
+            right.values.addAll(node.values.subList(m, n));
+            node.keys.subList(m, n).clear();
+            node.values.subList(m, n).clear();
+            right.next = node.next;
+            node.next = rightId;
+            result.splitKey = right.keys.get(0);
+        } else {
+            // Key m moves up; right branch takes keys (m, n) and children (m, n]
+            result.splitKey = node.keys.get(m);
+            right.keys.addAll(node.keys.subList(m + 1, n));
+            right.children.addAll(node.children.subList(m + 1, n + 1));
+            node.keys.subList(m, n).clear();
+            node.children.subList(m + 1, n + 1).clear();
+        }
+        result.splitPage = rightId;
+        writeNode(rightId, right);
+        writeNode(pageId, node);
+    }
+
+    private Node readNode(int pageId) throws IOException {
+        ByteBuffer data = engine.page(pageId).data.duplicate().clear();
+        byte type = data.get();
+        int count = data.getShort() & 0xFFFF;
+        int link = data.getInt();
+        if (type != LEAF && type != BRANCH) {
+            throw new IOException("Page " + pageId + " is not a tree node");
+        }
+
+        Node node = new Node(type == LEAF);
+        if (node.leaf) {
+            node.next = link;
+            for (int i = 0; i < count; i++) {
+                node.keys.add(readBytes(data));
+                node.values.add(readBytes(data));
+            }
+        } else {
+            node.children.add(link);
+            for (int i = 0; i < count; i++) {
+                node.keys.add(readBytes(data));
+                node.children.add(data.getInt());
+            }
+        }
+        return node;
+    }
+
+    private void writeNode(int pageId, Node node) throws IOException {
+        // Fetch after any recursion: the page may have been evicted and reloaded meanwhile
+        Page page = engine.page(pageId);
+        engine.modify(page);
+        ByteBuffer data = page.data.duplicate().clear();
+        data.put(node.leaf ? LEAF : BRANCH);
+        data.putShort((short) node.keys.size());
+        data.putInt(node.leaf ? node.next : node.children.get(0));
+        for (int i = 0; i < node.keys.size(); i++) {
+            writeBytes(data, node.keys.get(i));
+            if (node.leaf) {
+                writeBytes(data, node.values.get(i));
+            } else {
+                data.putInt(node.children.get(i + 1));
+            }
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer data) {
+        byte[] bytes = new byte[data.getShort() & 0xFFFF];
+        data.get(bytes);
+        return bytes;
+    }
+
+    private static void writeBytes(ByteBuffer data, byte[] bytes) {
+        data.putShort((short) bytes.length);
+        data.put(bytes);
+    }
+
+    private static int search(List<byte[]> keys, byte[] key) {
+        return Collections.binarySearch(keys, key, Arrays::compareUnsigned);
+    }
+
+    // Children left of keys[i] hold smaller keys; keys equal to a separator go right
+    private static int childIndex(Node node, byte[] key) {
+        int idx = search(node.keys, key);
+        return idx >= 0 ? idx + 1 : -idx - 1;
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length
+            && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static final class Node {
+        final boolean leaf;
+        final List<byte[]> keys = new ArrayList<>();
+        final List<byte[]> values;
+        final List<Integer> children;
+        int next;
+
+        Node(boolean leaf) {
+            this.leaf = leaf;
+            this.values = leaf ? new ArrayList<>() : null;
+            this.children = leaf ? null : new ArrayList<>();
+        }
+
+        int entrySize(int i) {
+            return leaf
+                ? 4 + keys.get(i).length + values.get(i).length
+                : 6 + keys.get(i).length;
+        }
+
+        int encodedSize() {
+            int size = NODE_HEADER;
+            for (int i = 0; i < keys.size(); i++) {
+                size += entrySize(i);
+            }
+            return size;
+        }
+    }
+
+    private static final class Insert {
+        boolean added;
+        byte[] splitKey;
+        int splitPage;
+    }
+}
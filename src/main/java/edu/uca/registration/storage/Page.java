@@ -0,0 +1,18 @@
+package edu.uca.registration.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One cached page. The buffer always spans exactly {@link PageFile#PAGE_SIZE} bytes.
+ */
+final class Page {
+    final int id;
+    final ByteBuffer data;
+    // Changed since it was last written to the page file
+    boolean dirty;
+
+    Page(int id) {
+        this.id = id;
+        this.data = ByteBuffer.allocate(PageFile.PAGE_SIZE);
+    }
+}
@@ -0,0 +1,162 @@
+package edu.uca.registration.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of pages in front of a {@link PageFile}.
+ *
+ * Pages modified by the open transaction are pinned until it commits or
+ * rolls back, and their before-images are kept so a failed operation can be
+ * undone. Committed dirty pages may be evicted at any time; the log is
+ * synced first so the page file never gets ahead of it.
+ */
+final class PageCache {
+    private final PageFile file;
+    private final WriteAheadLog wal;
+    private final int capacity;
+    private final LinkedHashMap<Integer, Page> pages;
+    // Pages touched by the open transaction -> before-image (null for pages created in it)
+    private final Map<Integer, byte[]> touched;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    PageCache(PageFile file, WriteAheadLog wal, int capacity) {
+        if (capacity < 8) {
+            throw new IllegalArgumentException("Page cache needs at least 8 pages");
+        }
+        this.file = file;
+        this.wal = wal;
+        this.capacity = capacity;
+        this.pages = new LinkedHashMap<>(capacity * 2, 0.75f, true);
+        this.touched = new LinkedHashMap<>();
+    }
+
+    Page get(int pageId) throws IOException {
+        Page page = pages.get(pageId);
+        if (page != null) {
+            hits++;
+            return page;
+        }
+        misses++;
+        page = new Page(pageId);
+        file.read(pageId, page.data);
+        pages.put(pageId, page);
+        evictIfNeeded();
+        return page;
+    }
+
+    /**
+     * Adds a zeroed page that does not exist in the page file yet.
+     */
+    Page create(int pageId) throws IOException {
+        Page page = new Page(pageId);
+        page.dirty = true;
+        touched.put(pageId, null);
+        pages.put(pageId, page);
+        evictIfNeeded();
+        return page;
+    }
+
+    /**
+     * Must be called before the page's bytes are changed.
+     */
+    void modify(Page page) {
+        if (!touched.containsKey(page.id)) {
+            byte[] before = new byte[PageFile.PAGE_SIZE];
+            page.data.duplicate().clear().get(before);
+            touched.put(page.id, before);
+        }
+        page.dirty = true;
+    }
+
+    boolean inTransaction() {
+        return !touched.isEmpty();
+    }
+
+    /**
+     * Pages changed by the open transaction, in the order they were first touched.
+     */
+    List<Page> changedPages() {
+        List<Page> changed = new ArrayList<>(touched.size());
+        for (Integer pageId : touched.keySet()) {
+            changed.add(pages.get(pageId));
+        }
+        return changed;
+    }
+
+    /**
+     * Ends the open transaction; its pages become ordinary dirty pages.
+     */
+    void commit() {
+        touched.clear();
+    }
+
+    /**
+     * Restores every page touched by the open transaction.
+     */
+    void rollback() {
+        for (Map.Entry<Integer, byte[]> entry : touched.entrySet()) {
+            byte[] before = entry.getValue();
+            if (before == null) {
+                pages.remove(entry.getKey());
+            } else {
+                pages.get(entry.getKey()).data.duplicate().clear().put(before);
+            }
+        }
+        touched.clear();
+    }
+
+    /**
+     * Writes every committed dirty page to the page file.
+     */
+    void writeBack() throws IOException {
+        wal.sync();
+        for (Page page : pages.values()) {
+            if (page.dirty && !touched.containsKey(page.id)) {
+                file.write(page.id, page.data);
+                page.dirty = false;
+            }
+        }
+    }
+
+    int size() {
+        return pages.size();
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+
+    long getEvictions() {
+        return evictions;
+    }
+
+    private void evictIfNeeded() throws IOException {
+        if (pages.size() <= capacity) {
+            return;
+        }
+        Iterator<Page> it = pages.values().iterator();
+        while (pages.size() > capacity && it.hasNext()) {
+            Page page = it.next();
+            if (touched.containsKey(page.id)) {
+                continue;
+            }
+            if (page.dirty) {
+                wal.sync();
+                file.write(page.id, page.data);
+            }
+            it.remove();
+            evictions++;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package edu.uca.registration.storage;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A database file made of fixed-size pages addressed by page number.
+ * Page n lives at byte offset n * PAGE_SIZE.
+ */
+final class PageFile implements Closeable {
+    static final int PAGE_SIZE = 4096;
+
+    private final FileChannel channel;
+
+    PageFile(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Number of whole pages currently in the file.
+     */
+    int pageCount() throws IOException {
+        return (int) (channel.size() / PAGE_SIZE);
+    }
+
+    void read(int pageId, ByteBuffer dst) throws IOException {
+        dst.clear();
+        long position = (long) pageId * PAGE_SIZE;
+        while (dst.hasRemaining()) {
+            int n = channel.read(dst, position + dst.position());
+            if (n < 0) {
+                throw new EOFException("Page " + pageId + " is beyond the end of the file");
+            }
+        }
+        dst.flip();
+    }
+
+    void write(int pageId, ByteBuffer src) throws IOException {
+        ByteBuffer data = src.duplicate().clear();
+        long position = (long) pageId * PAGE_SIZE;
+        while (data.hasRemaining()) {
+            channel.write(data, position + data.position());
+        }
+    }
+
+    void sync() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
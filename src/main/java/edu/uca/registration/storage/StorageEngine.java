@@ -0,0 +1,299 @@
+package edu.uca.registration.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import edu.uca.registration.util.FlushPolicy;
+
+/**
+ * Embedded single-file storage engine: fixed-size pages, a bounded page
+ * cache, a redo write-ahead log and up to {@link #MAX_TREES} B+trees.
+ *
+ * Every change runs inside {@link #write}, which logs the full images of
+ * the pages it touched as one atomic batch. The page file itself is only
+ * brought up to date by {@link #checkpoint()} (or by cache eviction), after
+ * which the log is discarded. On open, any log left behind by a crash is
+ * replayed first.
+ *
+ * The {@link FlushPolicy} decides when the log is forced to disk: on every
+ * commit (SYNC), every batchSize commits (BATCH) or at most once per
+ * interval (INTERVAL). Commits are always written to the log file, so only
+ * an operating system crash can lose the unforced tail.
+ *
+ * Page 0 is the header: magic, version, page count, sequence counter, then
+ * the root page and entry count of each tree.
+ */
+public final class StorageEngine implements Closeable {
+    public static final int MAX_TREES = 8;
+
+    private static final int MAGIC = 0x55434144;
+    private static final int VERSION = 1;
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 4;
+    private static final int OFF_PAGE_COUNT = 8;
+    private static final int OFF_SEQUENCE = 12;
+    private static final int OFF_ROOTS = 20;
+    private static final int OFF_SIZES = OFF_ROOTS + 4 * MAX_TREES;
+    private static final String WAL_SUFFIX = ".wal";
+    // Checkpoint once the log grows past this many bytes
+    private static final long CHECKPOINT_THRESHOLD = 16L << 20;
+
+    private final PageFile file;
+    private final WriteAheadLog wal;
+    private final PageCache cache;
+    private final FlushPolicy policy;
+    private final BPlusTree[] trees;
+    private int unsyncedCommits;
+    private long lastSync;
+    private boolean writing;
+
+    private StorageEngine(PageFile file, WriteAheadLog wal, int cachePages, FlushPolicy policy) {
+        this.file = file;
+        this.wal = wal;
+        this.cache = new PageCache(file, wal, cachePages);
+        this.policy = policy;
+        this.trees = new BPlusTree[MAX_TREES];
+        for (int i = 0; i < MAX_TREES; i++) {
+            trees[i] = new BPlusTree(this, i);
+        }
+        this.lastSync = System.currentTimeMillis();
+    }
+
+    /**
+     * Opens (or creates) the database file at path, replaying its log if needed.
+     * @param cachePages maximum number of pages kept in memory
+     */
+    public static StorageEngine open(String path, int cachePages, FlushPolicy policy) throws IOException {
+        Path dataPath = Path.of(path).toAbsolutePath();
+        PageFile file = new PageFile(dataPath);
+        WriteAheadLog wal;
+        try {
+            wal = new WriteAheadLog(dataPath.resolveSibling(dataPath.getFileName() + WAL_SUFFIX));
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+
+        try {
+            if (wal.size() > 0) {
+                wal.replay(file);
+                file.sync();
+                wal.reset();
+            }
+            StorageEngine engine = new StorageEngine(file, wal, cachePages, policy);
+            if (file.pageCount() == 0) {
+                engine.initialize();
+            } else {
+                engine.verifyHeader(path);
+            }
+            return engine;
+        } catch (IOException | RuntimeException e) {
+            wal.close();
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the tree stored in the given header slot.
+     */
+    public BPlusTree tree(int slot) {
+        if (slot < 0 || slot >= MAX_TREES) {
+            throw new IllegalArgumentException("Tree slot must be between 0 and " + (MAX_TREES - 1));
+        }
+        return trees[slot];
+    }
+
+    /**
+     * Runs operation as one atomic, logged transaction. If it throws, every
+     * page it changed is restored. Nested calls join the outer transaction.
+     */
+    public synchronized <T> T write(Supplier<T> operation) {
+        if (writing) {
+            return operation.get();
+        }
+        writing = true;
+        try {
+            T result = operation.get();
+            commit();
+            return result;
+        } catch (IOException e) {
+            cache.rollback();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | Error e) {
+            cache.rollback();
+            throw e;
+        } finally {
+            writing = false;
+        }
+    }
+
+    /**
+     * Next value of a persistent counter, for callers that need insertion order.
+     * Must be called inside {@link #write}.
+     */
+    public synchronized long nextSequence() {
+        checkWritable();
+        try {
+            Page header = cache.get(0);
+            long next = header.data.getLong(OFF_SEQUENCE) + 1;
+            cache.modify(header);
+            header.data.putLong(OFF_SEQUENCE, next);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes every committed page to the page file, forces it and truncates the log.
+     */
+    public synchronized void checkpoint() throws IOException {
+        if (!writing) {
+            writeCheckpoint();
+        }
+    }
+
+    public synchronized long getCacheHits() {
+        return cache.getHits();
+    }
+
+    public synchronized long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    public synchronized long getCacheEvictions() {
+        return cache.getEvictions();
+    }
+
+    public synchronized int getCachedPages() {
+        return cache.size();
+    }
+
+    public synchronized long getLogSize() {
+        return wal.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            checkpoint();
+        } finally {
+            wal.close();
+            file.close();
+        }
+    }
+
+    void checkWritable() {
+        if (!writing) {
+            throw new IllegalStateException("Tree changes must run inside StorageEngine.write");
+        }
+    }
+
+    Page page(int pageId) throws IOException {
+        return cache.get(pageId);
+    }
+
+    void modify(Page page) {
+        cache.modify(page);
+    }
+
+    int allocatePage() throws IOException {
+        Page header = cache.get(0);
+        int pageId = header.data.getInt(OFF_PAGE_COUNT);
+        cache.modify(header);
+        header.data.putInt(OFF_PAGE_COUNT, pageId + 1);
+        cache.create(pageId);
+        return pageId;
+    }
+
+    int rootOf(int slot) throws IOException {
+        return cache.get(0).data.getInt(OFF_ROOTS + 4 * slot);
+    }
+
+    void setRoot(int slot, int pageId) throws IOException {
+        Page header = cache.get(0);
+        cache.modify(header);
+        header.data.putInt(OFF_ROOTS + 4 * slot, pageId);
+    }
+
+    int sizeOf(int slot) throws IOException {
+        return cache.get(0).data.getInt(OFF_SIZES + 4 * slot);
+    }
+
+    void adjustSize(int slot, int delta) throws IOException {
+        Page header = cache.get(0);
+        cache.modify(header);
+        int offset = OFF_SIZES + 4 * slot;
+        header.data.putInt(offset, header.data.getInt(offset) + delta);
+    }
+
+    private void commit() throws IOException {
+        if (!cache.inTransaction()) {
+            return;
+        }
+        wal.append(cache.changedPages());
+        cache.commit();
+
+        unsyncedCommits++;
+        long now = System.currentTimeMillis();
+        boolean force;
+        switch (policy.getMode()) {
+            case BATCH:
+                force = unsyncedCommits >= policy.getBatchSize();
+                break;
+            case INTERVAL:
+                force = now - lastSync >= policy.getIntervalMillis();
+                break;
+            default:
+                force = true;
+                break;
+        }
+        if (force) {
+            wal.sync();
+            unsyncedCommits = 0;
+            lastSync = now;
+        }
+
+        if (wal.size() >= CHECKPOINT_THRESHOLD) {
+            writeCheckpoint();
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        cache.writeBack();
+        file.sync();
+        wal.reset();
+        unsyncedCommits = 0;
+        lastSync = System.currentTimeMillis();
+    }
+
+    private void initialize() throws IOException {
+        write(() -> {
+            try {
+                Page header = cache.create(0);
+                header.data.putInt(OFF_MAGIC, MAGIC);
+                header.data.putInt(OFF_VERSION, VERSION);
+                header.data.putInt(OFF_PAGE_COUNT, 1);
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        checkpoint();
+    }
+
+    private void verifyHeader(String path) throws IOException {
+        Page header = cache.get(0);
+        if (header.data.getInt(OFF_MAGIC) != MAGIC) {
+            throw new IOException(path + " is not a registration database");
+        }
+        int version = header.data.getInt(OFF_VERSION);
+        if (version != VERSION) {
+            throw new IOException(path + " has unsupported version " + version);
+        }
+    }
+}
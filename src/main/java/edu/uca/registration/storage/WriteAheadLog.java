@@ -0,0 +1,132 @@
+package edu.uca.registration.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Redo log of full page images.
+ *
+ * Every commit appends one batch: magic, page count, (page id, page image)
+ * per changed page, CRC32 of the batch. Replaying is idempotent, so a crash
+ * during recovery is harmless, and a torn tail batch fails its checksum and
+ * is ignored. Because whole images are logged, a page torn while being
+ * written to the page file is repaired by the next replay.
+ */
+final class WriteAheadLog implements Closeable {
+    private static final int BATCH_MAGIC = 0x57414C31;
+    private static final int MAX_BATCH_PAGES = 1 << 16;
+
+    private final FileChannel channel;
+    private long size;
+    private boolean unsynced;
+
+    WriteAheadLog(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.size = channel.size();
+    }
+
+    void append(List<Page> pages) throws IOException {
+        int entrySize = 4 + PageFile.PAGE_SIZE;
+        ByteBuffer batch = ByteBuffer.allocate(12 + pages.size() * entrySize);
+        batch.putInt(BATCH_MAGIC).putInt(pages.size());
+        for (Page page : pages) {
+            batch.putInt(page.id).put(page.data.duplicate().clear());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(batch.array(), 0, batch.position());
+        batch.putInt((int) crc.getValue());
+        batch.flip();
+
+        while (batch.hasRemaining()) {
+            channel.write(batch, size + batch.position());
+        }
+        size += batch.limit();
+        unsynced = true;
+    }
+
+    /**
+     * Forces appended batches to disk, if there are any.
+     */
+    void sync() throws IOException {
+        if (unsynced) {
+            channel.force(false);
+            unsynced = false;
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Discards the log once the page file holds everything in it.
+     */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.force(false);
+        size = 0;
+        unsynced = false;
+    }
+
+    /**
+     * Writes every complete batch into the page file, in log order.
+     * @return number of batches applied
+     */
+    int replay(PageFile file) throws IOException {
+        int applied = 0;
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        while (readFully(header, position)) {
+            int magic = header.getInt(0);
+            int count = header.getInt(4);
+            if (magic != BATCH_MAGIC || count < 1 || count > MAX_BATCH_PAGES) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(8 + count * (4 + PageFile.PAGE_SIZE) + 4);
+            if (!readFully(body, position)) {
+                break;
+            }
+            int crcOffset = body.limit() - 4;
+            CRC32 crc = new CRC32();
+            crc.update(body.array(), 0, crcOffset);
+            if ((int) crc.getValue() != body.getInt(crcOffset)) {
+                break;
+            }
+
+            body.position(8);
+            ByteBuffer image = ByteBuffer.allocate(PageFile.PAGE_SIZE);
+            for (int i = 0; i < count; i++) {
+                int pageId = body.getInt();
+                image.clear();
+                body.get(image.array());
+                file.write(pageId, image);
+            }
+            position += body.limit();
+            applied++;
+        }
+        return applied;
+    }
+
+    private boolean readFully(ByteBuffer dst, long position) throws IOException {
+        dst.clear();
+        while (dst.hasRemaining()) {
+            if (channel.read(dst, position + dst.position()) < 0) {
+                return false;
+            }
+        }
+        dst.flip();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
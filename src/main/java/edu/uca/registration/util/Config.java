@@ -4,6 +4,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 
@@ -23,6 +26,16 @@ public class Config {
         properties.setProperty("students.file", "students.csv");
         properties.setProperty("courses.file", "courses.csv");
         properties.setProperty("enrollments.file", "enrollments.csv");
+        properties.setProperty("students.binary.file", "students.bin");
+        properties.setProperty("enrollments.binary.file", "enrollments.bin");
+        properties.setProperty("storage.format", "csv");
+        properties.setProperty("storage.paged.file", "registration.db");
+        properties.setProperty("storage.page.cache.size", "1024");
+        properties.setProperty("enrollments.journal", "false");
+        properties.setProperty("enrollments.store", "indexed");
+        properties.setProperty("persistence.flush.mode", "sync");
+        properties.setProperty("persistence.flush.interval.ms", "1000");
+        properties.setProperty("persistence.flush.batch.size", "500");
         properties.setProperty("log.level", "INFO");
     }
 
@@ -64,6 +77,12 @@ public class Config {
         }
     }
 
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        if (value == null) return defaultValue;
+        return Boolean.parseBoolean(value.trim());
+    }
+
     public String getStudentsFile() {
         return get("students.file");
     }
@@ -76,6 +95,104 @@ public class Config {
         return get("enrollments.file");
     }
 
+    public String getStudentsBinaryFile() {
+        return get("students.binary.file");
+    }
+
+    public String getEnrollmentsBinaryFile() {
+        return get("enrollments.binary.file");
+    }
+
+    public String getPagedFile() {
+        return get("storage.paged.file");
+    }
+
+    public int getPageCacheSize() {
+        return Math.max(8, getInt("storage.page.cache.size", 1024));
+    }
+
+    public StorageFormat getStorageFormat() {
+        try {
+            return StorageFormat.valueOf(get("storage.format", "csv").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return StorageFormat.CSV;
+        }
+    }
+
+    public boolean isEnrollmentJournalEnabled() {
+        return getBoolean("enrollments.journal", false);
+    }
+
+    public boolean isCompactEnrollmentStore() {
+        return "compact".equalsIgnoreCase(get("enrollments.store", "indexed").trim());
+    }
+
+    public boolean isOffHeapEnrollmentStore() {
+        return "offheap".equalsIgnoreCase(get("enrollments.store", "indexed").trim());
+    }
+
+    public boolean isAtomicSeatReservation() {
+        return "atomic".equalsIgnoreCase(get("enrollment.seats", "locked").trim());
+    }
+
+    public int getShardCount() {
+        return Math.max(1, getInt("enrollment.shards", Runtime.getRuntime().availableProcessors()));
+    }
+
+    public int getShardQueueCapacity() {
+        return Math.max(1, getInt("enrollment.shard.queue", 1024));
+    }
+
+    public int getAdmissionConcurrency() {
+        return Math.max(1, getInt("admission.concurrency", 1));
+    }
+
+    public int getAdmissionQueueDepth() {
+        return Math.max(0, getInt("admission.queue.depth", 256));
+    }
+
+    public long getAdmissionWaitMillis() {
+        return Math.max(0, getInt("admission.wait.ms", 2000));
+    }
+
+    /**
+     * Changes a replication primary keeps for replicas to fetch; a replica
+     * further behind than this reloads from a snapshot instead.
+     */
+    public int getReplicationLogSize() {
+        return Math.max(1, getInt("replication.log.size", 10000));
+    }
+
+    /**
+     * Cluster node addresses from cluster.nodes, e.g. "127.0.0.1:7101,127.0.0.1:7102".
+     * Every router must list the same nodes in any order.
+     */
+    public List<InetSocketAddress> getClusterNodes() {
+        List<InetSocketAddress> nodes = new ArrayList<>();
+        for (String part : get("cluster.nodes", "").split(",")) {
+            String node = part.trim();
+            int colon = node.lastIndexOf(':');
+            if (colon > 0) {
+                nodes.add(new InetSocketAddress(node.substring(0, colon), Integer.parseInt(node.substring(colon + 1))));
+            } else if (!node.isEmpty()) {
+                throw new IllegalArgumentException("Expected host:port in cluster.nodes, got " + node);
+            }
+        }
+        return nodes;
+    }
+
+    public FlushPolicy getFlushPolicy() {
+        FlushPolicy.Mode mode;
+        try {
+            mode = FlushPolicy.Mode.valueOf(get("persistence.flush.mode", "sync").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            mode = FlushPolicy.Mode.SYNC;
+        }
+        int interval = Math.max(1, getInt("persistence.flush.interval.ms", 1000));
+        int batchSize = Math.max(1, getInt("persistence.flush.batch.size", 500));
+        return new FlushPolicy(mode, interval, batchSize);
+    }
+
     public Logger.LogLevel getLogLevel() {
         String level = get("log.level", "INFO").toUpperCase();
         try {
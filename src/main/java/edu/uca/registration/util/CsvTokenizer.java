@@ -0,0 +1,111 @@
+package edu.uca.registration.util;
+
+/**
+ * Reads the delimited fields of one line in place, for the repository loaders.
+ *
+ * Unlike {@code String.split} there is no regex and no intermediate array:
+ * the tokenizer walks the line once, {@link #next()} allocates only the
+ * field it returns, and numbers and enum constants are parsed straight from
+ * the line without a substring. Fields are returned as written (not
+ * trimmed), matching what {@code split} handed the model constructors.
+ *
+ * One instance per line; not thread-safe.
+ */
+public final class CsvTokenizer {
+    private final String line;
+    private final char delimiter;
+    // Start of the next field, or line.length() + 1 once every field is read
+    private int pos;
+
+    public CsvTokenizer(String line, char delimiter) {
+        this.line = line;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Number of fields on the whole line, as {@code split(delimiter, -1)} would count them.
+     */
+    public int fieldCount() {
+        int count = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == delimiter) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean hasNext() {
+        return pos <= line.length();
+    }
+
+    public String next() {
+        int start = pos;
+        return line.substring(start, advance());
+    }
+
+    /**
+     * Parses the next field as a decimal int, ignoring surrounding whitespace.
+     */
+    public int nextInt() {
+        int start = pos;
+        int end = advance();
+        start = trimStart(start, end);
+        return Integer.parseInt(line, start, trimEnd(start, end), 10);
+    }
+
+    /**
+     * Parses the next field as a decimal long, ignoring surrounding whitespace.
+     */
+    public long nextLong() {
+        int start = pos;
+        int end = advance();
+        start = trimStart(start, end);
+        return Long.parseLong(line, start, trimEnd(start, end), 10);
+    }
+
+    /**
+     * Matches the next field against the constant names, ignoring case.
+     *
+     * @param constants the enum's {@code values()}, cached by the caller
+     */
+    public <E extends Enum<E>> E nextEnum(E[] constants) {
+        int start = pos;
+        int length = advance() - start;
+        for (E constant : constants) {
+            String name = constant.name();
+            if (name.length() == length && line.regionMatches(true, start, name, 0, length)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No " + constants.getClass().getComponentType().getSimpleName()
+            + " named " + line.substring(start, start + length));
+    }
+
+    // Moves past the current field and its delimiter; returns where the field ends
+    private int advance() {
+        if (!hasNext()) {
+            throw new IllegalArgumentException("Expected more fields in: " + line);
+        }
+        int end = line.indexOf(delimiter, pos);
+        if (end < 0) {
+            end = line.length();
+        }
+        pos = end + 1;
+        return end;
+    }
+
+    private int trimStart(int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.uca.registration.util;
+
+//Durability policy for the file based repositories.
+
+public class FlushPolicy {
+    private final Mode mode;
+    private final long intervalMillis;
+    private final int batchSize;
+
+    public enum Mode {
+        // Write to disk inside every mutating call
+        SYNC,
+        // Write dirty state from a background thread every interval
+        INTERVAL,
+        // Write from a background thread once batchSize mutations are pending
+        // (and at least every interval so a partial batch is never stranded)
+        BATCH
+    }
+
+    public FlushPolicy(Mode mode, long intervalMillis, int batchSize) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Flush mode cannot be null");
+        }
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Flush batch size must be positive");
+        }
+
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    public static FlushPolicy sync() {
+        return new FlushPolicy(Mode.SYNC, 1000, 1);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public String toString() {
+        return mode + " interval=" + intervalMillis + "ms batch=" + batchSize;
+    }
+}
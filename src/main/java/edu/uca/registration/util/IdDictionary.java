@@ -0,0 +1,95 @@
+package edu.uca.registration.util;
+
+import java.util.Arrays;
+
+/**
+ * Assigns dense int ordinals (0, 1, 2, ...) to strings such as student IDs
+ * and course codes, so they can be stored in primitive arrays instead of as
+ * object references.
+ *
+ * Lookups use an open-addressing table of ordinals; each string is kept
+ * once, in the ordinal-indexed name array. Ordinals are never reused.
+ * Not thread-safe: callers synchronize.
+ */
+public final class IdDictionary {
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] names;
+    // Open-addressing table of ordinals, NONE where empty
+    private int[] table;
+    private int size;
+
+    public IdDictionary() {
+        this.names = new String[INITIAL_CAPACITY];
+        this.table = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(table, NONE);
+    }
+
+    /**
+     * Returns the ordinal of name, assigning the next one if it is new.
+     */
+    public int intern(String name) {
+        int slot = find(name);
+        if (table[slot] != NONE) {
+            return table[slot];
+        }
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        names[size] = name;
+        table[slot] = size;
+        size++;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return size - 1;
+    }
+
+    /**
+     * Returns the ordinal of name, or -1 if it was never interned.
+     */
+    public int lookup(String name) {
+        return table[find(name)];
+    }
+
+    public String name(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("No name with ordinal " + ordinal);
+        }
+        return names[ordinal];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Slot holding name's ordinal, or the empty slot where it would go
+    private int find(String name) {
+        int mask = table.length - 1;
+        int slot = mix(name.hashCode()) & mask;
+        while (table[slot] != NONE && !names[table[slot]].equals(name)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        Arrays.fill(table, NONE);
+        int mask = capacity - 1;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            int slot = mix(names[ordinal].hashCode()) & mask;
+            while (table[slot] != NONE) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = ordinal;
+        }
+    }
+
+    // Spreads similar IDs ("B0001", "B0002", ...) across the table
+    static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
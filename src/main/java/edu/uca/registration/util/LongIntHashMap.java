@@ -0,0 +1,123 @@
+package edu.uca.registration.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative long keys to int values,
+ * without boxing either side. Uses linear probing with backward-shift
+ * deletion, so there are no tombstones to clean up.
+ *
+ * Typical keys pack two ordinals from an {@link IdDictionary}:
+ * {@code ((long) a << 32) | b}. Not thread-safe: callers synchronize.
+ */
+public final class LongIntHashMap {
+    private static final long EMPTY = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongIntHashMap() {
+        this.keys = new long[INITIAL_CAPACITY];
+        this.values = new int[INITIAL_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Packs two non-negative ints into one key.
+     */
+    public static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the value for key, or missing if absent
+     */
+    public int get(long key, int missing) {
+        int slot = find(key);
+        return keys[slot] == EMPTY ? missing : values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return keys[find(key)] != EMPTY;
+    }
+
+    public void put(long key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must be non-negative");
+        }
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * @return the removed value, or missing if key was absent
+     */
+    public int remove(long key, int missing) {
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            return missing;
+        }
+        int removed = values[slot];
+        int mask = keys.length - 1;
+        // Shift later entries of the probe run back so lookups never hit a gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        return IdDictionary.mix(Long.hashCode(key)) & mask;
+    }
+}
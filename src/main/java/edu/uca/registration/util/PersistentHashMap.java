@@ -0,0 +1,300 @@
+package edu.uca.registration.util;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map with structural sharing (a hash array mapped trie).
+ *
+ * {@link #plus} and {@link #minus} return a new map and leave this one
+ * untouched, copying only the O(log32 n) nodes on the path to the changed
+ * key, so old versions stay valid and can be read without locks while newer
+ * ones are built. Keys must be non-null and immutable in their hash.
+ */
+public final class PersistentHashMap<K, V> {
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        if (root == null) {
+            return null;
+        }
+        Object value = root.find(0, hash(key), key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    public boolean containsKey(K key) {
+        return root != null && root.find(0, hash(key), key) != NOT_FOUND;
+    }
+
+    /**
+     * This map with key mapped to value.
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        boolean[] added = new boolean[1];
+        Node start = root == null ? BitmapNode.EMPTY : root;
+        Node updated = start.assoc(0, hash(key), key, value, added);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(updated, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * This map without key.
+     */
+    public PersistentHashMap<K, V> minus(K key) {
+        if (root == null) {
+            return this;
+        }
+        Node updated = root.without(0, hash(key), key);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(updated, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((k, v) -> action.accept((K) k, (V) v));
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    private interface Node {
+        Object find(int shift, int hash, Object key);
+
+        // Returns this when nothing changed; sets added[0] for a new key
+        Node assoc(int shift, int hash, Object key, Object value, boolean[] added);
+
+        // Returns this when key is absent and null when the node becomes empty
+        Node without(int shift, int hash, Object key);
+
+        void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Up to 32 slots selected by 5 bits of the hash. Each present slot is a
+     * key/value pair in {@code array}, or a null key followed by a child node.
+     */
+    private static final class BitmapNode implements Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + 5, hash, key);
+            }
+            return key.equals(k) ? v : NOT_FOUND;
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int i = index(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                Object[] grown = new Object[array.length + 2];
+                System.arraycopy(array, 0, grown, 0, 2 * i);
+                grown[2 * i] = key;
+                grown[2 * i + 1] = value;
+                System.arraycopy(array, 2 * i, grown, 2 * i + 2, array.length - 2 * i);
+                return new BitmapNode(bitmap | bit, grown);
+            }
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                Node child = ((Node) v).assoc(shift + 5, hash, key, value, added);
+                return child == v ? this : with(2 * i + 1, child);
+            }
+            if (key.equals(k)) {
+                return value == v ? this : with(2 * i + 1, value);
+            }
+            // Two keys share this slot: push both one level down
+            added[0] = true;
+            Node child = pair(shift + 5, k, v, hash, key, value);
+            Object[] copy = array.clone();
+            copy[2 * i] = null;
+            copy[2 * i + 1] = child;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(shift + 5, hash, key);
+                if (child == v) {
+                    return this;
+                }
+                return child != null ? with(2 * i + 1, child) : remove(bit, i);
+            }
+            return key.equals(k) ? remove(bit, i) : this;
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+
+        private BitmapNode with(int index, Object value) {
+            Object[] copy = array.clone();
+            copy[index] = value;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private BitmapNode remove(int bit, int i) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, 2 * i);
+            System.arraycopy(array, 2 * i + 2, shrunk, 2 * i, shrunk.length - 2 * i);
+            return new BitmapNode(bitmap ^ bit, shrunk);
+        }
+
+        private static Node pair(int shift, Object k1, Object v1, int hash2, Object k2, Object v2) {
+            int hash1 = hash(k1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {k1, v1, k2, v2});
+            }
+            boolean[] ignored = new boolean[1];
+            return EMPTY.assoc(shift, hash1, k1, v1, ignored).assoc(shift, hash2, k2, v2, ignored);
+        }
+    }
+
+    /**
+     * Keys whose full hashes are equal, searched linearly.
+     */
+    private static final class CollisionNode implements Node {
+        final int hash;
+        final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        public Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                // Different hash: nest this node under a bitmap node at this level
+                Node parent = new BitmapNode(bit(this.hash, shift), new Object[] {null, this});
+                return parent.assoc(shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            added[0] = true;
+            Object[] grown = Arrays.copyOf(array, array.length + 2);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            return new CollisionNode(hash, grown);
+        }
+
+        @Override
+        public Node without(int shift, int hash, Object key) {
+            int i = hash == this.hash ? indexOf(key) : -1;
+            if (i < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, i);
+            System.arraycopy(array, i + 2, shrunk, i, shrunk.length - i);
+            return new CollisionNode(hash, shrunk);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,580 @@
+package edu.uca.registration.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the style of Roaring bitmaps.
+ *
+ * Values are split by their high 16 bits into chunks. Each chunk stores its
+ * low 16 bits either as a sorted array (up to {@link #ARRAY_LIMIT} values)
+ * or as a 65536-bit bitmap, whichever is smaller, switching as the chunk
+ * grows or shrinks. Set operations work chunk by chunk, and the
+ * cardinality variants count without building a result.
+ *
+ * Not thread-safe: callers synchronize.
+ */
+public final class RoaringBitmap {
+    static final int ARRAY_LIMIT = 4096;
+
+    // High 16 bits of each chunk, sorted, with the matching containers
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int chunks;
+
+    public RoaringBitmap() {
+    }
+
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return true if value was not already present
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char high = (char) (value >>> 16);
+        int i = indexOf(high);
+        if (i < 0) {
+            i = -i - 1;
+            insertChunk(i, high, new ArrayContainer());
+        }
+        Container container = containers[i];
+        int before = container.cardinality;
+        containers[i] = container.add((char) value);
+        return containers[i].cardinality > before;
+    }
+
+    /**
+     * @return true if value was present
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        Container container = containers[i];
+        int before = container.cardinality;
+        Container updated = container.remove((char) value);
+        if (updated.cardinality == 0) {
+            removeChunk(i);
+        } else {
+            containers[i] = updated;
+        }
+        return updated.cardinality < before;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < chunks; i++) {
+            total += containers[i].cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return chunks == 0;
+    }
+
+    /**
+     * Visits every value in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunks; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] n = new int[1];
+        forEach(v -> values[n[0]++] = v);
+        return values;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.containers = new Container[containers.length];
+        for (int i = 0; i < chunks; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.chunks = chunks;
+        return copy;
+    }
+
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.chunks && j < b.chunks) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.appendChunk(a.keys[i], a.containers[i].and(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.chunks || j < b.chunks) {
+            if (j == b.chunks || (i < a.chunks && a.keys[i] < b.keys[j])) {
+                result.appendChunk(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i == a.chunks || a.keys[i] > b.keys[j]) {
+                result.appendChunk(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.appendChunk(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds every value of other to this bitmap, reusing this bitmap's
+     * containers where it can instead of building a new bitmap.
+     */
+    public void orWith(RoaringBitmap other) {
+        for (int j = 0; j < other.chunks; j++) {
+            int i = indexOf(other.keys[j]);
+            if (i < 0) {
+                insertChunk(-i - 1, other.keys[j], other.containers[j].copy());
+            } else {
+                containers[i] = containers[i].orInPlace(other.containers[j]);
+            }
+        }
+    }
+
+    /**
+     * Values of a that are not in b.
+     */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.chunks; i++) {
+            while (j < b.chunks && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j < b.chunks && b.keys[j] == a.keys[i]) {
+                result.appendChunk(a.keys[i], a.containers[i].andNot(b.containers[j]));
+            } else {
+                result.appendChunk(a.keys[i], a.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    public static int andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.chunks && j < b.chunks) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                total += a.containers[i].andCardinality(b.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    public static int orCardinality(RoaringBitmap a, RoaringBitmap b) {
+        return a.cardinality() + b.cardinality() - andCardinality(a, b);
+    }
+
+    public static int andNotCardinality(RoaringBitmap a, RoaringBitmap b) {
+        return a.cardinality() - andCardinality(a, b);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RoaringBitmap)) return false;
+        RoaringBitmap other = (RoaringBitmap) o;
+        return cardinality() == other.cardinality() && andCardinality(this, other) == cardinality();
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Bitmap values must be non-negative");
+        }
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(keys, 0, chunks, high);
+    }
+
+    private void insertChunk(int i, char high, Container container) {
+        if (chunks == keys.length) {
+            keys = Arrays.copyOf(keys, chunks * 2);
+            containers = Arrays.copyOf(containers, chunks * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, chunks - i);
+        System.arraycopy(containers, i, containers, i + 1, chunks - i);
+        keys[i] = high;
+        containers[i] = container;
+        chunks++;
+    }
+
+    private void removeChunk(int i) {
+        System.arraycopy(keys, i + 1, keys, i, chunks - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, chunks - i - 1);
+        chunks--;
+        containers[chunks] = null;
+    }
+
+    // Adds a chunk after every existing one; empty results are dropped
+    private void appendChunk(char high, Container container) {
+        if (container.cardinality > 0) {
+            insertChunk(chunks, high, container);
+        }
+    }
+
+    /**
+     * Low 16 bits of the values in one chunk. Mutators return the container
+     * to keep, which may be a converted one.
+     */
+    private abstract static class Container {
+        int cardinality;
+
+        abstract Container add(char low);
+
+        abstract Container remove(char low);
+
+        abstract boolean contains(char low);
+
+        abstract void forEach(int base, IntConsumer action);
+
+        abstract Container copy();
+
+        abstract BitmapContainer toBitmap();
+
+        /**
+         * Union that may modify this container; returns the one to keep.
+         */
+        abstract Container orInPlace(Container other);
+
+        Container and(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).filter(other, true);
+            }
+            if (other instanceof ArrayContainer) {
+                return ((ArrayContainer) other).filter(this, true);
+            }
+            return ((BitmapContainer) this).combine((BitmapContainer) other, Op.AND).shrink();
+        }
+
+        Container or(Container other) {
+            if (this instanceof ArrayContainer && other instanceof ArrayContainer) {
+                return ((ArrayContainer) this).merge((ArrayContainer) other);
+            }
+            // A bitmap side already holds more than an array may, so the result stays a bitmap
+            if (this instanceof BitmapContainer) {
+                return copy().orInPlace(other);
+            }
+            return other.copy().orInPlace(this);
+        }
+
+        Container andNot(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).filter(other, false);
+            }
+            return ((BitmapContainer) this).combine(other.toBitmap(), Op.AND_NOT).shrink();
+        }
+
+        int andCardinality(Container other) {
+            if (this instanceof ArrayContainer) {
+                return ((ArrayContainer) this).countIn(other);
+            }
+            if (other instanceof ArrayContainer) {
+                return ((ArrayContainer) other).countIn(this);
+            }
+            long[] a = ((BitmapContainer) this).words;
+            long[] b = ((BitmapContainer) other).words;
+            int total = 0;
+            for (int w = 0; w < a.length; w++) {
+                total += Long.bitCount(a[w] & b[w]);
+            }
+            return total;
+        }
+    }
+
+    private enum Op { AND, OR, AND_NOT }
+
+    private static final class ArrayContainer extends Container {
+        char[] values;
+
+        ArrayContainer() {
+            this.values = new char[4];
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return toBitmap().add(low);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.words[values[i] >>> 6] |= 1L << values[i];
+            }
+            bitmap.cardinality = cardinality;
+            return bitmap;
+        }
+
+        @Override
+        Container orInPlace(Container other) {
+            return or(other);
+        }
+
+        // Sorted merge of two arrays; a bitmap only if the union outgrows an array
+        Container merge(ArrayContainer other) {
+            if (cardinality + other.cardinality > ARRAY_LIMIT) {
+                BitmapContainer bitmap = toBitmap();
+                bitmap.orInPlace(other);
+                return bitmap.shrink();
+            }
+            char[] result = new char[Math.max(1, cardinality + other.cardinality)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < cardinality && j < other.cardinality) {
+                char a = values[i];
+                char b = other.values[j];
+                if (a <= b) {
+                    i++;
+                    if (a == b) {
+                        j++;
+                    }
+                    result[n++] = a;
+                } else {
+                    j++;
+                    result[n++] = b;
+                }
+            }
+            while (i < cardinality) {
+                result[n++] = values[i++];
+            }
+            while (j < other.cardinality) {
+                result[n++] = other.values[j++];
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        // Values also in other (keep=true) or not in other (keep=false)
+        ArrayContainer filter(Container other, boolean keep) {
+            char[] result = new char[Math.max(1, cardinality)];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i]) == keep) {
+                    result[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        int countIn(Container other) {
+            int total = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    total++;
+                }
+            }
+            return total;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words = new long[1024];
+
+        @Override
+        Container add(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                words[low >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) != 0) {
+                words[low >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return shrink();
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            System.arraycopy(words, 0, copy.words, 0, words.length);
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return this;
+        }
+
+        @Override
+        Container orInPlace(Container other) {
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.cardinality; i++) {
+                    add(array.values[i]);
+                }
+                return this;
+            }
+            long[] others = ((BitmapContainer) other).words;
+            int total = 0;
+            for (int w = 0; w < words.length; w++) {
+                words[w] |= others[w];
+                total += Long.bitCount(words[w]);
+            }
+            cardinality = total;
+            return this;
+        }
+
+        BitmapContainer combine(BitmapContainer other, Op op) {
+            BitmapContainer result = new BitmapContainer();
+            int total = 0;
+            for (int w = 0; w < words.length; w++) {
+                long word;
+                switch (op) {
+                    case AND:
+                        word = words[w] & other.words[w];
+                        break;
+                    case OR:
+                        word = words[w] | other.words[w];
+                        break;
+                    default:
+                        word = words[w] & ~other.words[w];
+                        break;
+                }
+                result.words[w] = word;
+                total += Long.bitCount(word);
+            }
+            result.cardinality = total;
+            return result;
+        }
+
+        // Back to an array once it is small enough to be the cheaper form
+        Container shrink() {
+            if (cardinality > ARRAY_LIMIT) {
+                return this;
+            }
+            char[] values = new char[Math.max(1, cardinality)];
+            int[] n = new int[1];
+            forEach(0, v -> values[n[0]++] = (char) v);
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
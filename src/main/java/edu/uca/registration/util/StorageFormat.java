@@ -0,0 +1,12 @@
+package edu.uca.registration.util;
+
+//On-disk format for the repositories.
+
+public enum StorageFormat {
+    // Full CSV snapshot per repository
+    CSV,
+    // Checksummed binary snapshots for students and enrollments
+    BINARY,
+    // All three repositories in one paged database file (B+trees, page cache, WAL)
+    PAGED
+}
@@ -0,0 +1,45 @@
+package edu.uca.registration.util;
+
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared out by key hash, so operations on the same key
+ * serialize while operations on different keys usually run in parallel.
+ *
+ * Two keys may share a stripe; that only costs some parallelism, never
+ * correctness.
+ */
+public final class StripedLocks {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * @param stripes minimum number of locks, rounded up to a power of two
+     */
+    public StripedLocks(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * The lock guarding key; callers lock and unlock it in a try/finally.
+     */
+    public ReentrantLock forKey(String key) {
+        return locks[IdDictionary.mix(Objects.hashCode(key)) & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,234 @@
+package edu.uca.registration.cluster;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.Main;
+import edu.uca.registration.repository.impl.ConcurrentCourseRepository;
+import edu.uca.registration.repository.impl.ConcurrentEnrollmentRepository;
+import edu.uca.registration.repository.impl.ConcurrentStudentRepository;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.service.RegistrationService.DropResult;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for course-sharded cluster mode.
+ * Test ID Prefix: CT-CLU (Component Test - Cluster)
+ */
+@DisplayName("Cluster Tests")
+class ClusterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Process> processes = new ArrayList<>();
+    private final Logger logger = new Logger("ClusterTest", Logger.LogLevel.ERROR);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (Process process : processes) {
+            process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("CT-CLU-01: The ring spreads courses evenly and a new node only takes keys for itself")
+    void testRingBalanceAndStability() {
+        // Arrange
+        List<String> nodes = new ArrayList<>(List.of("127.0.0.1:7101", "127.0.0.1:7102", "127.0.0.1:7103"));
+        HashRing<String> three = new HashRing<>(nodes, name -> name, HashRing.DEFAULT_VIRTUAL_NODES);
+        nodes.add("127.0.0.1:7104");
+        HashRing<String> four = new HashRing<>(nodes, name -> name, HashRing.DEFAULT_VIRTUAL_NODES);
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            codes.add(String.format("%s%04d", List.of("CSCI", "MATH", "BIOL", "HIST").get(i % 4), i));
+        }
+
+        // Act
+        Map<String, Integer> load = new HashMap<>();
+        int moved = 0;
+        for (String code : codes) {
+            String before = three.ownerOf(code);
+            load.merge(before, 1, Integer::sum);
+            String after = four.ownerOf(code);
+            if (!after.equals(before)) {
+                moved++;
+                assertEquals("127.0.0.1:7104", after, code + " moved between existing nodes");
+            }
+        }
+
+        // Assert - each node near a third, and roughly a quarter of keys move
+        for (int count : load.values()) {
+            assertTrue(count > 700 && count < 1300, "Unbalanced ring: " + load);
+        }
+        assertTrue(moved > 450 && moved < 1100, moved + " keys moved");
+        assertEquals(three.ownerOf("CSCI4490"),
+            new HashRing<>(List.of("127.0.0.1:7103", "127.0.0.1:7101", "127.0.0.1:7102"), name -> name,
+                HashRing.DEFAULT_VIRTUAL_NODES).ownerOf("CSCI4490"));
+    }
+
+    @Test
+    @DisplayName("CT-CLU-02: Three node processes serve their own courses and every node resolves students")
+    void testMultiProcessCluster() throws Exception {
+        // Arrange - three Main processes in cluster node mode, each with its own data directory
+        List<InetSocketAddress> nodes = new ArrayList<>();
+        Map<InetSocketAddress, Path> dirs = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            Path dir = Files.createDirectories(tempDir.resolve("node" + i));
+            InetSocketAddress node = startNode(dir);
+            nodes.add(node);
+            dirs.put(node, dir);
+        }
+
+        try (ClusterRouter router = new ClusterRouter(nodes, logger)) {
+            // Act
+            List<String> courses = new ArrayList<>();
+            for (int c = 0; c < 12; c++) {
+                String code = String.format("CSCI%04d", 1000 + c * 37);
+                courses.add(code);
+                router.addCourse(code, "Course " + c, 2);
+            }
+            for (int i = 0; i < 6; i++) {
+                router.addStudent("B00" + i, "Student " + i, "s" + i + "@uca.edu");
+            }
+            for (String code : courses) {
+                for (int i = 0; i < 3; i++) {
+                    router.enrollStudent("B00" + i, code);
+                }
+            }
+            DropResult drop = router.dropStudent("B000", courses.get(0));
+
+            // Assert - results come back across the wire
+            assertEquals("B002", drop.getPromotedStudentId().orElse(null));
+            assertEquals(2, router.getCourseEnrollmentInfo(courses.get(0)).getEnrolledCount());
+            assertEquals(0, router.getCourseEnrollmentInfo(courses.get(0)).getWaitlistCount());
+            assertEquals(1, router.getCourseEnrollmentInfo(courses.get(1)).getWaitlistCount());
+            assertThrows(EnrollmentException.class, () -> router.enrollStudent("B001", courses.get(1)));
+            assertThrows(EnrollmentException.class, () -> router.addStudent("B001", "Again", "again@uca.edu"));
+            assertThrows(EnrollmentException.class, () -> router.getCourseEnrollmentInfo("NOPE0000"));
+
+            // Each course is stored only by its owner, and every node knows every student
+            for (InetSocketAddress node : nodes) {
+                List<String> stored = Files.readAllLines(dirs.get(node).resolve("courses.csv")).stream()
+                    .filter(line -> !line.isBlank()).map(line -> line.split(",")[0]).toList();
+                for (String code : stored) {
+                    assertEquals(node, router.ownerOf(code));
+                }
+                try (ClusterRouter direct = new ClusterRouter(List.of(node), logger)) {
+                    for (int i = 0; i < 6; i++) {
+                        assertTrue(direct.findStudent("B00" + i).isPresent());
+                    }
+                }
+            }
+            assertEquals(courses.size(), nodes.stream().mapToLong(node -> countCourses(dirs.get(node))).sum());
+            assertEquals("Student 3", router.findStudent("B003").orElseThrow().getName());
+
+            // A node going away only affects its own courses
+            InetSocketAddress lost = router.ownerOf(courses.get(0));
+            processes.get(nodes.indexOf(lost)).destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+            String survivor = courses.stream().filter(code -> !router.ownerOf(code).equals(lost)).findFirst()
+                .orElseThrow();
+            assertThrows(UncheckedIOException.class, () -> router.getCourseEnrollmentInfo(courses.get(0)));
+            assertEquals(2, router.getCourseEnrollmentInfo(survivor).getEnrolledCount());
+        }
+    }
+
+    @Test
+    @DisplayName("CT-CLU-03: A student copy missed by a down node is repaired by retrying, and a new node is resynced")
+    void testStudentCopyRepair() throws Exception {
+        // Arrange - three in-process nodes; pick a student whose copy must reach a node that is down
+        List<RegistrationService> services = new ArrayList<>();
+        List<ClusterNode> running = new ArrayList<>();
+        List<InetSocketAddress> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            services.add(inMemoryService());
+            running.add(new ClusterNode(services.get(i), 0, logger));
+            nodes.add(new InetSocketAddress("127.0.0.1", running.get(i).getPort()));
+        }
+        try (ClusterRouter router = new ClusterRouter(nodes, logger)) {
+            String id = "B100";
+            int down = (nodes.indexOf(router.ownerOf(id)) + 1) % 3;
+            running.get(down).close();
+
+            // Act - the copy to the down node fails, then the node comes back and the add is repeated
+            assertThrows(UncheckedIOException.class, () -> router.addStudent(id, "Ada Lovelace", "ada@uca.edu"));
+            boolean missedWhileDown = services.get(down).findStudent(id).isEmpty();
+            running.set(down, new ClusterNode(services.get(down), nodes.get(down).getPort(), logger));
+            router.addStudent(id, "Ada Lovelace", "ada@uca.edu");
+
+            // Assert - every node has the record; a different record under the ID is still rejected
+            assertTrue(missedWhileDown);
+            for (RegistrationService service : services) {
+                assertEquals("Ada Lovelace", service.findStudent(id).orElseThrow().getName());
+            }
+            assertThrows(EnrollmentException.class, () -> router.addStudent(id, "Someone Else", "else@uca.edu"));
+
+            // A node added later receives existing students once resynced
+            RegistrationService fresh = inMemoryService();
+            running.add(new ClusterNode(fresh, 0, logger));
+            List<InetSocketAddress> grown = new ArrayList<>(nodes);
+            grown.add(new InetSocketAddress("127.0.0.1", running.get(3).getPort()));
+            router.addStudent("B101", "Grace Hopper", "grace@uca.edu");
+            try (ClusterRouter larger = new ClusterRouter(grown, logger)) {
+                assertEquals(2, larger.resyncStudents());
+                assertEquals(0, larger.resyncStudents());
+            }
+            assertEquals(2, fresh.getAllStudents().size());
+        } finally {
+            for (ClusterNode node : running) {
+                node.close();
+            }
+        }
+    }
+
+    private RegistrationService inMemoryService() {
+        return new RegistrationService(new ConcurrentStudentRepository(), new ConcurrentCourseRepository(),
+            new ConcurrentEnrollmentRepository(), logger);
+    }
+
+    private InetSocketAddress startNode(Path dir) throws Exception {
+        Path classes = Path.of(Main.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        ProcessBuilder builder = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", classes.toString(), Main.class.getName(), "--serve", "0")
+            .directory(dir.toFile())
+            .redirectError(ProcessBuilder.Redirect.DISCARD);
+        builder.environment().put("LOG_LEVEL", "ERROR");
+        Process process = builder.start();
+        processes.add(process);
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = out.readLine();
+        assertNotNull(line, "Node process exited before listening");
+        assertTrue(line.startsWith("Listening on "), line);
+        return new InetSocketAddress("127.0.0.1", Integer.parseInt(line.substring("Listening on ".length()).trim()));
+    }
+
+    private static long countCourses(Path dir) {
+        try {
+            return Files.readAllLines(dir.resolve("courses.csv")).stream().filter(line -> !line.isBlank()).count();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package edu.uca.registration.model;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -156,4 +157,15 @@ class StudentTest {
         assertThrows(IllegalArgumentException.class, 
             () -> new Student("B004", "Test", "user domain.com"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("UT-STU-13: Hand-written email check agrees with the original pattern")
+    void testEmailCheckMatchesPattern() {
+        String[] samples = {"a@b", "a+b_c.d-e@x.y-z", "a@b@c", "a@b+c", "a@b_c", "+@x", "@", "a@",
+            "@b", "a b@c", "a@b ", " a@b", "a@b\n", "", "é@b", "a.@.b", "a@@b"};
+        for (String email : samples) {
+            assertEquals(email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$"), Student.isValidEmail(email), email);
+        }
+        assertFalse(Student.isValidEmail(null));
+    }
+}
@@ -1,11 +1,23 @@
 package edu.uca.registration.performance;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -13,15 +25,25 @@ import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import edu.uca.registration.model.Course;
 import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
 import edu.uca.registration.model.Student;
 import edu.uca.registration.repository.CourseRepository;
 import edu.uca.registration.repository.EnrollmentRepository;
 import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.repository.impl.CompactEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvStudentRepository;
+import edu.uca.registration.repository.impl.OffHeapEnrollmentRepository;
+import edu.uca.registration.service.AdmissionController;
 import edu.uca.registration.service.EnrollmentException;
 import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.service.RegistrationService.SeatMode;
+import edu.uca.registration.util.CsvTokenizer;
+import edu.uca.registration.util.FlushPolicy;
 import edu.uca.registration.util.Logger;
 
 /**
@@ -296,6 +318,435 @@ class PerformanceTest {
             String.format("Max capacity enrollment took %dms (expected < 15000ms)", duration));
     }
 
+    @Test
+    @DisplayName("PT-08: Compact enrollment store heap footprint")
+    void testCompactEnrollmentMemory(@TempDir Path tempDir) {
+        // 200,000 enrollments: 20,000 students x 10 courses each across 500 courses
+        List<Enrollment> batch = new ArrayList<>();
+        String[] courses = new String[500];
+        for (int c = 0; c < courses.length; c++) {
+            courses[c] = String.format("COURSE%03d", c);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String id = String.format("S%05d", i);
+            for (int k = 0; k < 10; k++) {
+                EnrollmentStatus status = k < 8 ? EnrollmentStatus.ENROLLED : EnrollmentStatus.WAITLISTED;
+                batch.add(new Enrollment(id, courses[(i + k * 37) % courses.length], status));
+            }
+        }
+        
+        long baseline = usedHeap();
+        CsvEnrollmentRepository indexed =
+            new CsvEnrollmentRepository(tempDir.resolve("indexed.csv").toString(), logger);
+        indexed.saveAll(batch);
+        long indexedBytes = usedHeap() - baseline;
+        assertEquals(10, indexed.findByStudentId("S00042").size());
+        indexed = null;
+        
+        baseline = usedHeap();
+        CompactEnrollmentRepository compact =
+            new CompactEnrollmentRepository(tempDir.resolve("compact.csv").toString(), logger);
+        compact.saveAll(batch);
+        long compactBytes = usedHeap() - baseline;
+        assertEquals(200_000, compact.size());
+        
+        System.out.println("PT-08: Heap for 200,000 enrollments: indexed " + indexedBytes / 1024 / 1024
+            + "MB, compact " + compactBytes / 1024 / 1024 + "MB");
+        
+        // Parallel primitive arrays should need well under half of the object graph
+        assertTrue(compactBytes * 2 < indexedBytes,
+            String.format("Compact store used %d bytes vs %d indexed", compactBytes, indexedBytes));
+    }
+
+    @Test
+    @DisplayName("PT-09: Off-heap enrollment store GC pause comparison")
+    void testOffHeapGcPauses(@TempDir Path tempDir) {
+        List<Enrollment> batch = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            String id = String.format("S%06d", i);
+            EnrollmentStatus status = i % 10 == 0 ? EnrollmentStatus.WAITLISTED : EnrollmentStatus.ENROLLED;
+            batch.add(new Enrollment(id, String.format("COURSE%03d", i % 500), status));
+        }
+        
+        CsvEnrollmentRepository indexed =
+            new CsvEnrollmentRepository(tempDir.resolve("indexed.csv").toString(), logger);
+        indexed.saveAll(batch);
+        long indexedHeap = usedHeap();
+        long indexedPauses = fullGcMillis();
+        assertEquals(400, indexed.countByCourseAndStatus("COURSE007", EnrollmentStatus.ENROLLED));
+        indexed = null;
+        
+        OffHeapEnrollmentRepository offHeap =
+            new OffHeapEnrollmentRepository(tempDir.resolve("offheap.csv").toString(), logger);
+        offHeap.saveAll(batch);
+        batch = null;
+        long offHeapHeap = usedHeap();
+        long offHeapPauses = fullGcMillis();
+        
+        // FIFO order is what dropStudent's promotion relies on
+        assertEquals("S000000", offHeap.pollWaitlistHead("COURSE000").get().getStudentId());
+        assertEquals(2, offHeap.waitlistPosition("S001000", "COURSE000").getAsInt());
+        
+        System.out.println("PT-09: 200,000 enrollments - indexed: heap " + indexedHeap / 1024 / 1024
+            + "MB, 10 full GCs " + indexedPauses + "ms; off-heap: heap " + offHeapHeap / 1024 / 1024
+            + "MB + " + offHeap.getOffHeapBytes() / 1024 / 1024 + "MB direct, 10 full GCs "
+            + offHeapPauses + "ms");
+        
+        assertTrue(offHeapHeap < indexedHeap,
+            String.format("Off-heap store left %d bytes on heap vs %d indexed", offHeapHeap, indexedHeap));
+    }
+
+    @Test
+    @DisplayName("PT-10: Student prefix search at 500,000 students")
+    void testPrefixSearchLatency(@TempDir Path tempDir) {
+        String[] first = {"Alice", "Brian", "Cara", "Dmitri", "Elena", "Farah", "Gustavo", "Hiroshi"};
+        String[] last = {"Smith", "Nguyen", "Okafor", "Garcia", "Kowalski", "Haddad", "Lindqvist", "Park"};
+        List<Student> batch = new ArrayList<>();
+        for (int i = 0; i < 500_000; i++) {
+            String name = first[i % first.length] + " " + last[(i / first.length) % last.length] + i;
+            batch.add(new Student(String.format("S%06d", i), name, "student" + i + "@uca.edu"));
+        }
+        CsvStudentRepository repo = new CsvStudentRepository(tempDir.resolve("students.csv").toString(), logger);
+        repo.saveAll(batch);
+        
+        String[] prefixes = {"smith12", "elena", "student4999", "park", "okafor7", "zzz"};
+        // Warm up
+        for (int i = 0; i < 2000; i++) {
+            repo.searchByPrefix(prefixes[i % prefixes.length], 10);
+        }
+        int searches = 10_000;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < searches; i++) {
+            repo.searchByPrefix(prefixes[i % prefixes.length], 10);
+        }
+        long micros = (System.nanoTime() - startTime) / 1000 / searches;
+        
+        assertEquals(10, repo.searchByPrefix("elena", 10).size());
+        assertEquals("S499999", repo.searchByPrefix("student499999@", 10).get(0).getId());
+        assertTrue(repo.searchByPrefix("zzz", 10).isEmpty());
+        
+        System.out.println("PT-10: Prefix search over 500,000 students: " + micros + "us per lookup");
+        
+        assertTrue(micros < 500,
+            String.format("Prefix search took %dus per lookup (expected < 500us)", micros));
+    }
+
+    @Test
+    @DisplayName("PT-11: Allocations per row when parsing repository CSV lines")
+    void testTokenizerAllocations() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            lines.add(String.format("S%06d,Student Number %d,student%d@uca.edu", i, i, i));
+        }
+        // Warm up both paths so the JIT has settled before measuring
+        for (int round = 0; round < 5; round++) {
+            parseWithSplit(lines);
+            parseWithTokenizer(lines);
+        }
+        
+        long before = allocatedBytes();
+        int splitRows = parseWithSplit(lines);
+        long splitBytes = allocatedBytes() - before;
+        before = allocatedBytes();
+        int tokenizerRows = parseWithTokenizer(lines);
+        long tokenizerBytes = allocatedBytes() - before;
+        
+        assertEquals(lines.size(), splitRows);
+        assertEquals(lines.size(), tokenizerRows);
+        long splitPerRow = splitBytes / lines.size();
+        long tokenizerPerRow = tokenizerBytes / lines.size();
+        System.out.println("PT-11: Bytes allocated per student row: split + regex " + splitPerRow
+            + ", tokenizer " + tokenizerPerRow);
+        
+        assertTrue(tokenizerPerRow < splitPerRow,
+            String.format("Tokenizer allocated %d bytes per row (split + regex %d)", tokenizerPerRow, splitPerRow));
+    }
+
+    @Test
+    @DisplayName("PT-12: Locked vs CAS seat reservation on one hot course at a time")
+    void testSeatReservationContention(@TempDir Path tempDir) throws Exception {
+        // Every enroll gets a seat: each round fills a fresh 500-seat course with the same 500 students
+        int seats = 500;
+        int rounds = 40;
+        StudentRepository students = new InMemoryStudentRepository();
+        CourseRepository courses = new InMemoryCourseRepository();
+        for (int i = 0; i < seats; i++) {
+            students.save(new Student(String.format("S%05d", i), "Student " + i, "s" + i + "@uca.edu"));
+        }
+        for (int r = 0; r < rounds; r++) {
+            courses.save(new Course(String.format("HOT%03d", r), "Registration Morning " + r, seats));
+        }
+        FlushPolicy deferred = new FlushPolicy(FlushPolicy.Mode.INTERVAL, 60_000, 1_000_000);
+        
+        // Warm up both paths
+        for (SeatMode mode : SeatMode.values()) {
+            fillRounds(tempDir, "warmup-" + mode, students, courses, deferred, mode, 8, seats, rounds);
+        }
+        StringBuilder report = new StringBuilder(String.format(
+            "PT-12: %d rounds x %d seated enrolls, one course per round (ms)", rounds, seats));
+        for (int threads : new int[] {1, 8, 64}) {
+            Map<SeatMode, Long> millis = new LinkedHashMap<>();
+            for (SeatMode mode : SeatMode.values()) {
+                millis.put(mode, fillRounds(tempDir, mode + "-" + threads, students, courses, deferred, mode,
+                    threads, seats, rounds));
+            }
+            report.append("\n  ").append(threads).append(" threads:");
+            millis.forEach((mode, ms) -> report.append(' ').append(mode).append(' ').append(ms));
+            // Same workload, so the CAS path must not cost more than a generous margin over the locked one
+            long locked = millis.get(SeatMode.LOCKED);
+            long atomic = millis.get(SeatMode.ATOMIC);
+            assertTrue(atomic <= 2 * locked + 100,
+                String.format("ATOMIC took %dms vs LOCKED %dms at %d threads", atomic, locked, threads));
+        }
+        System.out.println(report);
+    }
+
+    // Each thread enrolls its share of the students into HOT000, then HOT001 and so on,
+    // so all threads claim seats in the same course at once; returns elapsed ms
+    private long fillRounds(Path dir, String name, StudentRepository students, CourseRepository courses,
+                            FlushPolicy flushPolicy, SeatMode mode, int threads, int seats, int rounds)
+            throws Exception {
+        CompactEnrollmentRepository enrollments =
+            new CompactEnrollmentRepository(dir.resolve(name + ".csv").toString(), logger, flushPolicy);
+        RegistrationService shared = new RegistrationService(students, courses, enrollments, logger, mode);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger waitlisted = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int r = 0; r < rounds; r++) {
+                    String courseCode = String.format("HOT%03d", r);
+                    for (int i = first; i < seats; i += threads) {
+                        if (shared.enrollStudent(String.format("S%05d", i), courseCode).isWaitlisted()) {
+                            waitlisted.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(120, TimeUnit.SECONDS);
+        }
+        long millis = (System.nanoTime() - startTime) / 1_000_000;
+        pool.shutdown();
+        
+        // Sanity: the workload only ever took the seat-claim path, in both modes
+        String label = mode + " at " + threads + " threads";
+        assertEquals(0, waitlisted.get(), label);
+        for (int r = 0; r < rounds; r++) {
+            var info = shared.getCourseEnrollmentInfo(String.format("HOT%03d", r));
+            assertEquals(seats, info.getEnrolledCount(), label);
+            assertEquals(0, info.getWaitlistCount(), label);
+        }
+        enrollments.close();
+        return millis;
+    }
+
+    @Test
+    @DisplayName("PT-13: Enroll latency in a registration-open burst, with and without admission control")
+    void testAdmissionTailLatency(@TempDir Path tempDir) throws Exception {
+        int threads = 192;
+        int perThread = 40;
+        StudentRepository students = new InMemoryStudentRepository();
+        CourseRepository courses = new InMemoryCourseRepository();
+        for (int i = 0; i < threads * perThread; i++) {
+            students.save(new Student(String.format("S%05d", i), "Student " + i, "s" + i + "@uca.edu"));
+        }
+        courses.save(new Course("HOT101", "Registration Morning", 500));
+        courses.save(new Course("HOT102", "Registration Morning II", 500));
+        
+        BurstStats open = enrollBurst(tempDir, "open", students, courses, threads, perThread, false);
+        BurstStats admitted = enrollBurst(tempDir, "admitted", students, courses, threads, perThread, true);
+        System.out.println(String.format("PT-13: %d threads x %d enrolls into two courses, latency ms p50/p99/max:"
+            + "%n  no admission control end to end %.1f / %.1f / %.1f, per call %.1f / %.1f / %.1f"
+            + "%n  admission control    end to end %.1f / %.1f / %.1f, per call %.1f / %.1f / %.1f"
+            + "%n  (%d attempts shed, %d enrolls retried)",
+            threads, perThread,
+            open.percentile(50), open.percentile(99), open.percentile(100),
+            open.callPercentile(50), open.callPercentile(99), open.callPercentile(100),
+            admitted.percentile(50), admitted.percentile(99), admitted.percentile(100),
+            admitted.callPercentile(50), admitted.callPercentile(99), admitted.callPercentile(100),
+            admitted.shed, admitted.retried));
+        
+        // Every enroll ran in both modes; nothing was shed without admission control
+        assertEquals(0, open.shed);
+        assertEquals(threads * perThread, admitted.nanos.length);
+        assertEquals(threads * perThread + admitted.shed, admitted.callNanos.length);
+        // With a queue that holds the burst nothing is shed. End to end, queue waits included, the
+        // gate is no faster than the course lock alone (which is why it is off by default), but
+        // it must not add the retry storm a shallow queue does
+        assertEquals(0, admitted.shed);
+        assertTrue(admitted.percentile(99) < 2 * open.percentile(99),
+            String.format("End-to-end p99 %.1fms with admission control vs %.1fms without",
+                admitted.percentile(99), open.percentile(99)));
+    }
+
+    // End-to-end latency of every enroll from its first attempt, the time each single
+    // call blocked (shed or not), how many attempts were shed and how many enrolls retried
+    private static final class BurstStats {
+        final long[] nanos;
+        final long[] callNanos;
+        final int shed;
+        final int retried;
+
+        BurstStats(long[] nanos, long[] callNanos, int shed, int retried) {
+            this.nanos = nanos;
+            this.callNanos = callNanos;
+            this.shed = shed;
+            this.retried = retried;
+        }
+
+        double percentile(int p) {
+            return percentile(nanos, p);
+        }
+
+        double callPercentile(int p) {
+            return percentile(callNanos, p);
+        }
+
+        private static double percentile(long[] sorted, int p) {
+            int index = Math.max(0, (int) Math.ceil(sorted.length * p / 100.0) - 1);
+            return sorted[index] / 1_000_000.0;
+        }
+    }
+
+    // Every thread enrolls its own students at once, as when registration opens;
+    // saves take ~0.2ms as a stand-in for a durable write. Shed callers retry after 10ms
+    // until admitted, so every enroll eventually runs.
+    private BurstStats enrollBurst(Path dir, String name, StudentRepository students, CourseRepository courses,
+                                   int threads, int perThread, boolean admissionControl) throws Exception {
+        FlushPolicy deferred = new FlushPolicy(FlushPolicy.Mode.INTERVAL, 60_000, 1_000_000);
+        CompactEnrollmentRepository enrollments =
+            new CompactEnrollmentRepository(dir.resolve(name + ".csv").toString(), logger, deferred) {
+                @Override
+                public void save(Enrollment enrollment) {
+                    LockSupport.parkNanos(200_000);
+                    super.save(enrollment);
+                }
+            };
+        RegistrationService shared = new RegistrationService(students, courses, enrollments, logger);
+        // The Config defaults: one enroll at a time, and a queue deep enough for the burst
+        AdmissionController admission = new AdmissionController(shared, 1, 256, 2_000, logger);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger shed = new AtomicInteger();
+        AtomicInteger retried = new AtomicInteger();
+        Queue<Long> calls = new ConcurrentLinkedQueue<>();
+        List<Future<List<Long>>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            workers.add(pool.submit(() -> {
+                List<Long> latencies = new ArrayList<>(perThread);
+                start.await();
+                for (int i = first; i < first + perThread; i++) {
+                    String studentId = String.format("S%05d", i);
+                    String courseCode = i % 2 == 0 ? "HOT101" : "HOT102";
+                    // End to end: time spent shed and sleeping before a retry counts too
+                    long begin = System.nanoTime();
+                    boolean wasShed = false;
+                    while (true) {
+                        long call = System.nanoTime();
+                        boolean ran = true;
+                        if (!admissionControl) {
+                            shared.enrollStudent(studentId, courseCode);
+                        } else {
+                            ran = admission.enrollStudent(studentId, courseCode).isAdmitted();
+                        }
+                        calls.add(System.nanoTime() - call);
+                        if (ran) {
+                            break;
+                        }
+                        shed.incrementAndGet();
+                        wasShed = true;
+                        Thread.sleep(10);
+                    }
+                    if (wasShed) {
+                        retried.incrementAndGet();
+                    }
+                    latencies.add(System.nanoTime() - begin);
+                }
+                return latencies;
+            }));
+        }
+        start.countDown();
+        List<Long> all = new ArrayList<>();
+        for (Future<List<Long>> worker : workers) {
+            all.addAll(worker.get(120, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        
+        int stored = 0;
+        for (EnrollmentStatus status : EnrollmentStatus.values()) {
+            stored += enrollments.countByCourseAndStatus("HOT101", status)
+                + enrollments.countByCourseAndStatus("HOT102", status);
+        }
+        assertEquals(threads * perThread, stored, name);
+        enrollments.close();
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] sortedCalls = calls.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new BurstStats(sorted, sortedCalls, shed.get(), retried.get());
+    }
+
+    // How the loaders parsed rows before CsvTokenizer, including the regex
+    // the Student constructor used to run
+    private static int parseWithSplit(List<String> lines) {
+        int rows = 0;
+        for (String line : lines) {
+            String[] parts = line.split(",", -1);
+            if (parts.length >= 3 && parts[2].matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
+                rows += new Student(parts[0], parts[1], parts[2]).getId().length() > 0 ? 1 : 0;
+            }
+        }
+        return rows;
+    }
+
+    private static int parseWithTokenizer(List<String> lines) {
+        int rows = 0;
+        for (String line : lines) {
+            CsvTokenizer fields = new CsvTokenizer(line, ',');
+            if (fields.fieldCount() >= 3) {
+                rows += new Student(fields.next(), fields.next(), fields.next()).getId().length() > 0 ? 1 : 0;
+            }
+        }
+        return rows;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    // Total collector time spent on ten forced full collections
+    private static long fullGcMillis() {
+        long before = gcMillis();
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+        }
+        return gcMillis() - before;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
     // ==================== Helper Classes ====================
     
     static class InMemoryStudentRepository implements StudentRepository {
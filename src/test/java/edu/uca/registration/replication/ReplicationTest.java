@@ -0,0 +1,341 @@
+package edu.uca.registration.replication;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.Main;
+import edu.uca.registration.cluster.ClusterNode;
+import edu.uca.registration.cluster.ClusterRouter;
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.impl.ConcurrentCourseRepository;
+import edu.uca.registration.repository.impl.ConcurrentEnrollmentRepository;
+import edu.uca.registration.repository.impl.ConcurrentStudentRepository;
+import edu.uca.registration.service.ChangeSet;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.EnrollmentSnapshot;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for primary-to-replica log shipping.
+ * Test ID Prefix: CT-REP (Component Test - Replication)
+ */
+@DisplayName("Replication Tests")
+class ReplicationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Logger logger = new Logger("ReplicationTest", Logger.LogLevel.ERROR);
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private final List<Process> processes = new ArrayList<>();
+    private RegistrationService primaryService;
+
+    @BeforeEach
+    void setUp() throws EnrollmentException {
+        primaryService = new RegistrationService(new ConcurrentStudentRepository(), new ConcurrentCourseRepository(),
+            new ConcurrentEnrollmentRepository(), logger, RegistrationService.SeatMode.LOCKED, true);
+        primaryService.addStudent("B001", "Alice", "alice@uca.edu");
+        primaryService.addCourse("CSCI4490", "Software Engineering", 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Process process : processes) {
+            process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+        }
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    @DisplayName("CT-REP-01: A replica applies the primary's changes in order and rejects writes")
+    void testReplicaFollowsPrimary() throws Exception {
+        // Arrange - the replica starts from a snapshot holding B001 and CSCI4490
+        ReplicationPrimary primary = open(new ReplicationPrimary(primaryService, 0, 100, logger));
+        Replica replica = open(new Replica(address(primary), logger));
+        assertTrue(replica.awaitVersion(primaryService.snapshot().getVersion(), 5_000));
+
+        // Act
+        primaryService.addStudent("B002", "Brian", "brian@uca.edu");
+        primaryService.addStudent("B003", "Carla", "carla@uca.edu");
+        primaryService.addCourse("MATH1496", "Calculus I", 50);
+        primaryService.enrollStudent("B001", "CSCI4490");
+        primaryService.enrollStudent("B002", "CSCI4490");
+        primaryService.enrollStudent("B003", "CSCI4490");
+        primaryService.enrollStudent("B003", "MATH1496");
+        primaryService.dropStudent("B001", "CSCI4490");
+        primaryService.enrollStudent("B001", "CSCI4490");
+        long head = primaryService.snapshot().getVersion();
+
+        // Assert - every query answers as on the primary
+        assertTrue(replica.awaitVersion(head, 5_000), "Replica stuck at " + replica.getStats());
+        RegistrationService replicaService = replica.getService();
+        assertEquals("Carla", replicaService.findStudent("B003").orElseThrow().getName());
+        assertEquals(2, replicaService.getCourseEnrollmentInfo("CSCI4490").getEnrolledCount());
+        assertEquals(OptionalInt.of(1), replicaService.getWaitlistPosition("B001", "CSCI4490"));
+        assertEquals(List.of("B002", "B003"),
+            replicaService.findStudentsInAnyCourse(List.of("CSCI4490", "MATH1496")));
+        assertSameState(primaryService.snapshot(), replicaService.snapshot());
+
+        ReplicationStats stats = replica.getStats();
+        assertEquals(head, stats.getAppliedVersion());
+        assertEquals(0, stats.getVersionsBehind());
+        assertEquals(0, stats.getLagMillis());
+        assertEquals(1, stats.getSnapshotsLoaded());
+        waitUntil(() -> primary.getReplicaLag().equals(Map.of("replica-1", 0L)));
+
+        assertThrows(EnrollmentException.class, () -> replicaService.enrollStudent("B002", "MATH1496"));
+        assertThrows(EnrollmentException.class, () -> replicaService.addCourse("BIOL1400", "Biology", 30));
+        assertThrows(EnrollmentException.class,
+            () -> replicaService.putStudent(new Student("B009", "Ivan", "ivan@uca.edu")));
+    }
+
+    @Test
+    @DisplayName("CT-REP-02: A replica that falls behind the log catches up from a snapshot")
+    void testCatchUpFromSnapshot() throws Exception {
+        // Arrange - a replica whose student writes can be held up, and a log of 8 changes
+        AtomicBoolean paused = new AtomicBoolean();
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        ConcurrentStudentRepository slowStudents = new ConcurrentStudentRepository() {
+            @Override
+            public void save(Student student) {
+                if (paused.get()) {
+                    stalled.countDown();
+                    try {
+                        resume.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.save(student);
+            }
+        };
+        ReplicationPrimary primary = open(new ReplicationPrimary(primaryService, 0, 8, logger));
+        Replica replica = open(new Replica(address(primary), slowStudents, new ConcurrentCourseRepository(),
+            new ConcurrentEnrollmentRepository(), logger));
+        primaryService.enrollStudent("B001", "CSCI4490");
+        assertTrue(replica.awaitVersion(primaryService.snapshot().getVersion(), 5_000));
+
+        // Act - the replica stalls on B100 while the primary moves 30 changes on
+        paused.set(true);
+        primaryService.addStudent("B100", "Stalled", "stalled@uca.edu");
+        // Stalled before the log moves on, so the only snapshot comes after resuming
+        assertTrue(stalled.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            String id = String.format("B2%02d", i);
+            primaryService.addStudent(id, "Student " + i, id.toLowerCase() + "@uca.edu");
+            primaryService.enrollStudent(id, "CSCI4490");
+            if (i % 3 == 0) {
+                primaryService.dropStudent(id, "CSCI4490");
+            }
+        }
+        primaryService.enrollStudent("B100", "CSCI4490");
+        long head = primaryService.snapshot().getVersion();
+        waitUntil(() -> primary.getReplicaLag().getOrDefault("replica-1", 0L) > 8);
+        paused.set(false);
+        resume.countDown();
+
+        // Assert
+        assertTrue(replica.awaitVersion(head, 5_000), "Replica stuck at " + replica.getStats());
+        assertEquals(2, replica.getStats().getSnapshotsLoaded());
+        assertSameState(primaryService.snapshot(), replica.getService().snapshot());
+        assertEquals(primaryService.getCourseEnrollmentInfo("CSCI4490").getWaitlistCount(),
+            replica.getService().getCourseEnrollmentInfo("CSCI4490").getWaitlistCount());
+        assertEquals(primaryService.getWaitlistPosition("B100", "CSCI4490"),
+            replica.getService().getWaitlistPosition("B100", "CSCI4490"));
+
+        // And it keeps streaming afterwards
+        primaryService.dropStudent("B001", "CSCI4490");
+        assertTrue(replica.awaitVersion(primaryService.snapshot().getVersion(), 5_000));
+        assertSameState(primaryService.snapshot(), replica.getService().snapshot());
+    }
+
+    @Test
+    @DisplayName("CT-REP-03: A replica process serves reads through a cluster router")
+    void testReplicaProcess() throws Exception {
+        // Arrange - a replica process following this test's primary
+        ReplicationPrimary primary = open(new ReplicationPrimary(primaryService, 0, 100, logger));
+        InetSocketAddress node = startReplica(primary.getPort());
+        ClusterRouter router = open(new ClusterRouter(List.of(node), logger));
+
+        // Act
+        primaryService.addStudent("B002", "Brian", "brian@uca.edu");
+        primaryService.enrollStudent("B001", "CSCI4490");
+        primaryService.enrollStudent("B002", "CSCI4490");
+
+        // Assert
+        waitUntil(() -> enrolledOn(router, "CSCI4490") == 2);
+        assertEquals("Brian", router.findStudent("B002").orElseThrow().getName());
+        assertThrows(EnrollmentException.class, () -> router.enrollStudent("B002", "CSCI4490"));
+        waitUntil(() -> primary.getReplicaLag().values().stream().allMatch(lag -> lag == 0));
+    }
+
+    @Test
+    @DisplayName("CT-REP-04: The change log only exposes consecutive versions to readers")
+    void testChangeLogOrdersHandOffs() throws Exception {
+        // Arrange - a log following version 10
+        ChangeLog log = new ChangeLog(4);
+        log.append(10, ChangeSet.empty());
+        log.start(10);
+
+        // Act - versions 12 and 13 arrive before 11
+        log.append(12, ChangeSet.empty());
+        log.append(13, ChangeSet.empty());
+        List<ChangeLog.Entry> beforeGap = log.read(10, 10, 10);
+        log.append(11, ChangeSet.empty());
+
+        // Assert
+        assertEquals(List.of(), beforeGap);
+        assertEquals(13, log.headVersion());
+        assertEquals(List.of(11L, 12L, 13L), log.read(10, 10, 0).stream().map(entry -> entry.version).toList());
+        assertEquals(List.of(12L), log.read(11, 1, 0).stream().map(entry -> entry.version).toList());
+        assertNull(log.read(9, 10, 0));
+    }
+
+    @Test
+    @DisplayName("CT-REP-05: A replica resyncs from a snapshot when its primary restarts")
+    void testResyncAfterPrimaryRestart() throws Exception {
+        // Arrange - a replica following the first primary to version N
+        ReplicationPrimary first = open(new ReplicationPrimary(primaryService, 0, 100, logger));
+        int port = first.getPort();
+        Replica replica = open(new Replica(address(first), logger));
+        primaryService.enrollStudent("B001", "CSCI4490");
+        long applied = primaryService.snapshot().getVersion();
+        assertTrue(replica.awaitVersion(applied, 5_000));
+
+        // Act - the primary restarts on the same port without B001's enrollment
+        // and counts its own versions past N while the replica waits to reconnect
+        first.close();
+        waitUntil(() -> !replica.getStats().isConnected());
+        RegistrationService restarted = new RegistrationService(new ConcurrentStudentRepository(),
+            new ConcurrentCourseRepository(), new ConcurrentEnrollmentRepository(), logger,
+            RegistrationService.SeatMode.LOCKED, true);
+        restarted.addStudent("B001", "Alice", "alice@uca.edu");
+        restarted.addCourse("CSCI4490", "Software Engineering", 2);
+        assertTrue(restarted.snapshot().getVersion() < applied);
+        open(new ReplicationPrimary(restarted, port, 100, logger));
+        for (int i = 0; i < 5; i++) {
+            String id = String.format("C%03d", i);
+            restarted.addStudent(id, "Student " + i, id.toLowerCase() + "@uca.edu");
+        }
+        restarted.enrollStudent("C000", "CSCI4490");
+        long head = restarted.snapshot().getVersion();
+        assertTrue(head > applied);
+
+        // Assert - the replica holds the restarted primary's state, not N's plus its later changes
+        assertTrue(replica.awaitVersion(head, 5_000), "Replica stuck at " + replica.getStats());
+        assertEquals(2, replica.getStats().getSnapshotsLoaded());
+        assertSameState(restarted.snapshot(), replica.getService().snapshot());
+        assertEquals(List.of("C000"), replica.getService().snapshot().getEnrolledStudents("CSCI4490"));
+    }
+
+    @Test
+    @DisplayName("CT-REP-06: A cluster node serving a replica rejects routed writes")
+    void testReplicaNodeRejectsWrites() throws Exception {
+        // Arrange - a ring of a writable node and a node serving a replica
+        ReplicationPrimary primary = open(new ReplicationPrimary(primaryService, 0, 100, logger));
+        Replica replica = open(new Replica(address(primary), logger));
+        assertTrue(replica.awaitVersion(primaryService.snapshot().getVersion(), 5_000));
+        RegistrationService writable = new RegistrationService(new ConcurrentStudentRepository(),
+            new ConcurrentCourseRepository(), new ConcurrentEnrollmentRepository(), logger);
+        ClusterNode writableNode = open(new ClusterNode(writable, 0, logger));
+        ClusterNode replicaNode = open(new ClusterNode(replica.getService(), 0, logger));
+        ClusterRouter router = open(new ClusterRouter(
+            List.of(nodeAddress(writableNode), nodeAddress(replicaNode)), logger));
+
+        // Act & Assert - whether the replica is the home node or takes the copy
+        for (int i = 0; i < 4; i++) {
+            String id = String.format("B3%02d", i);
+            assertThrows(EnrollmentException.class,
+                () -> router.addStudent(id, "Student", id.toLowerCase() + "@uca.edu"));
+        }
+        writable.addStudent("B400", "Dora", "dora@uca.edu");
+        assertThrows(EnrollmentException.class, router::resyncStudents);
+        assertTrue(replica.getService().findStudent("B400").isEmpty());
+    }
+
+    private <T extends AutoCloseable> T open(T resource) {
+        // Closed in reverse, so replicas go before their primary
+        resources.add(0, resource);
+        return resource;
+    }
+
+    private static InetSocketAddress address(ReplicationPrimary primary) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), primary.getPort());
+    }
+
+    private static InetSocketAddress nodeAddress(ClusterNode node) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), node.getPort());
+    }
+
+    private static void assertSameState(EnrollmentSnapshot expected, EnrollmentSnapshot actual)
+            throws EnrollmentException {
+        assertEquals(expected.getAllStudents().size(), actual.getAllStudents().size());
+        assertEquals(expected.getAllCourses().size(), actual.getAllCourses().size());
+        for (Course course : expected.getAllCourses()) {
+            assertEquals(expected.getEnrolledStudents(course.getCode()), actual.getEnrolledStudents(course.getCode()));
+            assertEquals(expected.getWaitlist(course.getCode()), actual.getWaitlist(course.getCode()));
+        }
+    }
+
+    private static int enrolledOn(ClusterRouter router, String courseCode) {
+        try {
+            return router.getCourseEnrollmentInfo(courseCode).getEnrolledCount();
+        } catch (EnrollmentException e) {
+            // Not replicated yet
+            return -1;
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private InetSocketAddress startReplica(int primaryPort) throws Exception {
+        Path classes = Path.of(Main.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        ProcessBuilder builder = new ProcessBuilder(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", classes.toString(), Main.class.getName(), "--replica", String.valueOf(primaryPort), "0")
+            .directory(tempDir.toFile())
+            .redirectError(ProcessBuilder.Redirect.DISCARD);
+        builder.environment().put("LOG_LEVEL", "ERROR");
+        Process process = builder.start();
+        processes.add(process);
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = out.readLine();
+        assertNotNull(line, "Replica process exited before listening");
+        assertTrue(line.startsWith("Listening on "), line);
+        return new InetSocketAddress("127.0.0.1", Integer.parseInt(line.substring("Listening on ".length()).trim()));
+    }
+}
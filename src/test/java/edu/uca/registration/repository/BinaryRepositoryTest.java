@@ -0,0 +1,112 @@
+package edu.uca.registration.repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.impl.BinaryEnrollmentRepository;
+import edu.uca.registration.repository.impl.BinaryStudentRepository;
+import edu.uca.registration.repository.impl.SnapshotConverter;
+import edu.uca.registration.util.Logger;
+import edu.uca.registration.util.StorageFormat;
+
+/**
+ * Component tests for the binary snapshot repositories and the format converter.
+ * Test ID Prefix: CT-BIN (Component Test - Binary Format)
+ */
+@DisplayName("Binary Repository Tests")
+class BinaryRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = new Logger("BinaryRepositoryTest", Logger.LogLevel.ERROR);
+    }
+
+    @Test
+    @DisplayName("CT-BIN-01: Binary enrollment snapshot round-trips in FIFO order")
+    void testEnrollmentRoundTrip() {
+        // Arrange
+        String file = tempDir.resolve("enrollments.bin").toString();
+        BinaryEnrollmentRepository repo = new BinaryEnrollmentRepository(file, logger);
+        repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.save(new Enrollment("B001", "MATH1496", EnrollmentStatus.ENROLLED));
+
+        // Act
+        BinaryEnrollmentRepository reloaded = new BinaryEnrollmentRepository(file, logger);
+
+        // Assert
+        List<Enrollment> waitlist = reloaded.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED);
+        assertEquals(2, waitlist.size());
+        assertEquals("B002", waitlist.get(0).getStudentId());
+        assertEquals("B003", waitlist.get(1).getStudentId());
+        assertEquals(2, reloaded.findByStudentId("B001").size());
+    }
+
+    @Test
+    @DisplayName("CT-BIN-02: Corrupted binary snapshot is rejected by the checksum")
+    void testCorruptSnapshotRejected() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("students.bin");
+        BinaryStudentRepository repo = new BinaryStudentRepository(file.toString(), logger);
+        repo.save(new Student("B001", "Alice", "alice@uca.edu"));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        // Act
+        BinaryStudentRepository reloaded = new BinaryStudentRepository(file.toString(), logger);
+
+        // Assert
+        assertEquals(0, reloaded.count());
+    }
+
+    @Test
+    @DisplayName("CT-BIN-03: CSV to binary and back preserves every record")
+    void testConverterRoundTrip() throws IOException {
+        // Arrange
+        Path studentsCsv = tempDir.resolve("students.csv");
+        Path enrollmentsCsv = tempDir.resolve("enrollments.csv");
+        Files.writeString(studentsCsv, "B001,Alice,alice@uca.edu\nB002,Brian,brian@uca.edu\n");
+        Files.writeString(enrollmentsCsv,
+            "CSCI4490|B002|ENROLLED|1\nCSCI4490|B001|WAITLISTED|2\nMATH1496|B001|ENROLLED|3\n");
+        Path studentsBin = tempDir.resolve("students.bin");
+        Path enrollmentsBin = tempDir.resolve("enrollments.bin");
+        Path studentsBack = tempDir.resolve("students-back.csv");
+        Path enrollmentsBack = tempDir.resolve("enrollments-back.csv");
+
+        // Act
+        int students = SnapshotConverter.convertStudents(studentsCsv.toString(), StorageFormat.CSV,
+            studentsBin.toString(), StorageFormat.BINARY, logger);
+        int enrollments = SnapshotConverter.convertEnrollments(enrollmentsCsv.toString(), StorageFormat.CSV,
+            enrollmentsBin.toString(), StorageFormat.BINARY, logger);
+        SnapshotConverter.convertStudents(studentsBin.toString(), StorageFormat.BINARY,
+            studentsBack.toString(), StorageFormat.CSV, logger);
+        SnapshotConverter.convertEnrollments(enrollmentsBin.toString(), StorageFormat.BINARY,
+            enrollmentsBack.toString(), StorageFormat.CSV, logger);
+
+        // Assert
+        assertEquals(2, students);
+        assertEquals(3, enrollments);
+        assertEquals(Files.readAllLines(studentsCsv), Files.readAllLines(studentsBack));
+        assertEquals(Files.readAllLines(enrollmentsCsv), Files.readAllLines(enrollmentsBack));
+        assertTrue(Files.size(enrollmentsBin) < Files.size(enrollmentsCsv) * 2);
+    }
+}
@@ -0,0 +1,284 @@
+package edu.uca.registration.repository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.impl.ConcurrentCourseRepository;
+import edu.uca.registration.repository.impl.ConcurrentEnrollmentRepository;
+import edu.uca.registration.repository.impl.ConcurrentStudentRepository;
+import edu.uca.registration.repository.impl.CsvCourseRepository;
+import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvStudentRepository;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for the thread-safe in-memory repositories.
+ * Test ID Prefix: CT-CON (Component Test - Concurrent Repositories)
+ */
+@DisplayName("Concurrent Repository Tests")
+class ConcurrentRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = new Logger("ConcurrentRepositoryTest", Logger.LogLevel.ERROR);
+    }
+
+    @Test
+    @DisplayName("CT-CON-01: Waitlists stay FIFO, status changes move to the back, counters follow")
+    void testFifoAndCounters() {
+        // Arrange
+        ConcurrentEnrollmentRepository repo = new ConcurrentEnrollmentRepository();
+        repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+        for (String id : List.of("B002", "B003", "B004")) {
+            repo.save(new Enrollment(id, "CSCI4490", EnrollmentStatus.WAITLISTED));
+        }
+        repo.save(new Enrollment("B001", "CSCI3381", EnrollmentStatus.ENROLLED));
+
+        // Act - re-save keeps B002's place; B003 is promoted and then waitlisted again
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.ENROLLED));
+        repo.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        Enrollment head = repo.pollWaitlistHead("CSCI4490").orElseThrow();
+
+        // Assert
+        assertEquals("B002", head.getStudentId());
+        assertEquals(List.of("B004", "B003"), ids(repo.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED)));
+        assertEquals(2, repo.waitlistPosition("B003", "CSCI4490").getAsInt());
+        assertEquals(1, repo.countByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED));
+        assertEquals(2, repo.countByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED));
+        assertFalse(repo.exists("B002", "CSCI4490"));
+        assertEquals(List.of("CSCI4490", "CSCI3381"),
+            repo.findByStudentId("B001").stream().map(Enrollment::getCourseCode).toList());
+        assertEquals(List.of("B001"), repo.getRosterIndex().orElseThrow()
+            .inAll(List.of("CSCI4490", "CSCI3381")));
+        assertTrue(repo.delete("B001", "CSCI3381"));
+        assertEquals(0, repo.getRosterIndex().orElseThrow().countEnrolled("CSCI3381"));
+    }
+
+    @Test
+    @DisplayName("CT-CON-02: As a hot tier over CSV files, loads once and writes through in order")
+    void testHotTierWritesThrough() {
+        // Arrange - files with existing content
+        String studentsFile = tempDir.resolve("students.csv").toString();
+        String coursesFile = tempDir.resolve("courses.csv").toString();
+        String enrollmentsFile = tempDir.resolve("enrollments.csv").toString();
+        new CsvStudentRepository(studentsFile, logger).save(new Student("B001", "Ada Lovelace", "ada@uca.edu"));
+        new CsvCourseRepository(coursesFile, logger).save(new Course("CSCI4490", "Software Engineering", 1));
+        CsvEnrollmentRepository seed = new CsvEnrollmentRepository(enrollmentsFile, logger);
+        seed.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+        seed.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+
+        ConcurrentStudentRepository students =
+            new ConcurrentStudentRepository(new CsvStudentRepository(studentsFile, logger));
+        ConcurrentCourseRepository courses =
+            new ConcurrentCourseRepository(new CsvCourseRepository(coursesFile, logger));
+        ConcurrentEnrollmentRepository enrollments = new ConcurrentEnrollmentRepository(
+            new CsvEnrollmentRepository(enrollmentsFile, logger), List.of("CSCI4490"));
+
+        // Act
+        students.save(new Student("B003", "Grace Hopper", "grace@uca.edu"));
+        courses.delete("CSCI4490");
+        courses.save(new Course("CSCI3381", "Object Oriented", 20));
+        enrollments.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        enrollments.pollWaitlistHead("CSCI4490");
+
+        // Assert - memory answers, and a fresh read of the files agrees
+        assertTrue(students.exists("B001"));
+        assertEquals(2, new CsvStudentRepository(studentsFile, logger).count());
+        assertEquals(List.of("CSCI3381"),
+            new CsvCourseRepository(coursesFile, logger).findAll().stream().map(Course::getCode).toList());
+        assertEquals(List.of("B003"), ids(enrollments.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED)));
+        CsvEnrollmentRepository reread = new CsvEnrollmentRepository(enrollmentsFile, logger);
+        assertEquals(List.of("B003"), ids(reread.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED)));
+        assertEquals(List.of("B001"), ids(reread.findByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED)));
+    }
+
+    @Test
+    @DisplayName("CT-CON-03: The service on concurrent repositories keeps capacity and counters under load")
+    void testServiceUnderConcurrentLoad() throws Exception {
+        // Arrange
+        ConcurrentEnrollmentRepository enrollments = new ConcurrentEnrollmentRepository();
+        RegistrationService service = new RegistrationService(new ConcurrentStudentRepository(),
+            new ConcurrentCourseRepository(), enrollments, logger);
+        int courseCount = 8;
+        int capacity = 4;
+        for (int c = 0; c < courseCount; c++) {
+            service.addCourse(String.format("C%02d", c), "Course " + c, capacity);
+        }
+        for (int i = 0; i < 100; i++) {
+            service.addStudent(String.format("S%03d", i), "Student " + i, "s" + i + "@uca.edu");
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // Act - random enrolls and drops from eight threads
+        for (int t = 0; t < 8; t++) {
+            long seed = t;
+            workers.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int op = 0; op < 2000; op++) {
+                    String studentId = String.format("S%03d", random.nextInt(100));
+                    String courseCode = String.format("C%02d", random.nextInt(courseCount));
+                    try {
+                        if (random.nextInt(10) < 6) {
+                            service.enrollStudent(studentId, courseCode);
+                        } else {
+                            service.dropStudent(studentId, courseCode);
+                        }
+                    } catch (EnrollmentException expected) {
+                        // Already enrolled, or nothing to drop
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Assert - counters match the lists, and no seat is free while someone waits
+        for (int c = 0; c < courseCount; c++) {
+            String code = String.format("C%02d", c);
+            int enrolled = enrollments.findByCourseAndStatus(code, EnrollmentStatus.ENROLLED).size();
+            int waitlisted = enrollments.findByCourseAndStatus(code, EnrollmentStatus.WAITLISTED).size();
+            assertEquals(enrolled, enrollments.countByCourseAndStatus(code, EnrollmentStatus.ENROLLED));
+            assertEquals(waitlisted, enrollments.countByCourseAndStatus(code, EnrollmentStatus.WAITLISTED));
+            assertEquals(enrolled + waitlisted, enrollments.findByCourseCode(code).size());
+            assertEquals(enrolled, enrollments.getRosterIndex().orElseThrow().countEnrolled(code));
+            assertTrue(enrolled <= capacity);
+            if (waitlisted > 0) {
+                assertEquals(capacity, enrolled, "Seat left free with a waitlist in " + code);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CT-CON-04: Ordered paging, code prefixes and name search follow saves, renames and deletes")
+    void testOrderedAndPrefixIndexes() {
+        // Arrange - one student and course loaded from a backing store, the rest saved here
+        String studentsFile = tempDir.resolve("students.csv").toString();
+        String coursesFile = tempDir.resolve("courses.csv").toString();
+        new CsvStudentRepository(studentsFile, logger).save(new Student("B003", "Ada Lovelace", "ada@uca.edu"));
+        new CsvCourseRepository(coursesFile, logger).save(new Course("MATH1496", "Calculus I", 30));
+        ConcurrentStudentRepository students =
+            new ConcurrentStudentRepository(new CsvStudentRepository(studentsFile, logger));
+        ConcurrentCourseRepository courses =
+            new ConcurrentCourseRepository(new CsvCourseRepository(coursesFile, logger));
+
+        // Act
+        students.save(new Student("B001", "Grace Hopper", "grace@uca.edu"));
+        students.save(new Student("B002", "Alan Turing", "alan@uca.edu"));
+        students.save(new Student("B002", "Alan M Turing", "turing@uca.edu"));
+        students.save(new Student("B004", "Adele Goldberg", "adele@uca.edu"));
+        students.delete("B004");
+        for (String code : List.of("CSCI4490", "CSCI3381", "CSCI1470", "ENGL1310")) {
+            courses.save(new Course(code, "Course " + code, 30));
+        }
+        courses.delete("CSCI1470");
+
+        // Assert
+        CursorPage<Student> first = students.findPage(null, 2);
+        assertEquals(List.of("B001", "B002"), first.getItems().stream().map(Student::getId).toList());
+        CursorPage<Student> second = students.findPage(first.getNextCursor().orElseThrow(), 2);
+        assertEquals(List.of("B003"), second.getItems().stream().map(Student::getId).toList());
+        assertFalse(second.hasMore());
+        assertEquals(List.of("B003"), students.searchByPrefix("ad", 10).stream().map(Student::getId).toList());
+        assertEquals(List.of("B002"), students.searchByPrefix("tur", 10).stream().map(Student::getId).toList());
+        assertTrue(students.searchByPrefix("alan@", 10).isEmpty());
+        assertEquals(List.of("CSCI3381", "CSCI4490"),
+            courses.findByCodePrefix("CSCI").stream().map(Course::getCode).toList());
+        assertEquals(List.of("ENGL1310", "MATH1496"),
+            courses.findPage("CSCI4490", 5).getItems().stream().map(Course::getCode).toList());
+    }
+
+    @Test
+    @DisplayName("CT-CON-05: Enrolled writes to different courses do not wait on each other or the roster index")
+    void testCoursesDoNotContend() throws Exception {
+        // Arrange - a backing store that stalls C00's save while its roster is locked
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        ConcurrentEnrollmentRepository backing = new ConcurrentEnrollmentRepository() {
+            @Override
+            public void save(Enrollment enrollment) {
+                if (enrollment.getCourseCode().equals("C00")) {
+                    stalled.countDown();
+                    try {
+                        resume.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.save(enrollment);
+            }
+        };
+        ConcurrentEnrollmentRepository repo = new ConcurrentEnrollmentRepository(backing, List.of());
+        RosterIndex index = repo.getRosterIndex().orElseThrow();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<?> blocked = pool.submit(() -> repo.save(new Enrollment("S000", "C00", EnrollmentStatus.ENROLLED)));
+            assertTrue(stalled.await(5, TimeUnit.SECONDS));
+
+            // Act - seven courses enroll students while C00 is stalled and the index's monitor is held
+            List<Future<?>> writers = new ArrayList<>();
+            synchronized (index) {
+                for (int c = 1; c < 8; c++) {
+                    String courseCode = String.format("C%02d", c);
+                    writers.add(pool.submit(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            repo.save(new Enrollment(String.format("S%03d", i), courseCode, EnrollmentStatus.ENROLLED));
+                        }
+                        return index.countInAny(List.of(courseCode, "C00"));
+                    }));
+                }
+
+                // Assert - every other course finished without waiting for C00 or the monitor
+                for (Future<?> writer : writers) {
+                    assertEquals(200, writer.get(5, TimeUnit.SECONDS));
+                }
+            }
+            assertFalse(blocked.isDone());
+            resume.countDown();
+            blocked.get(5, TimeUnit.SECONDS);
+            assertEquals(1, index.countEnrolled("C00"));
+            assertEquals(List.of("S000"), index.inAll(List.of("C00", "C01", "C07")));
+            assertEquals(200, index.countInAll(List.of("C01", "C02")));
+        } finally {
+            resume.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<String> ids(List<Enrollment> enrollments) {
+        return enrollments.stream().map(Enrollment::getStudentId).toList();
+    }
+}
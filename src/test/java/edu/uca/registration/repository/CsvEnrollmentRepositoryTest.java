@@ -0,0 +1,383 @@
+package edu.uca.registration.repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.repository.impl.CompactEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repository.impl.OffHeapEnrollmentRepository;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for the CSV enrollment repository against real files.
+ * Test ID Prefix: CT-ENR (Component Test - Enrollment Repository)
+ */
+@DisplayName("CSV Enrollment Repository Tests")
+class CsvEnrollmentRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("enrollments.csv");
+        logger = new Logger("CsvEnrollmentRepositoryTest", Logger.LogLevel.ERROR);
+    }
+
+    @Test
+    @DisplayName("CT-ENR-01: Journal mode appends instead of rewriting the snapshot")
+    void testJournalModeAppendsRecords() throws IOException {
+        // Arrange
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger, true);
+
+        // Act
+        repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.delete("B001", "CSCI4490");
+
+        // Assert
+        assertFalse(Files.exists(file));
+        List<String> journal = Files.readAllLines(Path.of(file + ".journal"));
+        assertEquals(3, journal.size());
+        assertEquals("D|CSCI4490|B001|#" + crc32("D|CSCI4490|B001"), journal.get(2));
+        assertEquals(3, repo.getJournalSize());
+    }
+
+    @Test
+    @DisplayName("CT-ENR-02: Reload replays journal on top of the snapshot")
+    void testReloadReplaysJournal() {
+        // Arrange
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger, true);
+        repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.compact();
+        repo.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.delete("B001", "CSCI4490");
+
+        // Act
+        CsvEnrollmentRepository reloaded = new CsvEnrollmentRepository(file.toString(), logger, true);
+
+        // Assert
+        assertFalse(reloaded.exists("B001", "CSCI4490"));
+        List<Enrollment> waitlist = reloaded.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED);
+        assertEquals(2, waitlist.size());
+        assertEquals("B002", waitlist.get(0).getStudentId());
+        assertEquals("B003", waitlist.get(1).getStudentId());
+    }
+
+    @Test
+    @DisplayName("CT-ENR-03: Compaction folds the journal into the snapshot")
+    void testCompactFoldsJournal() throws IOException {
+        // Arrange
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger, true);
+        repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+
+        // Act
+        repo.compact();
+
+        // Assert
+        assertEquals(0, repo.getJournalSize());
+        assertEquals(0, Files.size(Path.of(file + ".journal")));
+        assertTrue(Files.readAllLines(file).contains("CSCI4490|B001|ENROLLED|1"));
+    }
+
+    @Test
+    @DisplayName("CT-ENR-04: Truncated trailing journal record is skipped")
+    void testTruncatedJournalRecordSkipped() throws IOException {
+        // Arrange
+        Files.writeString(Path.of(file + ".journal"),
+            "S|CSCI4490|B001|ENROLLED\nS|CSCI4490|B0");
+
+        // Act
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger, true);
+
+        // Assert
+        assertTrue(repo.exists("B001", "CSCI4490"));
+        assertEquals(1, repo.findByCourseCode("CSCI4490").size());
+        assertEquals("S|CSCI4490|B001|ENROLLED\n", Files.readString(Path.of(file + ".journal")));
+    }
+
+    @Test
+    @DisplayName("CT-ENR-05: Deferred flush policy coalesces writes until flush()")
+    void testDeferredFlushCoalescesWrites() throws IOException {
+        // Arrange
+        FlushPolicy policy = new FlushPolicy(FlushPolicy.Mode.INTERVAL, 60_000, 500);
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger, false, policy);
+
+        try {
+            // Act
+            repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+            repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.ENROLLED));
+            boolean writtenBeforeFlush = Files.exists(file);
+            repo.flush();
+
+            // Assert
+            assertFalse(writtenBeforeFlush);
+            assertEquals(2, Files.readAllLines(file).size());
+        } finally {
+            repo.close();
+        }
+    }
+
+    @Test
+    @DisplayName("CT-ENR-12: A failed batch flush does not stop later batches")
+    void testBatchFlushRetriesAfterFailure() throws Exception {
+        // Arrange - the data directory is missing, so the first batch write fails
+        Path dir = tempDir.resolve("late");
+        Path lateFile = dir.resolve("enrollments.csv");
+        CountDownLatch failed = new CountDownLatch(1);
+        Logger failures = new Logger("CsvEnrollmentRepositoryTest", Logger.LogLevel.ERROR) {
+            @Override
+            public void error(String message) {
+                failed.countDown();
+            }
+        };
+        FlushPolicy policy = new FlushPolicy(FlushPolicy.Mode.BATCH, 60_000, 2);
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(lateFile.toString(), failures, false, policy);
+
+        try {
+            repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+            repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.ENROLLED));
+            assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+            // Act - once the directory exists, the next full batch is written in the background
+            Files.createDirectories(dir);
+            repo.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.ENROLLED));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (!Files.exists(lateFile) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // Assert
+            assertTrue(Files.exists(lateFile));
+            assertEquals(3, Files.readAllLines(lateFile).size());
+        } finally {
+            repo.close();
+        }
+    }
+
+    @Test
+    @DisplayName("CT-ENR-13: A record torn mid-append is cut off the journal, not replayed")
+    void testTornJournalTailTruncated() throws IOException {
+        // Arrange - eleven waitlisted students, the last with sequence 11
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger, true);
+        for (int i = 1; i <= 11; i++) {
+            repo.save(new Enrollment(String.format("B%03d", i), "CSCI4490", EnrollmentStatus.WAITLISTED));
+        }
+        Path journal = Path.of(file + ".journal");
+        byte[] full = Files.readAllBytes(journal);
+        String text = new String(full, StandardCharsets.UTF_8);
+        int lastRecord = text.lastIndexOf("S|CSCI4490|B011");
+
+        // Cut inside the sequence digits (parses as sequence 1) and right after the status
+        for (String kept : List.of("S|CSCI4490|B011|WAITLISTED|1", "S|CSCI4490|B011|WAITLISTED")) {
+            Files.write(journal, Arrays.copyOf(full, lastRecord + kept.length()));
+
+            // Act
+            CsvEnrollmentRepository reloaded = new CsvEnrollmentRepository(file.toString(), logger, true);
+
+            // Assert - B011 never arrived, the FIFO is intact, and the tail is gone
+            List<Enrollment> waitlist = reloaded.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED);
+            assertEquals(10, waitlist.size(), kept);
+            assertEquals("B001", waitlist.get(0).getStudentId());
+            assertFalse(reloaded.exists("B011", "CSCI4490"));
+            assertEquals(lastRecord, Files.size(journal));
+            assertEquals(10, reloaded.getJournalSize());
+        }
+
+        // And the next append starts on a clean line
+        CsvEnrollmentRepository reloaded = new CsvEnrollmentRepository(file.toString(), logger, true);
+        reloaded.save(new Enrollment("B011", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        List<Enrollment> waitlist = new CsvEnrollmentRepository(file.toString(), logger, true)
+            .findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED);
+        assertEquals(11, waitlist.size());
+        assertEquals("B011", waitlist.get(10).getStudentId());
+    }
+
+    @Test
+    @DisplayName("CT-ENR-06: Snapshot write replaces the file atomically and leaves no temp file")
+    void testSnapshotWriteIsAtomic() throws IOException {
+        // Arrange
+        Files.writeString(file, "CSCI4490|B001|ENROLLED\n");
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger);
+
+        // Act
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+
+        // Assert
+        assertEquals(List.of("CSCI4490|B001|ENROLLED|1", "CSCI4490|B002|WAITLISTED|2"),
+            Files.readAllLines(file));
+        assertFalse(Files.exists(Path.of(file + ".tmp")));
+    }
+
+    @Test
+    @DisplayName("CT-ENR-07: Parallel load of a large file preserves FIFO order")
+    void testParallelLoadPreservesOrder() throws IOException {
+        // Arrange: big enough to be split into several chunks
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 40_000; i++) {
+            csv.append("BIG1000|S").append(i).append("|WAITLISTED\n");
+            if (i == 20_000) {
+                csv.append("BIG1000|BAD|NOT_A_STATUS\n");
+            }
+        }
+        Files.writeString(file, csv);
+
+        // Act
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger);
+
+        // Assert
+        List<Enrollment> waitlist = repo.findByCourseAndStatus("BIG1000", EnrollmentStatus.WAITLISTED);
+        assertEquals(40_000, waitlist.size());
+        for (int i = 0; i < waitlist.size(); i++) {
+            assertEquals("S" + i, waitlist.get(i).getStudentId());
+        }
+    }
+
+    @Test
+    @DisplayName("CT-ENR-08: Course, student and pair indexes stay consistent across updates and reload")
+    void testIndexesStayConsistent() {
+        // Arrange
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger, true);
+        repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.save(new Enrollment("B001", "MATH1496", EnrollmentStatus.ENROLLED));
+        repo.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED));
+
+        // Act: promote B002 (moves it to the back) and drop B001 from one course
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.ENROLLED));
+        repo.delete("B001", "CSCI4490");
+        CsvEnrollmentRepository reloaded = new CsvEnrollmentRepository(file.toString(), logger, true);
+
+        // Assert
+        for (CsvEnrollmentRepository r : List.of(repo, reloaded)) {
+            assertFalse(r.exists("B001", "CSCI4490"));
+            assertTrue(r.exists("B001", "MATH1496"));
+            assertEquals(List.of(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED),
+                                 new Enrollment("B002", "CSCI4490", EnrollmentStatus.ENROLLED)),
+                r.findByCourseCode("CSCI4490"));
+            assertEquals(1, r.findByStudentId("B001").size());
+            assertEquals("MATH1496", r.findByStudentId("B001").get(0).getCourseCode());
+            assertEquals(1, r.countByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED));
+            assertTrue(r.findByCourseCode("NOPE0000").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("CT-ENR-09: Per-course counters track status changes and match a full recount")
+    void testCountersMatchRecount() {
+        // Arrange
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger);
+        for (int i = 0; i < 30; i++) {
+            EnrollmentStatus status = i < 20 ? EnrollmentStatus.ENROLLED : EnrollmentStatus.WAITLISTED;
+            repo.save(new Enrollment("S" + i, i % 2 == 0 ? "CSCI4490" : "MATH1496", status));
+        }
+
+        // Act: drop, promote from the waitlist and remove a whole course
+        repo.delete("S0", "CSCI4490");
+        repo.save(new Enrollment("S20", "CSCI4490", EnrollmentStatus.ENROLLED));
+        for (int i = 1; i < 30; i += 2) {
+            repo.delete("S" + i, "MATH1496");
+        }
+        CsvEnrollmentRepository reloaded = new CsvEnrollmentRepository(file.toString(), logger);
+
+        // Assert
+        for (CsvEnrollmentRepository r : List.of(repo, reloaded)) {
+            assertEquals(10, r.countByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED));
+            assertEquals(4, r.countByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED));
+            assertEquals(0, r.countByCourseAndStatus("MATH1496", EnrollmentStatus.ENROLLED));
+            assertTrue(r.checkConsistency().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("CT-ENR-10: Waitlist keeps FIFO order by sequence across reloads")
+    void testWaitlistOrderSurvivesReload() throws IOException {
+        // Arrange - rows stored out of order; the sequence column decides
+        Files.writeString(file, "CSCI4490|B003|WAITLISTED|7\nCSCI4490|B001|ENROLLED|1\nCSCI4490|B002|WAITLISTED|4\n");
+        CsvEnrollmentRepository repo = new CsvEnrollmentRepository(file.toString(), logger);
+
+        // Act
+        repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        repo.save(new Enrollment("B004", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        Enrollment head = repo.pollWaitlistHead("CSCI4490").get();
+        CsvEnrollmentRepository reloaded = new CsvEnrollmentRepository(file.toString(), logger);
+
+        // Assert
+        assertEquals("B002", head.getStudentId());
+        for (CsvEnrollmentRepository r : List.of(repo, reloaded)) {
+            assertEquals(1, r.waitlistPosition("B003", "CSCI4490").getAsInt());
+            assertEquals(2, r.waitlistPosition("B004", "CSCI4490").getAsInt());
+            assertTrue(r.waitlistPosition("B001", "CSCI4490").isEmpty());
+            assertFalse(r.exists("B002", "CSCI4490"));
+            assertTrue(r.checkConsistency().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("CT-ENR-11: Compact and off-heap stores read the CSV snapshot and keeps the same order and counts")
+    void testCompactStoreMatchesIndexed() {
+        // Arrange
+        CsvEnrollmentRepository indexed = new CsvEnrollmentRepository(file.toString(), logger);
+        for (int i = 0; i < 40; i++) {
+            EnrollmentStatus status = i < 25 ? EnrollmentStatus.ENROLLED : EnrollmentStatus.WAITLISTED;
+            indexed.save(new Enrollment("S" + i, i % 2 == 0 ? "CSCI4490" : "MATH1496", status));
+        }
+        indexed.delete("S4", "CSCI4490");
+        indexed.save(new Enrollment("S26", "CSCI4490", EnrollmentStatus.ENROLLED));
+
+        // Act
+        CompactEnrollmentRepository compact = new CompactEnrollmentRepository(file.toString(), logger);
+        compact.save(new Enrollment("S99", "CSCI4490", EnrollmentStatus.WAITLISTED));
+        compact.delete("S99", "CSCI4490");
+        Enrollment head = compact.pollWaitlistHead("MATH1496").get();
+        indexed.pollWaitlistHead("MATH1496");
+        CsvEnrollmentRepository reread = new CsvEnrollmentRepository(file.toString(), logger);
+        OffHeapEnrollmentRepository offHeap = new OffHeapEnrollmentRepository(file.toString(), logger);
+
+        // Assert
+        assertEquals("S25", head.getStudentId());
+        for (String course : List.of("CSCI4490", "MATH1496")) {
+            assertEquals(indexed.findByCourseCode(course), compact.findByCourseCode(course));
+            assertEquals(indexed.findByCourseAndStatus(course, EnrollmentStatus.WAITLISTED),
+                compact.findByCourseAndStatus(course, EnrollmentStatus.WAITLISTED));
+            assertEquals(reread.findByCourseCode(course), compact.findByCourseCode(course));
+            assertEquals(compact.findByCourseCode(course), offHeap.findByCourseCode(course));
+            for (EnrollmentStatus status : EnrollmentStatus.values()) {
+                assertEquals(indexed.countByCourseAndStatus(course, status),
+                    compact.countByCourseAndStatus(course, status));
+            }
+        }
+        assertEquals(indexed.findByStudentId("S26"), compact.findByStudentId("S26"));
+        assertEquals(2, compact.waitlistPosition("S30", "CSCI4490").getAsInt());
+        assertFalse(compact.exists("S4", "CSCI4490"));
+        assertTrue(compact.findByStudentId("nobody").isEmpty());
+    }
+
+    private static String crc32(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+}
@@ -0,0 +1,238 @@
+package edu.uca.registration.repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.impl.PagedCourseRepository;
+import edu.uca.registration.repository.impl.PagedEnrollmentRepository;
+import edu.uca.registration.repository.impl.PagedStudentRepository;
+import edu.uca.registration.storage.BPlusTree;
+import edu.uca.registration.storage.StorageEngine;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for the embedded paged storage engine and its repositories.
+ * Test ID Prefix: CT-PAG (Component Test - Paged Storage)
+ */
+@DisplayName("Paged Repository Tests")
+class PagedRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Logger logger;
+    private String dbFile;
+
+    @BeforeEach
+    void setUp() {
+        logger = new Logger("PagedRepositoryTest", Logger.LogLevel.ERROR);
+        dbFile = tempDir.resolve("registration.db").toString();
+    }
+
+    @Test
+    @DisplayName("CT-PAG-01: B+tree keeps every key through splits with a tiny page cache")
+    void testTreeSplitsAndEvicts() throws IOException {
+        // Arrange
+        int keys = 20_000;
+        FlushPolicy batched = new FlushPolicy(FlushPolicy.Mode.BATCH, 1000, 1000);
+        try (StorageEngine engine = StorageEngine.open(dbFile, 16, batched)) {
+            BPlusTree tree = engine.tree(0);
+
+            // Act
+            for (int i = keys - 1; i >= 0; i--) {
+                byte[] key = String.format("S%06d", i).getBytes(StandardCharsets.UTF_8);
+                engine.write(() -> tree.put(key, key));
+            }
+            List<String> scanned = new ArrayList<>();
+            tree.scan(new byte[0], (key, value) -> scanned.add(new String(key, StandardCharsets.UTF_8)));
+
+            // Assert
+            assertEquals(keys, tree.size());
+            assertEquals(keys, scanned.size());
+            assertEquals("S000000", scanned.get(0));
+            assertEquals("S019999", scanned.get(keys - 1));
+            assertTrue(engine.getCachedPages() <= 16);
+            assertTrue(engine.getCacheEvictions() > 0);
+            byte[] probe = "S012345".getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(probe, tree.get(probe));
+        }
+    }
+
+    @Test
+    @DisplayName("CT-PAG-02: Committed changes survive a crash before checkpoint")
+    void testRecoveryReplaysLog() throws IOException {
+        // Arrange - never checkpoint or close, as if the process died
+        StorageEngine crashed = StorageEngine.open(dbFile, 64, FlushPolicy.sync());
+        PagedStudentRepository repo = new PagedStudentRepository(crashed, logger);
+        for (int i = 0; i < 500; i++) {
+            repo.save(new Student("S" + i, "Student " + i, "s" + i + "@uca.edu"));
+        }
+        repo.delete("S7");
+        // A torn batch at the tail of the log must be ignored
+        Files.write(Path.of(dbFile + ".wal"), new byte[] {0x57, 0x41, 0x4C, 0x31, 0, 0, 0, 1, 9},
+            StandardOpenOption.APPEND);
+
+        // Act
+        try (StorageEngine reopened = StorageEngine.open(dbFile, 64, FlushPolicy.sync())) {
+            PagedStudentRepository recovered = new PagedStudentRepository(reopened, logger);
+
+            // Assert
+            assertEquals(499, recovered.count());
+            assertFalse(recovered.exists("S7"));
+            assertEquals("Student 321", recovered.findById("S321").get().getName());
+            assertEquals(0, reopened.getLogSize());
+        }
+        crashed.close();
+    }
+
+    @Test
+    @DisplayName("CT-PAG-03: Enrollments keep FIFO order per course and status changes move to the back")
+    void testEnrollmentOrder() throws IOException {
+        try (StorageEngine engine = StorageEngine.open(dbFile, 64, FlushPolicy.sync())) {
+            // Arrange
+            PagedEnrollmentRepository repo = new PagedEnrollmentRepository(engine, logger);
+            repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED));
+            repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+            repo.save(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED));
+            repo.save(new Enrollment("B004", "MATH1496", EnrollmentStatus.ENROLLED));
+
+            // Act
+            repo.save(new Enrollment("B002", "CSCI4490", EnrollmentStatus.WAITLISTED));
+            repo.save(new Enrollment("B001", "CSCI4490", EnrollmentStatus.WAITLISTED));
+            Optional<Enrollment> head = repo.pollWaitlistHead("CSCI4490");
+
+            // Assert
+            assertEquals("B002", head.get().getStudentId());
+            List<Enrollment> waitlist = repo.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED);
+            assertEquals("B003", waitlist.get(0).getStudentId());
+            assertEquals("B001", waitlist.get(1).getStudentId());
+            assertEquals(2, repo.waitlistPosition("B001", "CSCI4490").getAsInt());
+            assertTrue(repo.waitlistPosition("B002", "CSCI4490").isEmpty());
+            repo.delete("B001", "CSCI4490");
+            assertEquals(0, repo.countByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED));
+            assertFalse(repo.exists("B001", "CSCI4490"));
+            assertEquals(1, repo.findByStudentId("B004").size());
+            assertTrue(repo.findByCourseCode("MATH1496").get(0).isEnrolled());
+        }
+    }
+
+    @Test
+    @DisplayName("CT-PAG-04: A failed write rolls back every page it touched")
+    void testFailedWriteRollsBack() throws IOException {
+        try (StorageEngine engine = StorageEngine.open(dbFile, 64, FlushPolicy.sync())) {
+            // Arrange
+            BPlusTree tree = engine.tree(1);
+            byte[] kept = "kept".getBytes(StandardCharsets.UTF_8);
+            byte[] lost = "lost".getBytes(StandardCharsets.UTF_8);
+            engine.write(() -> tree.put(kept, kept));
+
+            // Act
+            assertThrows(IllegalStateException.class, () -> engine.write(() -> {
+                tree.put(lost, lost);
+                throw new IllegalStateException("boom");
+            }));
+
+            // Assert
+            assertNull(tree.get(lost));
+            assertEquals(1, tree.size());
+            assertThrows(IllegalStateException.class, () -> tree.put(lost, lost));
+        }
+    }
+
+    @Test
+    @DisplayName("CT-PAG-05: Prefix search follows renames and deletes and is rebuilt on reopen")
+    void testSearchByPrefix() throws IOException {
+        try (StorageEngine engine = StorageEngine.open(dbFile, 64, FlushPolicy.sync())) {
+            // Arrange
+            PagedStudentRepository repo = new PagedStudentRepository(engine, logger);
+            repo.save(new Student("B001", "Alice Smith", "alice@uca.edu"));
+            repo.save(new Student("B002", "Brian Smithers", "bsmith@uca.edu"));
+            repo.save(new Student("B003", "Cara Jones", "cara@uca.edu"));
+
+            // Act
+            repo.save(new Student("B003", "Cara Smith", "cara@uca.edu"));
+            repo.delete("B001");
+
+            // Assert
+            assertEquals(List.of("B003", "B002"), ids(repo.searchByPrefix("SMITH", 10)));
+            assertEquals(1, repo.searchByPrefix("smi", 1).size());
+            assertTrue(repo.searchByPrefix("jones", 10).isEmpty());
+            assertTrue(repo.searchByPrefix("  ", 10).isEmpty());
+        }
+        try (StorageEngine reopened = StorageEngine.open(dbFile, 64, FlushPolicy.sync())) {
+            PagedStudentRepository repo = new PagedStudentRepository(reopened, logger);
+            assertEquals(List.of("B002"), ids(repo.searchByPrefix("bsm", 10)));
+            assertEquals(List.of("B003"), ids(repo.searchByPrefix("cara s", 10)));
+        }
+    }
+
+    @Test
+    @DisplayName("CT-PAG-06: Cursor pages walk every course in code order and prefix scans stay in range")
+    void testCoursePagingAndPrefix() throws IOException {
+        try (StorageEngine engine = StorageEngine.open(dbFile, 16, FlushPolicy.sync())) {
+            // Arrange
+            PagedCourseRepository repo = new PagedCourseRepository(engine, logger);
+            for (int i = 999; i >= 0; i--) {
+                String dept = i % 2 == 0 ? "CSCI" : "MATH";
+                repo.save(new Course(String.format("%s%04d", dept, i), "Course " + i, 30));
+            }
+
+            // Act
+            List<String> walked = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                CursorPage<Course> page = repo.findPage(cursor, 64);
+                for (Course c : page.getItems()) {
+                    walked.add(c.getCode());
+                }
+                cursor = page.getNextCursor().orElse(null);
+                pages++;
+            } while (cursor != null);
+            List<Course> csci = repo.findByCodePrefix("CSCI");
+
+            // Assert
+            assertEquals(1000, walked.size());
+            assertEquals(16, pages);
+            List<String> sorted = new ArrayList<>(walked);
+            sorted.sort(null);
+            assertEquals(sorted, walked);
+            assertEquals(500, csci.size());
+            assertEquals("CSCI0000", csci.get(0).getCode());
+            assertEquals("CSCI0998", csci.get(499).getCode());
+            assertTrue(repo.findByCodePrefix("PHYS").isEmpty());
+            assertFalse(repo.findPage("MATH0999", 10).hasMore());
+            assertThrows(IllegalArgumentException.class, () -> repo.findPage(null, 0));
+        }
+    }
+
+    private static List<String> ids(List<Student> students) {
+        List<String> ids = new ArrayList<>();
+        for (Student s : students) {
+            ids.add(s.getId());
+        }
+        return ids;
+    }
+}
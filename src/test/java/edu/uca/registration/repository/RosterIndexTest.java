@@ -0,0 +1,179 @@
+package edu.uca.registration.repository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.repository.impl.CsvCourseRepository;
+import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvStudentRepository;
+import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.util.Logger;
+import edu.uca.registration.util.RoaringBitmap;
+
+/**
+ * Component tests for roster bitmaps and the set queries built on them.
+ * Test ID Prefix: CT-ROS (Component Test - Roster Index)
+ */
+@DisplayName("Roster Index Tests")
+class RosterIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("CT-ROS-01: Bitmap set operations match sorted sets across array and bitmap chunks")
+    void testBitmapOperations() {
+        // Arrange - a is dense in chunk 0 (bitmap form), b stays sparse (array form)
+        RoaringBitmap a = new RoaringBitmap();
+        RoaringBitmap b = new RoaringBitmap();
+        TreeSet<Integer> setA = new TreeSet<>();
+        TreeSet<Integer> setB = new TreeSet<>();
+        for (int v = 0; v < 20_000; v += 2) {
+            a.add(v);
+            setA.add(v);
+        }
+        for (int v = 0; v < 200_000; v += 7) {
+            b.add(v);
+            setB.add(v);
+        }
+
+        // Act
+        TreeSet<Integer> and = new TreeSet<>(setA);
+        and.retainAll(setB);
+        TreeSet<Integer> or = new TreeSet<>(setA);
+        or.addAll(setB);
+        TreeSet<Integer> andNot = new TreeSet<>(setA);
+        andNot.removeAll(setB);
+
+        // Assert
+        assertEquals(new ArrayList<>(and), boxed(RoaringBitmap.and(a, b)));
+        assertEquals(new ArrayList<>(or), boxed(RoaringBitmap.or(a, b)));
+        assertEquals(new ArrayList<>(andNot), boxed(RoaringBitmap.andNot(a, b)));
+        assertEquals(and.size(), RoaringBitmap.andCardinality(a, b));
+        assertEquals(or.size(), RoaringBitmap.orCardinality(a, b));
+        // Shrinking back below the array limit keeps every remaining value
+        for (int v = 0; v < 19_000; v += 2) {
+            assertTrue(a.remove(v));
+        }
+        assertEquals(500, a.cardinality());
+        assertTrue(a.contains(19_998));
+        assertFalse(a.contains(18_000));
+    }
+
+    @Test
+    @DisplayName("CT-ROS-02: Repository keeps enrolled rosters in step and service answers set queries")
+    void testServiceRosterQueries() throws EnrollmentException {
+        // Arrange
+        Logger logger = new Logger("RosterIndexTest", Logger.LogLevel.ERROR);
+        String enrollments = tempDir.resolve("enrollments.csv").toString();
+        CsvEnrollmentRepository enrollmentRepo = new CsvEnrollmentRepository(enrollments, logger);
+        RegistrationService service = new RegistrationService(
+            new CsvStudentRepository(tempDir.resolve("students.csv").toString(), logger),
+            new CsvCourseRepository(tempDir.resolve("courses.csv").toString(), logger),
+            enrollmentRepo, logger);
+        service.addCourse("CSCI4490", "Software Engineering", 3);
+        service.addCourse("CSCI3381", "Object-Oriented Programming", 10);
+        service.addCourse("MATH1496", "Calculus I", 10);
+        for (int i = 1; i <= 5; i++) {
+            service.addStudent("B00" + i, "Student " + i, "s" + i + "@uca.edu");
+        }
+        for (String id : List.of("B001", "B002", "B003", "B004")) {
+            service.enrollStudent(id, "CSCI4490");
+        }
+        for (String id : List.of("B002", "B004", "B005")) {
+            service.enrollStudent(id, "MATH1496");
+        }
+        service.enrollStudent("B001", "CSCI3381");
+
+        // Act - B001 drops, waitlisted B004 is promoted into CSCI4490
+        service.dropStudent("B001", "CSCI4490");
+        List<String> csci = service.getDepartmentCourseCodes("CSCI");
+        CsvEnrollmentRepository reloaded = new CsvEnrollmentRepository(enrollments, logger);
+
+        // Assert
+        List<String> both = List.of("CSCI4490", "MATH1496");
+        assertEquals(List.of("B002", "B004"), service.findStudentsInAllCourses(both));
+        assertEquals(2, service.countStudentsInAllCourses(both));
+        assertEquals(4, service.countStudentsInAnyCourse(both));
+        assertEquals(List.of("B003"), service.findStudentsInCourseExcluding("CSCI4490", List.of("MATH1496")));
+        assertEquals(List.of("CSCI3381", "CSCI4490"), csci);
+        assertEquals(4, service.countStudentsInAnyCourse(csci));
+        assertEquals(2, reloaded.getRosterIndex().get().countInAll(both));
+        assertEquals(3, reloaded.getRosterIndex().get().countEnrolled("CSCI4490"));
+    }
+
+    @Test
+    @DisplayName("CT-ROS-03: Unions merge small chunks and add in place, and IDs come back sorted")
+    void testUnionsAndIdOrder() {
+        // Arrange - overlapping sparse chunks, two sparse halves that together outgrow an array,
+        // and a dense chunk
+        RoaringBitmap odd = new RoaringBitmap();
+        RoaringBitmap thirds = new RoaringBitmap();
+        RoaringBitmap low = new RoaringBitmap();
+        RoaringBitmap high = new RoaringBitmap();
+        RoaringBitmap dense = new RoaringBitmap();
+        for (int v = 1; v < 3_000; v += 2) {
+            odd.add(v);
+        }
+        for (int v = 0; v < 3_000; v += 3) {
+            thirds.add(v);
+        }
+        for (int v = 0; v < 3_000; v++) {
+            low.add(v);
+            high.add(70_000 + v);
+            high.add(3_000 + v);
+        }
+        for (int v = 0; v < 10_000; v++) {
+            dense.add(v);
+        }
+        RosterIndex index = new RosterIndex();
+        for (String id : List.of("B005", "B001", "B004")) {
+            index.add(id, "CSCI4490");
+        }
+        for (String id : List.of("B003", "B002", "B001")) {
+            index.add(id, "MATH1496");
+        }
+
+        // Act
+        RoaringBitmap merged = RoaringBitmap.or(odd, thirds);
+        RoaringBitmap grown = RoaringBitmap.or(low, high);
+        RoaringBitmap inPlace = odd.copy();
+        inPlace.orWith(thirds);
+        inPlace.orWith(high);
+        inPlace.orWith(dense);
+
+        // Assert
+        TreeSet<Integer> expected = new TreeSet<>(boxed(odd));
+        expected.addAll(boxed(thirds));
+        assertEquals(new ArrayList<>(expected), boxed(merged));
+        assertEquals(2_000, merged.cardinality());
+        assertEquals(9_000, grown.cardinality());
+        assertTrue(grown.contains(5_999) && grown.contains(72_999) && !grown.contains(6_000));
+        expected.addAll(boxed(high));
+        expected.addAll(boxed(dense));
+        assertEquals(new ArrayList<>(expected), boxed(inPlace));
+        assertEquals(1_500, odd.cardinality());
+        List<String> both = List.of("CSCI4490", "MATH1496");
+        assertEquals(List.of("B001", "B002", "B003", "B004", "B005"), index.inAny(both));
+        assertEquals(List.of("B004", "B005"), index.inFirstOnly("CSCI4490", List.of("MATH1496")));
+        assertEquals(List.of("B001"), index.inAll(both));
+    }
+
+    private static List<Integer> boxed(RoaringBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,196 @@
+package edu.uca.registration.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.service.AdmissionController.AdmissionResult;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for per-course admission control.
+ * Test ID Prefix: CT-ADM (Component Test - Admission Control)
+ */
+@DisplayName("Admission Controller Tests")
+class AdmissionControllerTest {
+
+    @Mock
+    private StudentRepository studentRepo;
+
+    @Mock
+    private CourseRepository courseRepo;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepo;
+
+    private AutoCloseable closeable;
+    private RegistrationService service;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> saved = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        when(studentRepo.exists(anyString())).thenReturn(true);
+        when(courseRepo.findByCode("CSCI4490"))
+            .thenReturn(Optional.of(new Course("CSCI4490", "Software Engineering", 30)));
+        // Every save blocks until released, recording arrival order
+        doAnswer(invocation -> {
+            saved.add(invocation.<Enrollment>getArgument(0).getStudentId());
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(enrollmentRepo).save(any(Enrollment.class));
+        service = new RegistrationService(studentRepo, courseRepo, enrollmentRepo,
+            new Logger("AdmissionControllerTest", Logger.LogLevel.ERROR));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        callers.shutdown();
+        closeable.close();
+    }
+
+    @Test
+    @DisplayName("CT-ADM-01: Waiters are admitted in FIFO order, report their place, and overflow is shed")
+    void testFifoQueueAndShedding() throws Exception {
+        // Arrange - one running enroll and room for two to wait
+        AdmissionController admission = new AdmissionController(service, 1, 2, 5_000,
+            new Logger("AdmissionControllerTest", Logger.LogLevel.ERROR));
+        CompletableFuture<AdmissionResult> running = enrollAsync(admission, "B001");
+        awaitSaves(1);
+        CompletableFuture<AdmissionResult> second = enrollAsync(admission, "B002");
+        awaitDepth(admission, 1);
+        CompletableFuture<AdmissionResult> third = enrollAsync(admission, "B003");
+        awaitDepth(admission, 2);
+
+        // Act
+        OptionalInt secondPlace = admission.getQueuePosition("B002", "CSCI4490");
+        OptionalInt thirdPlace = admission.getQueuePosition("B003", "CSCI4490");
+        AdmissionResult shed = admission.enrollStudent("B004", "CSCI4490");
+        release.countDown();
+
+        // Assert
+        assertEquals(1, secondPlace.getAsInt());
+        assertEquals(2, thirdPlace.getAsInt());
+        assertEquals(AdmissionResult.Outcome.QUEUE_FULL, shed.getOutcome());
+        assertFalse(shed.isAdmitted());
+        assertTrue(shed.getMessage().contains("busy"));
+        assertThrows(IllegalStateException.class, shed::getEnrollment);
+        for (CompletableFuture<AdmissionResult> call : List.of(running, second, third)) {
+            assertTrue(call.get(5, TimeUnit.SECONDS).isAdmitted());
+        }
+        assertEquals(List.of("B001", "B002", "B003"), saved);
+        assertEquals(0, admission.getQueueDepth("CSCI4490"));
+        assertThrows(EnrollmentException.class, () -> admission.enrollStudent("B005", "NOPE0000"));
+    }
+
+    @Test
+    @DisplayName("CT-ADM-02: A caller that waits past the limit is shed and leaves the queue")
+    void testWaitTimeout() throws Exception {
+        // Arrange
+        AdmissionController admission = new AdmissionController(service, 1, 10, 50,
+            new Logger("AdmissionControllerTest", Logger.LogLevel.ERROR));
+        CompletableFuture<AdmissionResult> running = enrollAsync(admission, "B001");
+        awaitSaves(1);
+
+        // Act
+        AdmissionResult late = admission.enrollStudent("B002", "CSCI4490");
+        release.countDown();
+
+        // Assert
+        assertEquals(AdmissionResult.Outcome.TIMED_OUT, late.getOutcome());
+        assertTrue(late.getLatencyNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(admission.getQueuePosition("B002", "CSCI4490").isEmpty());
+        assertTrue(running.get(5, TimeUnit.SECONDS).isAdmitted());
+        assertEquals(List.of("B001"), saved);
+    }
+
+    @Test
+    @DisplayName("CT-ADM-03: Reported latency is end to end, including the wait in the queue")
+    void testLatencyIncludesQueueWait() throws Exception {
+        // Arrange - B001 holds the only slot until released
+        AdmissionController admission = new AdmissionController(service, 1, 1, 5_000,
+            new Logger("AdmissionControllerTest", Logger.LogLevel.ERROR));
+        CompletableFuture<AdmissionResult> running = enrollAsync(admission, "B001");
+        awaitSaves(1);
+        long queued = System.nanoTime();
+        CompletableFuture<long[]> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                AdmissionResult result = admission.enrollStudent("B002", "CSCI4490");
+                assertTrue(result.isAdmitted());
+                return new long[] {result.getLatencyNanos(), System.nanoTime() - queued};
+            } catch (EnrollmentException e) {
+                throw new IllegalStateException(e);
+            }
+        }, callers);
+        awaitDepth(admission, 1);
+
+        // Act - B002 waits in the queue for at least 100ms, B003 finds it full
+        long shedStart = System.nanoTime();
+        AdmissionResult shed = admission.enrollStudent("B003", "CSCI4490");
+        long shedElapsed = System.nanoTime() - shedStart;
+        Thread.sleep(100);
+        release.countDown();
+        long[] second = waiting.get(5, TimeUnit.SECONDS);
+        running.get(5, TimeUnit.SECONDS);
+
+        // Assert - B002's latency covers its queue wait and never exceeds what its caller saw
+        assertTrue(second[0] >= TimeUnit.MILLISECONDS.toNanos(100), "Latency misses the queue wait");
+        assertTrue(second[0] <= second[1], "Latency exceeds the caller's own measurement");
+        assertEquals(AdmissionResult.Outcome.QUEUE_FULL, shed.getOutcome());
+        assertTrue(shed.getLatencyNanos() > 0 && shed.getLatencyNanos() <= shedElapsed);
+        assertEquals(List.of("B001", "B002"), saved);
+    }
+
+    private CompletableFuture<AdmissionResult> enrollAsync(AdmissionController admission, String studentId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return admission.enrollStudent(studentId, "CSCI4490");
+            } catch (EnrollmentException e) {
+                throw new IllegalStateException(e);
+            }
+        }, callers);
+    }
+
+    private void awaitSaves(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (saved.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitDepth(AdmissionController admission, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admission.getQueueDepth("CSCI4490") < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package edu.uca.registration.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import edu.uca.registration.model.Course;
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.EnrollmentRepository;
+import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.service.RegistrationService.EnrollmentResult;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for the asynchronous registration facade.
+ * Test ID Prefix: CT-ASY (Component Test - Async Service)
+ */
+@DisplayName("Async Registration Service Tests")
+class AsyncRegistrationServiceTest {
+
+    @Mock
+    private StudentRepository studentRepo;
+
+    @Mock
+    private CourseRepository courseRepo;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepo;
+
+    private AutoCloseable closeable;
+    private AsyncRegistrationService async;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        when(studentRepo.exists(anyString())).thenReturn(true);
+        when(courseRepo.findByCode("CSCI4490"))
+            .thenReturn(Optional.of(new Course("CSCI4490", "Software Engineering", 30)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (async != null) {
+            async.close();
+        }
+        closeable.close();
+    }
+
+    @Test
+    @DisplayName("CT-ASY-01: Futures complete with results and with the service's exceptions")
+    void testResultsAndFailures() throws Exception {
+        // Arrange
+        Logger logger = new Logger("AsyncRegistrationServiceTest", Logger.LogLevel.ERROR);
+        async = new AsyncRegistrationService(
+            new RegistrationService(studentRepo, courseRepo, enrollmentRepo, logger), 4);
+
+        // Act
+        EnrollmentResult enrolled = async.enrollStudent("B001", "CSCI4490").get(5, TimeUnit.SECONDS);
+        CompletableFuture<EnrollmentResult> missing = async.enrollStudent("B001", "NOPE0000");
+
+        // Assert
+        assertFalse(enrolled.isWaitlisted());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EnrollmentException.class, failure.getCause());
+        assertEquals(Runtime.version().feature() >= 21, async.usesVirtualThreads());
+    }
+
+    @Test
+    @DisplayName("CT-ASY-02: Concurrency stays under the limit and queued calls can be cancelled")
+    void testBoundedConcurrencyAndCancellation() throws Exception {
+        // Arrange - every save blocks until released, counting calls inside the service;
+        // each call uses its own course so the course locks do not serialize them
+        Logger logger = new Logger("AsyncRegistrationServiceTest", Logger.LogLevel.ERROR);
+        async = new AsyncRegistrationService(
+            new RegistrationService(studentRepo, courseRepo, enrollmentRepo, logger), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        doAnswer(invocation -> {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            release.await(5, TimeUnit.SECONDS);
+            active.decrementAndGet();
+            return null;
+        }).when(enrollmentRepo).save(any(Enrollment.class));
+        when(courseRepo.findByCode(anyString()))
+            .thenAnswer(invocation -> Optional.of(new Course(invocation.getArgument(0), "Seminar", 30)));
+
+        // Act
+        List<CompletableFuture<EnrollmentResult>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(async.enrollStudent(String.format("B%03d", i), String.format("SEM%03d", i)));
+        }
+        CompletableFuture<EnrollmentResult> queued = async.enrollStudent("B999", "SEM999");
+        Thread.sleep(200);
+        assertTrue(queued.cancel(true));
+        release.countDown();
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, peak.get());
+        assertTrue(queued.isCancelled());
+        verify(enrollmentRepo, never()).exists("B999", "SEM999");
+    }
+
+    @Test
+    @DisplayName("CT-ASY-03: An Error inside a call fails its future and frees its permit")
+    void testErrorCompletesFuture() throws Exception {
+        // Arrange - one permit, and a course lookup that overflows the stack
+        Logger logger = new Logger("AsyncRegistrationServiceTest", Logger.LogLevel.ERROR);
+        async = new AsyncRegistrationService(
+            new RegistrationService(studentRepo, courseRepo, enrollmentRepo, logger), 1);
+        when(courseRepo.findByCode("BROKEN01")).thenThrow(new StackOverflowError("too deep"));
+
+        // Act
+        CompletableFuture<EnrollmentResult> broken = async.enrollStudent("B001", "BROKEN01");
+        CompletableFuture<EnrollmentResult> next = async.enrollStudent("B001", "CSCI4490");
+
+        // Assert
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> broken.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, failure.getCause());
+        assertFalse(next.get(5, TimeUnit.SECONDS).isWaitlisted());
+    }
+}
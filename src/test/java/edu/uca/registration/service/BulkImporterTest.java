@@ -0,0 +1,107 @@
+package edu.uca.registration.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.model.Enrollment;
+import edu.uca.registration.model.Enrollment.EnrollmentStatus;
+import edu.uca.registration.model.Student;
+import edu.uca.registration.repository.impl.CsvCourseRepository;
+import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvStudentRepository;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for the bulk import path.
+ * Test ID Prefix: CT-IMP (Component Test - Import)
+ */
+@DisplayName("Bulk Importer Tests")
+class BulkImporterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Logger logger;
+    private CsvStudentRepository studentRepo;
+    private CsvCourseRepository courseRepo;
+    private CsvEnrollmentRepository enrollmentRepo;
+    private Path inputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logger = new Logger("BulkImporterTest", Logger.LogLevel.ERROR);
+        studentRepo = new CsvStudentRepository(tempDir.resolve("students.csv").toString(), logger);
+        courseRepo = new CsvCourseRepository(tempDir.resolve("courses.csv").toString(), logger);
+        enrollmentRepo = new CsvEnrollmentRepository(tempDir.resolve("enrollments.csv").toString(), logger);
+        inputDir = Files.createDirectory(tempDir.resolve("import"));
+    }
+
+    @Test
+    @DisplayName("CT-IMP-01: Import applies capacity and waitlist rules in arrival order")
+    void testImportPlacesEnrollmentsInOrder() throws IOException {
+        // Arrange
+        Files.writeString(inputDir.resolve(BulkImporter.STUDENTS_FILE),
+            "B001,Alice,alice@uca.edu\nB002,Brian,brian@uca.edu\nB003,Cara,cara@uca.edu\n");
+        Files.writeString(inputDir.resolve(BulkImporter.COURSES_FILE), "CSCI4490,Software Engineering,2\n");
+        Files.writeString(inputDir.resolve(BulkImporter.ENROLLMENTS_FILE),
+            "B003,CSCI4490\nB001,CSCI4490\nB002,CSCI4490\n");
+        BulkImporter importer = new BulkImporter(studentRepo, courseRepo, enrollmentRepo, logger);
+
+        // Act
+        ImportReport report = importer.importFrom(inputDir);
+
+        // Assert
+        assertEquals(3, report.getStudentsImported());
+        assertEquals(1, report.getCoursesImported());
+        assertEquals(2, report.getEnrolledCount());
+        assertEquals(1, report.getWaitlistedCount());
+        assertTrue(report.getRejections().isEmpty());
+        List<Enrollment> waitlist = enrollmentRepo.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED);
+        assertEquals("B002", waitlist.get(0).getStudentId());
+        // Everything was persisted, so a fresh repository sees it
+        CsvEnrollmentRepository reloaded =
+            new CsvEnrollmentRepository(tempDir.resolve("enrollments.csv").toString(), logger);
+        assertEquals(2, reloaded.countByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED));
+    }
+
+    @Test
+    @DisplayName("CT-IMP-02: Invalid and duplicate rows are reported with line numbers")
+    void testImportReportsRejectedLines() throws IOException {
+        // Arrange
+        studentRepo.save(new Student("B001", "Alice", "alice@uca.edu"));
+        Files.writeString(inputDir.resolve(BulkImporter.STUDENTS_FILE),
+            "B001,Alice,alice@uca.edu\nB002,Brian,not-an-email\nB003,Cara\nB004,Dan,dan@uca.edu\n");
+        Files.writeString(inputDir.resolve(BulkImporter.COURSES_FILE),
+            "MATH1496,Calculus I,lots\nMATH1497,Calculus II,50\n");
+        Files.writeString(inputDir.resolve(BulkImporter.ENROLLMENTS_FILE),
+            "B004,MATH1497\nB004,MATH1497\nB999,MATH1497\nB004,MATH1496\n");
+        BulkImporter importer = new BulkImporter(studentRepo, courseRepo, enrollmentRepo, logger);
+
+        // Act
+        ImportReport report = importer.importFrom(inputDir);
+
+        // Assert
+        assertEquals(1, report.getStudentsImported());
+        assertEquals(1, report.getCoursesImported());
+        assertEquals(1, report.getEnrolledCount());
+        List<ImportReport.Rejection> rejections = report.getRejections();
+        assertEquals(7, rejections.size());
+        assertEquals("students.csv:1: Student with ID B001 already exists", rejections.get(0).toString());
+        assertEquals("Invalid email format", rejections.get(1).getReason());
+        assertEquals(3, rejections.get(2).getLineNumber());
+        assertEquals("Capacity must be a number", rejections.get(3).getReason());
+        assertEquals("enrollments.csv", rejections.get(4).getFile());
+        assertEquals(2, rejections.get(4).getLineNumber());
+        assertEquals("Student B999 not found", rejections.get(5).getReason());
+        assertEquals("Course MATH1496 not found", rejections.get(6).getReason());
+    }
+}
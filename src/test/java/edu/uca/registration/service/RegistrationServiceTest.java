@@ -1,14 +1,17 @@
 package edu.uca.registration.service;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +20,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.contains;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -300,14 +304,9 @@ class RegistrationServiceTest {
         when(enrollmentRepo.findByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED))
             .thenReturn(enrolled);
         
-        List<Enrollment> waitlist = List.of(
-            new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED),
-            new Enrollment("B004", "CSCI4490", EnrollmentStatus.WAITLISTED)
-        );
-        when(enrollmentRepo.findByCourseAndStatus("CSCI4490", EnrollmentStatus.WAITLISTED))
-            .thenReturn(waitlist);
+        when(enrollmentRepo.pollWaitlistHead("CSCI4490"))
+            .thenReturn(Optional.of(new Enrollment("B003", "CSCI4490", EnrollmentStatus.WAITLISTED)));
         when(enrollmentRepo.delete("B001", "CSCI4490")).thenReturn(true);
-        when(enrollmentRepo.delete("B003", "CSCI4490")).thenReturn(true);
         
         // Act
         var result = service.dropStudent("B001", "CSCI4490");
@@ -317,7 +316,7 @@ class RegistrationServiceTest {
         assertTrue(result.getPromotedStudentId().isPresent());
         assertEquals("B003", result.getPromotedStudentId().get());
         verify(enrollmentRepo, times(1)).delete("B001", "CSCI4490");
-        verify(enrollmentRepo, times(1)).delete("B003", "CSCI4490");
+        verify(enrollmentRepo, times(1)).pollWaitlistHead("CSCI4490");
         verify(enrollmentRepo, times(1)).save(argThat(e -> 
             e.getStudentId().equals("B003") && 
             e.getStatus() == EnrollmentStatus.ENROLLED));
@@ -404,4 +403,99 @@ class RegistrationServiceTest {
         assertThrows(EnrollmentException.class,
             () -> service.getCourseEnrollmentInfo("INVALID999"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("CT-SVC-12: Roster set queries fall back to course rosters without a live index")
+    void testRosterSetQueriesWithoutIndex() throws EnrollmentException {
+        // Arrange
+        when(courseRepo.exists("CSCI4490")).thenReturn(true);
+        when(courseRepo.exists("MATH1496")).thenReturn(true);
+        when(enrollmentRepo.findByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED)).thenReturn(List.of(
+            new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED),
+            new Enrollment("B002", "CSCI4490", EnrollmentStatus.ENROLLED),
+            new Enrollment("B003", "CSCI4490", EnrollmentStatus.ENROLLED)));
+        when(enrollmentRepo.findByCourseAndStatus("MATH1496", EnrollmentStatus.ENROLLED)).thenReturn(List.of(
+            new Enrollment("B002", "MATH1496", EnrollmentStatus.ENROLLED),
+            new Enrollment("B004", "MATH1496", EnrollmentStatus.ENROLLED)));
+        List<String> both = List.of("CSCI4490", "MATH1496");
+        
+        // Act & Assert
+        assertEquals(List.of("B002"), service.findStudentsInAllCourses(both));
+        assertEquals(4, service.countStudentsInAnyCourse(both));
+        assertEquals(List.of("B001", "B003"),
+            service.findStudentsInCourseExcluding("CSCI4490", List.of("MATH1496")));
+        assertThrows(EnrollmentException.class,
+            () -> service.countStudentsInAllCourses(List.of("CSCI4490", "NOPE0000")));
+    }
+
+    @Test
+    @DisplayName("CT-SVC-13: Atomic seat claim is given back when the enrollment write fails")
+    void testAtomicSeatCompensation() throws EnrollmentException {
+        // Arrange - one seat, and the first ENROLLED write fails
+        RegistrationService atomic = new RegistrationService(
+            studentRepo, courseRepo, enrollmentRepo, logger, RegistrationService.SeatMode.ATOMIC);
+        when(studentRepo.exists(any())).thenReturn(true);
+        when(courseRepo.findByCode("CSCI4490"))
+            .thenReturn(Optional.of(new Course("CSCI4490", "Software Engineering", 1)));
+        when(enrollmentRepo.countByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED)).thenReturn(0);
+        doThrow(new RuntimeException("Failed to persist enrollments"))
+            .doNothing()
+            .when(enrollmentRepo).save(argThat(e -> e.getStudentId().equals("B001")));
+        
+        // Act
+        assertThrows(RuntimeException.class, () -> atomic.enrollStudent("B001", "CSCI4490"));
+        var second = atomic.enrollStudent("B002", "CSCI4490");
+        var third = atomic.enrollStudent("B003", "CSCI4490");
+        
+        // Assert - the failed claim did not use up the only seat
+        assertFalse(second.isWaitlisted());
+        assertTrue(third.isWaitlisted());
+        verify(enrollmentRepo).save(argThat(e -> e.getStudentId().equals("B003")
+            && e.getStatus() == EnrollmentStatus.WAITLISTED));
+    }
+
+    @Test
+    @DisplayName("CT-SVC-14: A failed atomic publish does not hold up later enrolls or drops")
+    void testAtomicPublishFailureReleasesCourse() throws EnrollmentException {
+        // Arrange - the first publish of a seated enroll throws from the change listener
+        RegistrationService atomic = new RegistrationService(
+            studentRepo, courseRepo, enrollmentRepo, logger, RegistrationService.SeatMode.ATOMIC, true);
+        when(studentRepo.exists(any())).thenReturn(true);
+        when(courseRepo.findByCode("CSCI4490"))
+            .thenReturn(Optional.of(new Course("CSCI4490", "Software Engineering", 5)));
+        when(enrollmentRepo.findByCourseAndStatus("CSCI4490", EnrollmentStatus.ENROLLED))
+            .thenReturn(List.of(new Enrollment("B001", "CSCI4490", EnrollmentStatus.ENROLLED)));
+        AtomicBoolean failed = new AtomicBoolean();
+        atomic.setChangeListener((version, change) -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Listener failed");
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> atomic.enrollStudent("B001", "CSCI4490"));
+
+        // Act & Assert - neither call waits on the failed enroll
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertFalse(atomic.enrollStudent("B002", "CSCI4490").isWaitlisted());
+            assertEquals("Dropped.", atomic.dropStudent("B001", "CSCI4490").getMessage());
+        });
+    }
+
+    @Test
+    @DisplayName("CT-SVC-15: Without snapshots the service keeps no copy of the repositories")
+    void testSnapshotsOffByDefault() throws EnrollmentException {
+        // Arrange
+        when(studentRepo.exists("B001")).thenReturn(true);
+        when(courseRepo.findByCode("CSCI4490"))
+            .thenReturn(Optional.of(new Course("CSCI4490", "Software Engineering", 30)));
+
+        // Act
+        service.enrollStudent("B001", "CSCI4490");
+
+        // Assert - nothing was loaded for a snapshot, and snapshot readers are told so
+        verify(studentRepo, never()).findAll();
+        verify(courseRepo, never()).findAll();
+        assertFalse(service.isPublishingSnapshots());
+        assertThrows(IllegalStateException.class, () -> service.snapshot());
+        assertThrows(IllegalStateException.class, () -> service.setChangeListener((version, change) -> { }));
+    }
+}
@@ -0,0 +1,176 @@
+package edu.uca.registration.service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.uca.registration.repository.impl.ConcurrentCourseRepository;
+import edu.uca.registration.repository.impl.ConcurrentEnrollmentRepository;
+import edu.uca.registration.repository.impl.ConcurrentStudentRepository;
+import edu.uca.registration.repository.impl.CsvCourseRepository;
+import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvStudentRepository;
+import edu.uca.registration.service.RegistrationService.CourseEnrollmentInfo;
+import edu.uca.registration.service.RegistrationService.DropResult;
+import edu.uca.registration.service.RegistrationService.EnrollmentResult;
+import edu.uca.registration.util.FlushPolicy;
+import edu.uca.registration.util.Logger;
+
+/**
+ * Component tests for the sharded single-writer command pipeline.
+ * Test ID Prefix: CT-SHD (Component Test - Sharded Service)
+ */
+@DisplayName("Sharded Registration Service Tests")
+class ShardedRegistrationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CsvEnrollmentRepository enrollmentRepo;
+    private RegistrationService service;
+    private ShardedRegistrationService sharded;
+
+    @BeforeEach
+    void setUp() throws EnrollmentException {
+        Logger logger = new Logger("ShardedRegistrationServiceTest", Logger.LogLevel.ERROR);
+        FlushPolicy deferred = new FlushPolicy(FlushPolicy.Mode.INTERVAL, 60_000, 1_000_000);
+        enrollmentRepo = new CsvEnrollmentRepository(tempDir.resolve("enrollments.csv").toString(), logger,
+            false, deferred);
+        service = new RegistrationService(
+            new CsvStudentRepository(tempDir.resolve("students.csv").toString(), logger, deferred),
+            new CsvCourseRepository(tempDir.resolve("courses.csv").toString(), logger, deferred),
+            enrollmentRepo, logger);
+        for (int c = 0; c < 8; c++) {
+            service.addCourse(String.format("C%02d", c), "Course " + c, 3);
+        }
+        for (int i = 0; i < 100; i++) {
+            service.addStudent(String.format("S%03d", i), "Student " + i, "s" + i + "@uca.edu");
+        }
+        sharded = new ShardedRegistrationService(service, 4, 16, logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sharded.close();
+    }
+
+    @Test
+    @DisplayName("CT-SHD-01: Commands for a course run in submission order, so promotions are FIFO")
+    void testWaitlistOrderFollowsSubmission() throws Exception {
+        // Arrange - three seats filled and five students waiting, in submission order
+        List<CompletableFuture<EnrollmentResult>> enrolls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            enrolls.add(sharded.enrollStudent(String.format("S%03d", i), "C00"));
+        }
+
+        // Act - drop the enrolled students one by one
+        List<String> promoted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DropResult drop = sharded.dropStudent(String.format("S%03d", i), "C00").get(5, TimeUnit.SECONDS);
+            promoted.add(drop.getPromotedStudentId().orElse(null));
+        }
+        CourseEnrollmentInfo info = sharded.getCourseEnrollmentInfo("C00").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(3, enrolls.stream().filter(f -> !f.join().isWaitlisted()).count());
+        assertEquals(List.of("S003", "S004", "S005", "S006", "S007"), promoted);
+        assertEquals(3, info.getEnrolledCount());
+        assertEquals(0, info.getWaitlistCount());
+    }
+
+    @Test
+    @DisplayName("CT-SHD-02: Many producers across shards keep capacity, and close drains then rejects")
+    void testConcurrentProducersAndClose() throws Exception {
+        // Arrange
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+        List<Future<List<CompletableFuture<EnrollmentResult>>>> batches = new ArrayList<>();
+
+        // Act - every student tries every course from eight producer threads
+        for (int p = 0; p < 8; p++) {
+            String courseCode = String.format("C%02d", p);
+            batches.add(producers.submit(() -> {
+                List<CompletableFuture<EnrollmentResult>> futures = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    futures.add(sharded.enrollStudent(String.format("S%03d", i), courseCode));
+                }
+                return futures;
+            }));
+        }
+        List<CompletableFuture<EnrollmentResult>> all = new ArrayList<>();
+        for (Future<List<CompletableFuture<EnrollmentResult>>> batch : batches) {
+            all.addAll(batch.get(10, TimeUnit.SECONDS));
+        }
+        producers.shutdown();
+        CompletableFuture<DropResult> missing = sharded.dropStudent("S000", "NOPE");
+        sharded.close();
+        CompletableFuture<EnrollmentResult> late = sharded.enrollStudent("S099", "C00");
+
+        // Assert - everything accepted before close completed
+        assertTrue(all.stream().allMatch(CompletableFuture::isDone));
+        for (int c = 0; c < 8; c++) {
+            CourseEnrollmentInfo info = service.getCourseEnrollmentInfo(String.format("C%02d", c));
+            assertEquals(3, info.getEnrolledCount());
+            assertEquals(97, info.getWaitlistCount());
+        }
+        assertTrue(enrollmentRepo.checkConsistency().isEmpty());
+        ExecutionException notFound = assertThrows(ExecutionException.class, missing::get);
+        assertInstanceOf(EnrollmentException.class, notFound.getCause());
+        ExecutionException rejected = assertThrows(ExecutionException.class, late::get);
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+    }
+
+    @Test
+    @DisplayName("CT-SHD-03: A command that throws an Error fails alone and its shard keeps running")
+    void testErrorDoesNotKillShard() throws Exception {
+        // Arrange - one shard over a service whose enroll of S666 overflows the stack
+        Logger logger = new Logger("ShardedRegistrationServiceTest", Logger.LogLevel.ERROR);
+        RegistrationService failing = new RegistrationService(new ConcurrentStudentRepository(),
+            new ConcurrentCourseRepository(), new ConcurrentEnrollmentRepository(), logger) {
+            @Override
+            public EnrollmentResult enrollStudent(String studentId, String courseCode) throws EnrollmentException {
+                if (studentId.equals("S666")) {
+                    throw new StackOverflowError("injected");
+                }
+                return super.enrollStudent(studentId, courseCode);
+            }
+        };
+        for (int i = 0; i < 4; i++) {
+            failing.addCourse(String.format("C%02d", i), "Course " + i, 3);
+            failing.addStudent(String.format("S%03d", i), "Student " + i, "s" + i + "@uca.edu");
+        }
+        try (ShardedRegistrationService single = new ShardedRegistrationService(failing, 1, 16, logger)) {
+            // Act
+            CompletableFuture<EnrollmentResult> broken = single.enrollStudent("S666", "C00");
+            List<CompletableFuture<EnrollmentResult>> later = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                later.add(single.enrollStudent(String.format("S%03d", i), String.format("C%02d", i)));
+            }
+
+            // Assert
+            ExecutionException error = assertThrows(ExecutionException.class, () -> broken.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, error.getCause());
+            for (CompletableFuture<EnrollmentResult> enroll : later) {
+                assertFalse(enroll.get(5, TimeUnit.SECONDS).isWaitlisted());
+            }
+            assertEquals(1, single.getCourseEnrollmentInfo("C03").get(5, TimeUnit.SECONDS).getEnrolledCount());
+        }
+    }
+}
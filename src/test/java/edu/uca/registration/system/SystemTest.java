@@ -1,12 +1,22 @@
 package edu.uca.registration.system;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -19,15 +29,23 @@ import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
 
 import edu.uca.registration.model.Course;
 import edu.uca.registration.model.Enrollment;
 import edu.uca.registration.model.Student;
 import edu.uca.registration.repository.CourseRepository;
+import edu.uca.registration.repository.CursorPage;
 import edu.uca.registration.repository.EnrollmentRepository;
 import edu.uca.registration.repository.StudentRepository;
+import edu.uca.registration.repository.impl.CsvCourseRepository;
+import edu.uca.registration.repository.impl.CsvEnrollmentRepository;
+import edu.uca.registration.repository.impl.CsvStudentRepository;
 import edu.uca.registration.service.EnrollmentException;
+import edu.uca.registration.service.EnrollmentSnapshot;
 import edu.uca.registration.service.RegistrationService;
+import edu.uca.registration.service.RegistrationService.SeatMode;
+import edu.uca.registration.util.FlushPolicy;
 import edu.uca.registration.util.Logger;
 
 /**
@@ -292,6 +310,184 @@ class SystemTest {
         assertEquals(500, infoMax.getCourse().getCapacity());
     }
 
+    @Test
+    @Order(7)
+    @DisplayName("ST-07: Concurrent enrolls and drops never overfill a course")
+    void testConcurrentEnrollAndDrop(@TempDir Path dir) throws Exception {
+        stressEnrollAndDrop(dir, SeatMode.LOCKED);
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("ST-08: CAS seat reservation never overfills a course")
+    void testConcurrentAtomicSeats(@TempDir Path dir) throws Exception {
+        stressEnrollAndDrop(dir, SeatMode.ATOMIC);
+    }
+
+    private void stressEnrollAndDrop(Path dir, SeatMode seatMode) throws Exception {
+        // Arrange - thread-safe file repositories, flushed only on close
+        Logger logger = new Logger("SystemTest", Logger.LogLevel.ERROR);
+        FlushPolicy deferred = new FlushPolicy(FlushPolicy.Mode.INTERVAL, 60_000, 1_000_000);
+        CsvStudentRepository students = new CsvStudentRepository(dir.resolve("students.csv").toString(), logger, deferred);
+        CsvCourseRepository courses = new CsvCourseRepository(dir.resolve("courses.csv").toString(), logger, deferred);
+        CsvEnrollmentRepository enrollments =
+            new CsvEnrollmentRepository(dir.resolve("enrollments.csv").toString(), logger, false, deferred);
+        RegistrationService shared = new RegistrationService(students, courses, enrollments, logger, seatMode, true);
+        int courseCount = 16;
+        int capacity = 5;
+        for (int c = 0; c < courseCount; c++) {
+            shared.addCourse(String.format("C%02d", c), "Course " + c, capacity);
+        }
+        for (int i = 0; i < 200; i++) {
+            shared.addStudent(String.format("S%03d", i), "Student " + i, "s" + i + "@uca.edu");
+        }
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger maxObserved = new AtomicInteger();
+        AtomicInteger maxInSnapshot = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+
+        // Act - workers enroll and drop at random while a monitor samples seat counts
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int op = 0; op < 3000; op++) {
+                    String studentId = String.format("S%03d", random.nextInt(200));
+                    String courseCode = String.format("C%02d", random.nextInt(courseCount));
+                    try {
+                        if (random.nextInt(10) < 6) {
+                            shared.enrollStudent(studentId, courseCode);
+                        } else {
+                            shared.dropStudent(studentId, courseCode);
+                        }
+                    } catch (EnrollmentException expected) {
+                        // Already enrolled, or nothing to drop
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<?> monitor = pool.submit(() -> {
+            start.await();
+            while (running.get()) {
+                for (int c = 0; c < courseCount; c++) {
+                    int enrolled = shared.getCourseEnrollmentInfo(String.format("C%02d", c)).getEnrolledCount();
+                    maxObserved.accumulateAndGet(enrolled, Math::max);
+                }
+                EnrollmentSnapshot snapshot = shared.snapshot();
+                for (Course course : snapshot.getAllCourses()) {
+                    int enrolled = snapshot.getCourseEnrollmentInfo(course.getCode()).getEnrolledCount();
+                    maxInSnapshot.accumulateAndGet(enrolled, Math::max);
+                }
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        monitor.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // Assert
+        assertTrue(maxObserved.get() <= capacity,
+            "A course reached " + maxObserved.get() + " enrolled with capacity " + capacity);
+        assertTrue(maxInSnapshot.get() <= capacity,
+            "A snapshot showed " + maxInSnapshot.get() + " enrolled with capacity " + capacity);
+        EnrollmentSnapshot finalSnapshot = shared.snapshot();
+        for (int c = 0; c < courseCount; c++) {
+            String code = String.format("C%02d", c);
+            // The snapshot lists enrolled students by ID, so compare them as a set
+            List<String> enrolled = studentIds(enrollments.findByCourseAndStatus(code, Enrollment.EnrollmentStatus.ENROLLED));
+            assertEquals(enrolled.size(), finalSnapshot.getEnrolledStudents(code).size());
+            assertEquals(new HashSet<>(enrolled), new HashSet<>(finalSnapshot.getEnrolledStudents(code)));
+            assertEquals(studentIds(enrollments.findByCourseAndStatus(code, Enrollment.EnrollmentStatus.WAITLISTED)),
+                finalSnapshot.getWaitlist(code));
+            var info = shared.getCourseEnrollmentInfo(code);
+            assertTrue(info.getEnrolledCount() <= capacity);
+            if (info.getWaitlistCount() > 0) {
+                assertEquals(capacity, info.getEnrolledCount(), "Seat left free with a waitlist in " + info.getCourse().getCode());
+            }
+        }
+        assertTrue(enrollments.checkConsistency().isEmpty());
+        students.close();
+        courses.close();
+        enrollments.close();
+    }
+
+    private static List<String> studentIds(List<Enrollment> enrollments) {
+        return enrollments.stream().map(Enrollment::getStudentId).toList();
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("ST-09: A snapshot stays fixed while writes continue, and reloads from the files")
+    void testSnapshotIsolation(@TempDir Path dir) throws Exception {
+        // Arrange - a full course with two waiting, saved to disk
+        Logger logger = new Logger("SystemTest", Logger.LogLevel.ERROR);
+        String studentsFile = dir.resolve("students.csv").toString();
+        String coursesFile = dir.resolve("courses.csv").toString();
+        String enrollmentsFile = dir.resolve("enrollments.csv").toString();
+        RegistrationService writer = new RegistrationService(new CsvStudentRepository(studentsFile, logger),
+            new CsvCourseRepository(coursesFile, logger), new CsvEnrollmentRepository(enrollmentsFile, logger), logger,
+            SeatMode.LOCKED, true);
+        writer.addCourse("CSCI4490", "Software Engineering", 2);
+        writer.addCourse("CSCI3381", "Object Oriented", 10);
+        for (int i = 1; i <= 4; i++) {
+            writer.addStudent("B00" + i, "Student " + i, "s" + i + "@uca.edu");
+            writer.enrollStudent("B00" + i, "CSCI4490");
+        }
+        writer.enrollStudent("B001", "CSCI3381");
+        EnrollmentSnapshot before = writer.snapshot();
+        CursorPage<Course> firstPage = before.getCoursePage(null, 1);
+
+        // Act - drop with promotion, remove from the waitlist, add a course
+        writer.dropStudent("B001", "CSCI4490");
+        writer.dropStudent("B004", "CSCI4490");
+        writer.addCourse("MATH1496", "Calculus I", 30);
+        EnrollmentSnapshot after = writer.snapshot();
+        RegistrationService reloaded = new RegistrationService(new CsvStudentRepository(studentsFile, logger),
+            new CsvCourseRepository(coursesFile, logger), new CsvEnrollmentRepository(enrollmentsFile, logger), logger,
+            SeatMode.LOCKED, true);
+
+        // Assert - the old view is untouched
+        assertEquals(List.of("B001", "B002"), before.getEnrolledStudents("CSCI4490"));
+        assertEquals(List.of("B003", "B004"), before.getWaitlist("CSCI4490"));
+        assertEquals(2, before.getWaitlistPosition("B004", "CSCI4490").getAsInt());
+        assertEquals(List.of("B001"), before.findStudentsInAllCourses(List.of("CSCI4490", "CSCI3381")));
+        assertFalse(before.findCourse("MATH1496").isPresent());
+        assertThrows(EnrollmentException.class, () -> before.getCourseEnrollmentInfo("MATH1496"));
+
+        assertEquals(before.getVersion() + 3, after.getVersion());
+        assertEquals(List.of("B002", "B003"), after.getEnrolledStudents("CSCI4490"));
+        assertTrue(after.getWaitlist("CSCI4490").isEmpty());
+        assertEquals(List.of("B002", "B003"), after.findStudentsInCourseExcluding("CSCI4490", List.of("CSCI3381")));
+        assertEquals(3, after.getAllCourses().size());
+        assertEquals(4, after.getAllStudents().size());
+
+        // Catalog pages come in code order, and a course added later only shows in the later view
+        assertEquals("CSCI3381", firstPage.getItems().get(0).getCode());
+        CursorPage<Course> secondPage = before.getCoursePage(firstPage.getNextCursor().get(), 5);
+        assertEquals("CSCI4490", secondPage.getItems().get(0).getCode());
+        assertFalse(secondPage.hasMore());
+        CursorPage<Course> added = after.getCoursePage("CSCI4490", 5);
+        assertEquals(1, added.getItems().size());
+        assertEquals("MATH1496", added.getItems().get(0).getCode());
+
+        EnrollmentSnapshot loaded = reloaded.snapshot();
+        assertEquals(after.getEnrolledStudents("CSCI4490"), loaded.getEnrolledStudents("CSCI4490"));
+        assertEquals(List.of("B001"), loaded.getEnrolledStudents("CSCI3381"));
+        assertEquals(0, loaded.getVersion());
+        assertEquals(30, loaded.findCourse("MATH1496").get().getCapacity());
+        assertEquals(3, loaded.findStudentsInAnyCourse(List.of("CSCI4490", "CSCI3381")).size());
+    }
+
     // ==================== In-Memory Repository Implementations for Testing ====================
     
     static class InMemoryStudentRepository implements StudentRepository {
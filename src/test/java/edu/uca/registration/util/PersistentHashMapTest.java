@@ -0,0 +1,180 @@
+package edu.uca.registration.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Component tests for the persistent hash map behind enrollment snapshots.
+ * Test ID Prefix: CT-PHM (Component Test - Persistent Hash Map)
+ */
+@DisplayName("Persistent Hash Map Tests")
+class PersistentHashMapTest {
+
+    @Test
+    @DisplayName("CT-PHM-01: Random puts and removes match a HashMap, and old versions stay unchanged")
+    void testMatchesHashMap() {
+        // Arrange - few distinct hashes, so most keys share slots or collide outright
+        Random random = new Random(42);
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        Map<Key, Integer> expected = new HashMap<>();
+
+        // Act & Assert
+        for (int step = 0; step < 5_000; step++) {
+            int n = random.nextInt(300);
+            Key key = new Key("k" + n, n % 40 * 33);
+            PersistentHashMap<Key, Integer> before = map;
+            Map<Key, Integer> expectedBefore = new HashMap<>(expected);
+            if (random.nextInt(3) == 0) {
+                map = map.minus(key);
+                expected.remove(key);
+            } else {
+                map = map.plus(key, step);
+                expected.put(key, step);
+            }
+            assertContents(expected, map);
+            if (step % 500 == 0) {
+                assertContents(expectedBefore, before);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("CT-PHM-02: Keys with equal hashes are kept apart, replaced and removed one at a time")
+    void testHashCollisions() {
+        // Arrange
+        Key a = new Key("a", 7);
+        Key b = new Key("b", 7);
+        Key c = new Key("c", 7);
+        PersistentHashMap<Key, String> map = PersistentHashMap.<Key, String>empty().plus(a, "A").plus(b, "B");
+
+        // Act
+        PersistentHashMap<Key, String> three = map.plus(c, "C");
+        PersistentHashMap<Key, String> replaced = three.plus(b, "B2");
+        PersistentHashMap<Key, String> withoutA = replaced.minus(a);
+
+        // Assert
+        assertEquals(2, map.size());
+        assertNull(map.get(c));
+        assertEquals(3, three.size());
+        assertEquals("B", three.get(b));
+        assertEquals(3, replaced.size());
+        assertEquals("B2", replaced.get(b));
+        assertEquals(2, withoutA.size());
+        assertFalse(withoutA.containsKey(a));
+        assertEquals("B2", withoutA.get(b));
+        assertEquals("C", withoutA.get(c));
+        assertSame(withoutA, withoutA.minus(new Key("d", 7)));
+        assertSame(withoutA, withoutA.plus(c, "C"));
+    }
+
+    @Test
+    @DisplayName("CT-PHM-03: Removing every key leaves an empty map that can be filled again")
+    void testDeleteToEmpty() {
+        // Arrange - plain slots, a nested slot and a collision pair
+        Key[] keys = {new Key("a", 1), new Key("b", 2), new Key("c", 1 + 32), new Key("d", 5), new Key("e", 5)};
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < keys.length; i++) {
+            map = map.plus(keys[i], i);
+        }
+        PersistentHashMap<Key, Integer> full = map;
+
+        // Act
+        for (Key key : keys) {
+            map = map.minus(key);
+        }
+
+        // Assert
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        for (Key key : keys) {
+            assertNull(map.get(key));
+            assertFalse(map.containsKey(key));
+        }
+        map.forEach((key, value) -> {
+            throw new AssertionError("Empty map visited " + key);
+        });
+        assertSame(map, map.minus(keys[0]));
+        assertEquals(5, full.size());
+        PersistentHashMap<Key, Integer> refilled = map.plus(keys[4], 9);
+        assertEquals(1, refilled.size());
+        assertEquals(9, refilled.get(keys[4]));
+    }
+
+    @Test
+    @DisplayName("CT-PHM-04: A collision node nests under bitmap nodes when a key shares its low hash bits")
+    void testNestedCollisionNodes() {
+        // Arrange - hashes below 2^16 are used as is; 1 and 1025 agree in the first two 5-bit levels
+        Key a = new Key("a", 1);
+        Key b = new Key("b", 1);
+        Key near = new Key("near", 1 + 1024);
+        Key nearer = new Key("nearer", 1 + 1024);
+        PersistentHashMap<Key, String> collided = PersistentHashMap.<Key, String>empty().plus(a, "A").plus(b, "B");
+
+        // Act
+        PersistentHashMap<Key, String> nested = collided.plus(near, "N").plus(nearer, "N2");
+        PersistentHashMap<Key, String> oneLeft = nested.minus(a).minus(near);
+        PersistentHashMap<Key, String> emptied = oneLeft.minus(b).minus(nearer);
+
+        // Assert
+        assertEquals(4, nested.size());
+        assertEquals("A", nested.get(a));
+        assertEquals("B", nested.get(b));
+        assertEquals("N", nested.get(near));
+        assertEquals("N2", nested.get(nearer));
+        assertNull(nested.get(new Key("absent", 1 + 1024 * 3)));
+        Map<Key, String> visited = new HashMap<>();
+        nested.forEach(visited::put);
+        assertEquals(Map.of(a, "A", b, "B", near, "N", nearer, "N2"), visited);
+        assertEquals(2, oneLeft.size());
+        assertEquals("B", oneLeft.get(b));
+        assertEquals("N2", oneLeft.get(nearer));
+        assertTrue(emptied.isEmpty());
+        assertEquals(2, collided.size());
+        assertNull(collided.get(near));
+    }
+
+    private static <K, V> void assertContents(Map<K, V> expected, PersistentHashMap<K, V> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<K, V> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+        Map<K, V> visited = new HashMap<>();
+        actual.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    // A key with a chosen hash code, to force shared slots and full collisions
+    private static final class Key {
+        private final String name;
+        private final int hash;
+
+        Key(String name, int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}